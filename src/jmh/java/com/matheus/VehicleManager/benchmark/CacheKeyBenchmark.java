@@ -0,0 +1,133 @@
+package com.matheus.VehicleManager.benchmark;
+
+import com.matheus.VehicleManager.cache.LookupKey;
+import com.matheus.VehicleManager.cache.VehicleListingKey;
+import com.matheus.VehicleManager.cache.VehicleListingKeyGenerator;
+import com.matheus.VehicleManager.service.VehicleService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache key cost of the vehicle listing and id lookups: the former SpEL expressions, evaluated the way the cache
+ * interceptor does (parsed once, a new evaluation context per call), against the typed key generators. The lookup
+ * benchmarks add the hash and equals of a hit in a map holding a few thousand keys.
+ * <p>
+ * {@code mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.matheus.VehicleManager.benchmark.CacheKeyBenchmark}
+ * <p>
+ * Results on JDK 17.0.9, one Xeon vCPU (ns/op, average of 5 iterations):
+ * <pre>
+ * spelListingKey      5183 ± 273     typedListingKey      39 ± 13
+ * spelListingLookup   5617 ± 974     typedListingLookup   52 ± 28
+ * spelIdKey            469 ±  56     typedIdKey           10 ±  2
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private static final String LISTING_SPEL = "'image-0-search-' + #search + '-status-' + #status + '-type-' + #type"
+            + " + '-fuel-' + #fuel + '-priceMin-' + #priceMin + '-priceMax-' + #priceMax + '-page-' + #page + '-size-' + #size";
+
+    private static final String ID_SPEL = "'id-' + #id";
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<Object, Object> spelKeys = new ConcurrentHashMap<>();
+
+    private final Map<Object, Object> typedKeys = new ConcurrentHashMap<>();
+
+    private Method listingMethod;
+
+    private Method idMethod;
+
+    private Expression listingExpression;
+
+    private Expression idExpression;
+
+    private KeyGenerator listingKeyGenerator;
+
+    private KeyGenerator idKeyGenerator;
+
+    private Object[] listingArgs;
+
+    private Object[] idArgs;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        listingMethod = VehicleService.class.getMethod("getFilteredVehicles",
+                String.class, String.class, String.class, String.class, int.class, int.class, int.class, int.class);
+        idMethod = VehicleService.class.getMethod("getVehicleWithImagesById", Long.class);
+
+        SpelExpressionParser parser = new SpelExpressionParser();
+        listingExpression = parser.parseExpression(LISTING_SPEL);
+        idExpression = parser.parseExpression(ID_SPEL);
+        listingKeyGenerator = new VehicleListingKeyGenerator(VehicleListingKey.Kind.PAGE, false);
+        idKeyGenerator = (target, method, params) -> new LookupKey(LookupKey.Kind.ID, params[0]);
+
+        listingArgs = new Object[] {"corolla", "AVAILABLE", "CAR", "GASOLINE", 20000, 90000, 3, 10};
+        idArgs = new Object[] {42L};
+
+        for (int page = 0; page < 2000; page++) {
+            Object[] args = {"corolla", "AVAILABLE", "CAR", "GASOLINE", 20000, 90000, page, 10};
+            spelKeys.put(spelKey(listingExpression, listingMethod, args), page);
+            typedKeys.put(listingKeyGenerator.generate(null, listingMethod, args), page);
+        }
+    }
+
+    private Object spelKey(Expression expression, Method method, Object[] args) {
+        return expression.getValue(new MethodBasedEvaluationContext(null, method, args, parameterNameDiscoverer));
+    }
+
+    @Benchmark
+    public Object spelListingKey() {
+        return spelKey(listingExpression, listingMethod, listingArgs);
+    }
+
+    @Benchmark
+    public Object typedListingKey() {
+        return listingKeyGenerator.generate(null, listingMethod, listingArgs);
+    }
+
+    @Benchmark
+    public Object spelListingLookup() {
+        return spelKeys.get(spelKey(listingExpression, listingMethod, listingArgs));
+    }
+
+    @Benchmark
+    public Object typedListingLookup() {
+        return typedKeys.get(listingKeyGenerator.generate(null, listingMethod, listingArgs));
+    }
+
+    @Benchmark
+    public Object spelIdKey() {
+        return spelKey(idExpression, idMethod, idArgs);
+    }
+
+    @Benchmark
+    public Object typedIdKey() {
+        return idKeyGenerator.generate(null, idMethod, idArgs);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CacheKeyBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.matheus.VehicleManager.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.matheus.VehicleManager.security.JwtAuthenticationFilter;
+import com.matheus.VehicleManager.security.JwtUtil;
+import com.matheus.VehicleManager.security.TokenBlocklist;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per request of authenticating a bearer token. {@code formerFilter} is the filter as it was: two
+ * verifications, each building a new algorithm and verifier, plus the user lookup, stood in here by an in-memory
+ * {@link UserDetails} so the database round trip it also paid is left out. {@code reusedVerifier} is a single
+ * verification with a shared verifier, {@code verifiedTokenCache} a hit in {@link JwtUtil}'s verified-token cache and
+ * {@code filter} the whole current filter, blocklist check included.
+ * <p>
+ * {@code mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.matheus.VehicleManager.benchmark.JwtFilterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtUtil jwtUtil;
+
+    private JwtAuthenticationFilter filter;
+
+    private JWTVerifier verifier;
+
+    private UserDetails storedUser;
+
+    private String token;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10_000L);
+        jwtUtil.init();
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenBlocklist", new TokenBlocklist());
+
+        verifier = JWT.require(Algorithm.HMAC256(SECRET)).build();
+        storedUser = User.withUsername("benchmark").password("").roles("USER").build();
+        token = jwtUtil.generateToken("benchmark", "USER");
+
+        request = new MockHttpServletRequest("GET", "/api/vehicles");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Authentication formerFilter() {
+        String username = JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token).getSubject();
+        UserDetails userDetails = username.equals(storedUser.getUsername()) ? storedUser : null;
+        JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    @Benchmark
+    public Authentication reusedVerifier() {
+        DecodedJWT jwt = verifier.verify(token);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(jwt.getSubject(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + jwt.getClaim(JwtUtil.ROLE_CLAIM).asString())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    @Benchmark
+    public DecodedJWT verifiedTokenCache() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+
+/**
+ * Weighs listings by the number of rows they hold, so a {@code maximumWeight} bounds the rows kept in a cache
+ * rather than the number of pages. Serialized entries weigh one unit per started kilobyte.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    @Override
+    public int weigh(Object key, Object value) {
+        if (value instanceof SerializedValue serialized) return serialized.bytes().length / 1024 + 1;
+        if (value instanceof Slice<?> slice) return Math.max(1, slice.getNumberOfElements());
+        if (value instanceof Collection<?> rows) return Math.max(1, rows.size());
+        return 1;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * A write described as data, so the same eviction can be applied locally and shipped to the other instances.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = EntityEviction.class, name = "entity"),
+        @JsonSubTypes.Type(value = ClientEviction.class, name = "client"),
+        @JsonSubTypes.Type(value = VehicleEviction.class, name = "vehicle"),
+        @JsonSubTypes.Type(value = VehicleStatusEviction.class, name = "vehicle-status"),
+        @JsonSubTypes.Type(value = VehicleImagesEviction.class, name = "vehicle-images"),
+        @JsonSubTypes.Type(value = PrefixEviction.class, name = "prefix"),
+        @JsonSubTypes.Type(value = ClearAllEviction.class, name = "clear-all")
+})
+public sealed interface CacheEviction
+        permits EntityEviction, ClientEviction, VehicleEviction, VehicleStatusEviction, VehicleImagesEviction, PrefixEviction,
+        ClearAllEviction {
+
+    void apply(CacheInvalidator cacheInvalidator);
+
+}
@@ -0,0 +1,250 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ships local cache evictions to the other instances over Postgres LISTEN/NOTIFY and applies theirs here.
+ * Evictions are queued and flushed in batches, identical ones coalesced. If a batch cannot be sent, or the
+ * queue overflows, peers are told to clear everything; when the listening connection drops, this instance
+ * clears its own caches once it is listening again, since notifications sent meanwhile are lost.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int MAX_PAYLOAD_BYTES = 7500;
+
+    private static final int MAX_PENDING = 1000;
+
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    @Value("${cache.invalidation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${cache.invalidation.flush-interval:50ms}")
+    private Duration flushInterval;
+
+    @Value("${spring.datasource.url:}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Set<CacheEviction> pending = new LinkedHashSet<>();
+
+    // A lock rather than a monitor: request threads queue evictions, and a virtual thread blocked on a monitor
+    // keeps its carrier
+    private final ReentrantLock pendingLock = new ReentrantLock();
+
+    private ScheduledExecutorService flusher;
+
+    private Thread listener;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid cache invalidation channel: " + channel);
+        }
+        running = true;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @EventListener
+    public void onEviction(CacheEviction eviction) {
+        if (!running) return;
+        pendingLock.lock();
+        try {
+            if (pending.size() >= MAX_PENDING) {
+                pending.clear();
+                pending.add(new ClearAllEviction());
+            } else if (!pending.contains(new ClearAllEviction())) {
+                pending.add(eviction);
+            }
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    void flush() {
+        List<CacheEviction> batch;
+        pendingLock.lock();
+        try {
+            if (pending.isEmpty()) return;
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        } finally {
+            pendingLock.unlock();
+        }
+
+        try {
+            for (String payload : payloads(batch)) {
+                jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            logger.warn("Could not publish cache evictions, peers will be asked to clear their caches", e);
+            pendingLock.lock();
+            try {
+                pending.clear();
+                pending.add(new ClearAllEviction());
+            } finally {
+                pendingLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Splits the batch into NOTIFY payloads under the 8000 byte limit.
+     */
+    List<String> payloads(List<CacheEviction> batch) throws JsonProcessingException {
+        ObjectWriter writer = objectMapper.writerFor(CacheEviction.class);
+        String header = "{\"origin\":" + objectMapper.writeValueAsString(origin) + ",\"evictions\":[";
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder(header);
+        int currentBytes = bytes(header);
+        boolean empty = true;
+
+        for (CacheEviction eviction : batch) {
+            String json = writer.writeValueAsString(eviction);
+            int jsonBytes = bytes(json);
+            if (bytes(header) + jsonBytes + 2 > MAX_PAYLOAD_BYTES) {
+                json = writer.writeValueAsString(new ClearAllEviction());
+                jsonBytes = bytes(json);
+            }
+            if (!empty && currentBytes + jsonBytes + 3 > MAX_PAYLOAD_BYTES) {
+                payloads.add(current.append("]}").toString());
+                current = new StringBuilder(header);
+                currentBytes = bytes(header);
+                empty = true;
+            }
+            if (!empty) {
+                current.append(',');
+                currentBytes++;
+            }
+            current.append(json);
+            currentBytes += jsonBytes;
+            empty = false;
+        }
+        if (!empty) payloads.add(current.append("]}").toString());
+        return payloads;
+    }
+
+    void receive(String payload) {
+        try {
+            InvalidationMessage message = objectMapper.readValue(payload, InvalidationMessage.class);
+            if (origin.equals(message.origin())) return;
+            message.evictions().forEach(eviction -> eviction.apply(cacheInvalidator));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Unreadable cache invalidation message, clearing local caches", e);
+            cacheInvalidator.clearAll();
+        }
+    }
+
+    private void listen() {
+        Duration delay = Duration.ofSeconds(1);
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                cacheInvalidator.clearAll();
+                delay = Duration.ofSeconds(1);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                logger.warn("Cache invalidation listener disconnected, retrying in {}", delay, e);
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = delay.multipliedBy(2).compareTo(MAX_RECONNECT_DELAY) > 0 ? MAX_RECONNECT_DELAY : delay.multipliedBy(2);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) return;
+        running = false;
+        flusher.shutdown();
+        flush();
+        listener.interrupt();
+    }
+
+    private static int bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    record InvalidationMessage(String origin, List<CacheEviction> evictions) {
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.dto.ClientResponseDTO;
+import com.matheus.VehicleManager.dto.FinancingResponseDTO;
+import com.matheus.VehicleManager.dto.MaintenanceResponseDTO;
+import com.matheus.VehicleManager.dto.SaleResponseDTO;
+import com.matheus.VehicleManager.dto.VehicleImagesResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Removes only the cache entries a write can have made stale, instead of clearing the whole cache.
+ * Evictions run after the surrounding transaction commits, so a concurrent reader cannot re-cache the old rows.
+ */
+@Component
+public class CacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private ResponseCache responseCache;
+
+    public void evictEntity(String cacheName, Long id, boolean rowsChanged, String... keys) {
+        invalidate(new EntityEviction(cacheName, id, rowsChanged, Arrays.asList(keys)));
+    }
+
+    /**
+     * Applies the eviction once the surrounding transaction commits and announces it, so other instances can
+     * apply it too.
+     */
+    public void invalidate(CacheEviction eviction) {
+        afterCommit(() -> {
+            eviction.apply(this);
+            eventPublisher.publishEvent(eviction);
+        });
+    }
+
+    /**
+     * Evicts the entries of the cache for which the predicate, given the key and the rows the entry holds, is true.
+     */
+    public void evictIf(String cacheName, BiPredicate<Object, CachedRows> predicate) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) evictIf(cache, predicate);
+        // After the service cache, so a response rendered in between is not stored under the new generation
+        if (responseCache != null) responseCache.invalidate(cacheName);
+    }
+
+    private static void evictIf(Cache cache, BiPredicate<Object, CachedRows> predicate) {
+        // A load still running is not in the entries scanned below and may have read the rows before the write
+        if (DelegatingCache.unwrap(cache, SingleFlightCache.class) instanceof SingleFlightCache singleFlight) {
+            singleFlight.dropInFlightLoads();
+        }
+        Map<Object, Object> entries = nativeEntries(cache);
+        if (entries == null) {
+            logger.warn("Cache {} cannot be scanned ({}), clearing it instead of evicting single entries",
+                    cache.getName(), cache.getNativeCache().getClass().getName());
+            cache.clear();
+            return;
+        }
+        entries.forEach((key, stored) -> {
+            CachedRows rows = stored instanceof SerializedValue serialized ? serialized.rows() : CachedRows.of(stored);
+            if (predicate.test(key, rows)) cache.evict(key);
+        });
+    }
+
+    public void clearAll() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) cache.clear();
+        }
+        if (responseCache != null) responseCache.clear();
+    }
+
+    public static Long idOf(Object cached) {
+        if (cached instanceof ClientResponseDTO client) return client.id();
+        if (cached instanceof SaleResponseDTO sale) return sale.id();
+        if (cached instanceof FinancingResponseDTO financing) return financing.id();
+        if (cached instanceof MaintenanceResponseDTO maintenance) return maintenance.id();
+        if (cached instanceof VehicleImagesResponseDTO vehicle) return vehicle.id();
+        return VehicleListingKey.vehicleId(cached);
+    }
+
+    public static boolean isPageKey(Object key) {
+        return key instanceof PageKey;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> nativeEntries(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) return (Map<Object, Object>) map;
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (Map<Object, Object>) caffeine.asMap();
+        }
+        return null;
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+}
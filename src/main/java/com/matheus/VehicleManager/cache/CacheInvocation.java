@@ -0,0 +1,70 @@
+package com.matheus.VehicleManager.cache;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+/**
+ * A call to a {@code @Cacheable} method: the target bean, the method and its arguments. {@link Interceptor} binds
+ * it to the thread for the duration of the call, ahead of the cache interceptor, so a cache can keep it and call the
+ * method again later without going through the proxy or the interceptor's own value loader.
+ */
+public record CacheInvocation(Object target, Method method, Object[] arguments) {
+
+    private static final ThreadLocal<CacheInvocation> CURRENT = new ThreadLocal<>();
+
+    public CacheInvocation {
+        arguments = arguments.clone();
+    }
+
+    public static CacheInvocation current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(CacheInvocation invocation, Callable<T> call) throws Exception {
+        CacheInvocation previous = CURRENT.get();
+        CURRENT.set(invocation);
+        try {
+            return call.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls the method on the target itself, bypassing its proxy.
+     */
+    public Object proceed() throws Exception {
+        try {
+            return AopUtils.invokeJoinpointUsingReflection(target, method, arguments);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void restore(CacheInvocation previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    public static final class Interceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            CacheInvocation previous = CURRENT.get();
+            CURRENT.set(new CacheInvocation(invocation.getThis(), invocation.getMethod(), invocation.getArguments()));
+            try {
+                return invocation.proceed();
+            } finally {
+                restore(previous);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.VehicleManagerApplication;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheOperationSource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Fails startup when a cache annotation names a cache the cache manager does not register, or when a cache spec
+ * is configured for a cache that does not exist, instead of finding out on the first request.
+ */
+public class CacheRegistryValidator implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+
+    private final CacheOperationSource cacheOperationSource;
+
+    private final Collection<String> registeredCaches;
+
+    private final Collection<String> configuredSpecs;
+
+    public CacheRegistryValidator(ListableBeanFactory beanFactory, CacheOperationSource cacheOperationSource,
+                                  Collection<String> registeredCaches, Collection<String> configuredSpecs) {
+        this.beanFactory = beanFactory;
+        this.cacheOperationSource = cacheOperationSource;
+        this.registeredCaches = registeredCaches;
+        this.configuredSpecs = configuredSpecs;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> declared = new TreeSet<>();
+        String basePackage = VehicleManagerApplication.class.getPackageName();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type == null) continue;
+            Class<?> userClass = ClassUtils.getUserClass(type);
+            if (userClass.getPackageName().startsWith(basePackage)) {
+                declared.addAll(declaredCacheNames(userClass, cacheOperationSource));
+            }
+        }
+        validate(declared);
+    }
+
+    public void validate(Collection<String> declaredCaches) {
+        Set<String> unregistered = new TreeSet<>(declaredCaches);
+        unregistered.removeAll(registeredCaches);
+        Set<String> unknownSpecs = new TreeSet<>(configuredSpecs);
+        unknownSpecs.removeAll(registeredCaches);
+
+        if (!unregistered.isEmpty() || !unknownSpecs.isEmpty()) {
+            throw new IllegalStateException("Cache registry mismatch: caches used but not registered " + unregistered
+                    + ", specs configured for unknown caches " + unknownSpecs);
+        }
+    }
+
+    public static Set<String> declaredCacheNames(Class<?> type, CacheOperationSource cacheOperationSource) {
+        Set<String> names = new TreeSet<>();
+        ReflectionUtils.doWithMethods(type, method -> {
+            Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, type);
+            if (operations == null) return;
+            operations.forEach(operation -> names.addAll(operation.getCacheNames()));
+        }, ReflectionUtils.USER_DECLARED_METHODS);
+        return names;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.matheus.VehicleManager.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Java serialization of cached DTO snapshots, for caches configured to keep their entries as byte arrays.
+ */
+public final class CacheSnapshots {
+
+    private CacheSnapshots() {
+    }
+
+    public static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize cache entry of type " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not deserialize cache entry", e);
+        }
+    }
+
+}
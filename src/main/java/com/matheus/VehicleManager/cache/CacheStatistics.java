@@ -0,0 +1,152 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-only view of how each cache behaves: Caffeine's hit, miss, load and eviction counters, entry sizes
+ * estimated from a sample of serialized entries, the refresh and in-flight load counters of the decorators, and the
+ * most read keys when hot-key tracking is on. Counters are zero for caches without {@code recordStats}.
+ */
+@Component
+public class CacheStatistics {
+
+    static final int SIZE_SAMPLE = 32;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    public record CacheStats(String name, long size, Long weightedSize, long hits, long misses, double hitRate,
+                             long loadSuccesses, long loadFailures, double averageLoadMillis, long evictions,
+                             long evictionWeight, long estimatedEntryBytes, long estimatedBytes,
+                             RefreshingCaffeineCache.RefreshStats refresh, int inFlightLoads, List<String> topKeys) {
+    }
+
+    public record CacheKey(String key, long estimatedBytes) {
+    }
+
+    public Collection<String> cacheNames() {
+        return cacheManager.getCacheNames();
+    }
+
+    /**
+     * Counters only, without sampling entry sizes, for the metrics registry to poll.
+     */
+    public CacheStats counters(String cacheName) {
+        return stats(cacheName, false);
+    }
+
+    public CacheStats stats(String cacheName) {
+        return stats(cacheName, true);
+    }
+
+    public List<CacheStats> all() {
+        return cacheNames().stream().map(this::stats).toList();
+    }
+
+    public List<CacheKey> keys(String cacheName, String prefix, int limit) {
+        return entries(cache(cacheName)).entrySet().stream()
+                .filter(entry -> String.valueOf(entry.getKey()).startsWith(prefix))
+                .sorted(Comparator.comparing(entry -> String.valueOf(entry.getKey())))
+                .limit(limit)
+                .map(entry -> new CacheKey(String.valueOf(entry.getKey()), estimateBytes(entry.getValue())))
+                .toList();
+    }
+
+    /**
+     * Evicts the keys starting with the prefix, on this instance and, through the invalidation bus, on the others.
+     * Returns how many keys matched here.
+     */
+    public long evict(String cacheName, String prefix) {
+        long matching = entries(cache(cacheName)).keySet().stream()
+                .filter(key -> String.valueOf(key).startsWith(prefix))
+                .count();
+        cacheInvalidator.invalidate(new PrefixEviction(cacheName, prefix));
+        return matching;
+    }
+
+    private CacheStats stats(String cacheName, boolean estimateSizes) {
+        Cache cache = cache(cacheName);
+        Map<Object, Object> entries = entries(cache);
+        long estimatedEntryBytes = estimateSizes ? estimateEntryBytes(entries) : 0;
+        RefreshingCaffeineCache.RefreshStats refresh =
+                DelegatingCache.unwrap(cache, RefreshingCaffeineCache.class) instanceof RefreshingCaffeineCache refreshing
+                        ? refreshing.refreshStats() : null;
+        int inFlightLoads = DelegatingCache.unwrap(cache, SingleFlightCache.class) instanceof SingleFlightCache singleFlight
+                ? singleFlight.inFlightLoads() : 0;
+        List<String> topKeys = hotKeyTracker.topKeys(cacheName).stream().map(String::valueOf).toList();
+
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            com.github.benmanes.caffeine.cache.stats.CacheStats stats = caffeine.stats();
+            Optional<? extends Policy.Eviction<?, ?>> eviction = caffeine.policy().eviction();
+            Long weightedSize = eviction.isPresent() && eviction.get().weightedSize().isPresent()
+                    ? eviction.get().weightedSize().getAsLong() : null;
+            long size = caffeine.estimatedSize();
+            return new CacheStats(cacheName, size, weightedSize, stats.hitCount(), stats.missCount(), stats.hitRate(),
+                    stats.loadSuccessCount(), stats.loadFailureCount(), stats.averageLoadPenalty() / 1_000_000.0,
+                    stats.evictionCount(), stats.evictionWeight(), estimatedEntryBytes, estimatedEntryBytes * size,
+                    refresh, inFlightLoads, topKeys);
+        }
+        long size = entries.size();
+        return new CacheStats(cacheName, size, null, 0, 0, 0, 0, 0, 0, 0, 0,
+                estimatedEntryBytes, estimatedEntryBytes * size, refresh, inFlightLoads, topKeys);
+    }
+
+    private Cache cache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) throw new EntityNotFoundException("Cache " + cacheName + " not found");
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> entries(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) return (Map<Object, Object>) map;
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (Map<Object, Object>) caffeine.asMap();
+        }
+        return Map.of();
+    }
+
+    private static long estimateEntryBytes(Map<Object, Object> entries) {
+        long total = 0;
+        int sampled = 0;
+        for (Object value : entries.values()) {
+            if (sampled == SIZE_SAMPLE) break;
+            total += estimateBytes(value);
+            sampled++;
+        }
+        return sampled == 0 ? 0 : total / sampled;
+    }
+
+    /**
+     * Serialized entries are measured as stored; the others by their Java serialization, which tracks the heap they
+     * hold closely enough to compare caches and entries.
+     */
+    static long estimateBytes(Object value) {
+        if (value instanceof SerializedValue serialized) return serialized.bytes().length;
+        try {
+            return CacheSnapshots.serialize(value).length;
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+
+}
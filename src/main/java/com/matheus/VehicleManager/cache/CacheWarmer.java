@@ -0,0 +1,116 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.service.ClientService;
+import com.matheus.VehicleManager.service.VehicleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Replays the hot keys saved by the previous run through the real service methods, so the caches are filled the
+ * same way a request would fill them. Each typed key names its method and arguments; other keys are skipped.
+ */
+@Component
+public class CacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ClientService clientService;
+
+    public int warmUp(Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        int warmed = 0;
+        warmed += replay("vehicles", this::loadVehicle, deadline);
+        warmed += replay("vehicle_filtered_with_image", this::loadVehicleWithImage, deadline);
+        warmed += replay("clients", this::loadClient, deadline);
+        return warmed;
+    }
+
+    private int replay(String cacheName, Consumer<Object> loader, long deadline) {
+        List<Object> keys = hotKeyTracker.topKeys(cacheName);
+        int warmed = 0;
+        for (Object key : keys) {
+            if (System.nanoTime() > deadline) {
+                logger.info("Cache warm-up budget exhausted at {} entry {}", cacheName, key);
+                return warmed;
+            }
+            try {
+                loader.accept(key);
+                warmed++;
+            } catch (RuntimeException e) {
+                logger.debug("Skipping {} entry {} during cache warm-up", cacheName, key, e);
+            }
+        }
+        return warmed;
+    }
+
+    private void loadVehicle(Object key) {
+        if (key instanceof LookupKey lookup) {
+            switch (lookup.kind()) {
+                case ID -> vehicleService.getVehicleWithImagesById((Long) lookup.value());
+                case CHASSI -> vehicleService.findByChassi((String) lookup.value());
+                case SEARCH_FOR -> vehicleService.searchAvailableVehicles((String) lookup.value());
+                default -> throw new IllegalArgumentException("Not replayable: " + key);
+            }
+            return;
+        }
+        if (!(key instanceof VehicleListingKey listing) || listing.withImage()) {
+            throw new IllegalArgumentException("Not replayable: " + key);
+        }
+        String status = name(listing.status());
+        String type = name(listing.type());
+        String fuel = name(listing.fuel());
+        switch (listing.kind()) {
+            case PAGE -> vehicleService.getFilteredVehicles(listing.search(), status, type, fuel,
+                    listing.priceMin(), listing.priceMax(), listing.page(), listing.size());
+            case SLICE -> vehicleService.getFilteredVehiclesSlice(listing.search(), status, type, fuel,
+                    listing.priceMin(), listing.priceMax(), listing.page(), listing.size());
+            case CURSOR -> vehicleService.getFilteredVehiclesAfter(listing.search(), status, type, fuel,
+                    listing.priceMin(), listing.priceMax(), listing.after(), listing.size());
+        }
+    }
+
+    private void loadVehicleWithImage(Object key) {
+        if (!(key instanceof VehicleListingKey listing) || !listing.withImage()) {
+            throw new IllegalArgumentException("Not replayable: " + key);
+        }
+        String status = name(listing.status());
+        String type = name(listing.type());
+        String fuel = name(listing.fuel());
+        switch (listing.kind()) {
+            case PAGE -> vehicleService.getFilteredVehiclesWithOneImage(listing.search(), status, type, fuel,
+                    listing.priceMin(), listing.priceMax(), listing.page(), listing.size());
+            case SLICE -> vehicleService.getFilteredVehiclesWithOneImageSlice(listing.search(), status, type, fuel,
+                    listing.priceMin(), listing.priceMax(), listing.page(), listing.size());
+            case CURSOR -> vehicleService.getFilteredVehiclesWithOneImageAfter(listing.search(), status, type, fuel,
+                    listing.priceMin(), listing.priceMax(), listing.after(), listing.size());
+        }
+    }
+
+    private static String name(Enum<?> filter) {
+        return filter == null ? "" : filter.name();
+    }
+
+    private void loadClient(Object key) {
+        if (!(key instanceof LookupKey lookup)) throw new IllegalArgumentException("Not replayable: " + key);
+        switch (lookup.kind()) {
+            case ID -> clientService.getById((Long) lookup.value());
+            case EMAIL -> clientService.findByEmail((String) lookup.value());
+            case QUERY -> clientService.search((String) lookup.value());
+            default -> throw new IllegalArgumentException("Not replayable: " + key);
+        }
+    }
+
+}
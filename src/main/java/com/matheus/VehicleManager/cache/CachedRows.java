@@ -0,0 +1,48 @@
+package com.matheus.VehicleManager.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Slice;
+
+import java.util.Arrays;
+
+/**
+ * The ids of the rows a cached value holds, in order, and whether it is a slice with more rows after it: all the
+ * invalidation predicates read from a value. Serialized entries keep it beside their bytes, so a write can be
+ * matched against them without deserializing.
+ */
+public record CachedRows(long[] ids, boolean hasNext) {
+
+    private static final CachedRows NONE = new CachedRows(new long[0], false);
+
+    public static CachedRows of(Object value) {
+        if (value == null || value instanceof NullValue) return NONE;
+        if (!(value instanceof Iterable<?> elements)) {
+            Long id = CacheInvalidator.idOf(value);
+            return id == null ? NONE : new CachedRows(new long[] {id}, false);
+        }
+
+        long[] ids = new long[8];
+        int count = 0;
+        for (Object element : elements) {
+            Long id = CacheInvalidator.idOf(element);
+            if (id == null) continue;
+            if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+            ids[count++] = id;
+        }
+        boolean hasNext = value instanceof Slice<?> slice && slice.hasNext();
+        return count == 0 && !hasNext ? NONE : new CachedRows(Arrays.copyOf(ids, count), hasNext);
+    }
+
+    public boolean contains(Long id) {
+        if (id == null) return false;
+        for (long held : ids) {
+            if (held == id) return true;
+        }
+        return false;
+    }
+
+    public Long lastId() {
+        return ids.length == 0 ? null : ids[ids.length - 1];
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.matheus.VehicleManager.cache;
+
+/**
+ * Sent when evictions could not be delivered one by one, so peers drop everything instead of serving stale rows.
+ */
+public record ClearAllEviction() implements CacheEviction {
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        cacheInvalidator.clearAll();
+    }
+
+}
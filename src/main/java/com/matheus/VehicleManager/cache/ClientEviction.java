@@ -0,0 +1,35 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.model.Client;
+
+import java.util.Locale;
+
+/**
+ * Evicts the entries holding the client, the {@code query-} searches it matches and, when a row was inserted or
+ * removed, the page listings.
+ */
+public record ClientEviction(Long id, String firstName, String lastName, String phone, boolean rowsChanged)
+        implements CacheEviction {
+
+    public static ClientEviction of(Client client, boolean rowsChanged) {
+        return new ClientEviction(client.getId(), client.getFirstName(), client.getLastName(), client.getPhone(), rowsChanged);
+    }
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        cacheInvalidator.evictIf("clients", (key, rows) -> {
+            if (rows.contains(id)) return true;
+            if (CacheInvalidator.isPageKey(key)) return rowsChanged;
+            String query = LookupKey.valueOf(key, LookupKey.Kind.QUERY);
+            return query != null && matchesSearch(query);
+        });
+    }
+
+    private boolean matchesSearch(String query) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        return (firstName != null && firstName.toLowerCase(Locale.ROOT).contains(lowerQuery))
+                || (lastName != null && lastName.toLowerCase(Locale.ROOT).contains(lowerQuery))
+                || (phone != null && phone.contains(query));
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.matheus.VehicleManager.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate access counts in fixed memory: {@code DEPTH} rows of counters, a key's count being the smallest of
+ * its counters. Counts only over-estimate, by collisions. Every {@code 10 * width} increments all counters are
+ * halved, so keys that stopped being read lose their rank.
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int[] SEEDS = {0x97cb3127, 0x9e3779b9, 0x7f4a7c15, 0x85ebca6b};
+
+    private final int width;
+
+    private final AtomicIntegerArray counters;
+
+    private final LongAdder additions = new LongAdder();
+
+    private final int sampleSize;
+
+    private volatile int resets;
+
+    public CountMinSketch(int width) {
+        if (Integer.bitCount(width) != 1) throw new IllegalArgumentException("Sketch width must be a power of two");
+        this.width = width;
+        this.counters = new AtomicIntegerArray(DEPTH * width);
+        this.sampleSize = 10 * width;
+    }
+
+    public int increment(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            int count = counters.get(index);
+            if (count < Integer.MAX_VALUE) count = counters.incrementAndGet(index);
+            estimate = Math.min(estimate, count);
+        }
+
+        additions.increment();
+        if (additions.sum() >= sampleSize) {
+            synchronized (this) {
+                if (additions.sum() >= sampleSize) {
+                    halve();
+                    additions.reset();
+                    resets++;
+                }
+            }
+        }
+        return estimate;
+    }
+
+    public int estimate(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * How many times the counters were halved, for callers caching estimates.
+     */
+    public int resets() {
+        return resets;
+    }
+
+    public int[] counters() {
+        int[] snapshot = new int[counters.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counters.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Restores counters saved by {@link #counters()}; ignored when they come from a sketch of another size.
+     */
+    public boolean restore(int[] saved) {
+        if (saved == null || saved.length != counters.length()) return false;
+        for (int i = 0; i < saved.length; i++) {
+            counters.set(i, saved[i]);
+        }
+        return true;
+    }
+
+    private void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return row * width + (h & (width - 1));
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.matheus.VehicleManager.cache;
+
+import java.util.List;
+
+/**
+ * Evicts the entries holding the entity, the given keys and, when {@code rowsChanged} is set because a row was
+ * inserted or removed, every {@code page-}/{@code slice-page-} listing.
+ */
+public record EntityEviction(String cacheName, Long id, boolean rowsChanged, List<String> keys) implements CacheEviction {
+
+    public EntityEviction {
+        keys = keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        cacheInvalidator.evictIf(cacheName, (key, rows) -> keys.contains(String.valueOf(key))
+                || (rowsChanged && CacheInvalidator.isPageKey(key))
+                || rows.contains(id));
+    }
+
+}
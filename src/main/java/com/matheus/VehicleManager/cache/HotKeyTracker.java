@@ -0,0 +1,215 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the most read keys of each cache with a {@link CountMinSketch} and a bounded set of candidate keys,
+ * and saves both to local disk periodically and on shutdown, so a restarted instance can warm the same keys up.
+ * Keys are kept typed and saved as JSON with their fields; only {@link LookupKey} and {@link VehicleListingKey}
+ * candidates are saved, since those are the ones {@link CacheWarmer} can replay.
+ */
+@Component
+public class HotKeyTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyTracker.class);
+
+    private static final int SKETCH_WIDTH = 4096;
+
+    @Value("${cache.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cache.warmup.file:${java.io.tmpdir}/vehicle-manager/cache-hot-keys.json}")
+    private Path file;
+
+    @Value("${cache.warmup.top-k:50}")
+    private int topK;
+
+    @Value("${cache.warmup.persist-interval:1m}")
+    private Duration persistInterval;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, CacheKeys> caches = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService persister;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        load();
+        persister = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-hot-keys-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        persister.scheduleWithFixedDelay(this::persist, persistInterval.toMillis(), persistInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String cacheName, Object key) {
+        if (key == null) return;
+        caches.computeIfAbsent(cacheName, ignored -> new CacheKeys(2 * topK)).record(key);
+    }
+
+    /**
+     * The most read keys of the cache, most read first.
+     */
+    public List<Object> topKeys(String cacheName) {
+        CacheKeys keys = caches.get(cacheName);
+        return keys == null ? List.of() : keys.top(topK);
+    }
+
+    void persist() {
+        Map<String, SavedKeys> snapshot = new HashMap<>();
+        caches.forEach((cacheName, keys) -> snapshot.put(cacheName, keys.save()));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temporary.toFile(), snapshot);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not save cache hot keys to {}", file, e);
+        }
+    }
+
+    void load() {
+        if (!Files.exists(file)) return;
+        try {
+            Map<String, SavedKeys> snapshot = objectMapper.readValue(file.toFile(),
+                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, SavedKeys.class));
+            snapshot.forEach((cacheName, saved) -> {
+                CacheKeys keys = new CacheKeys(2 * topK);
+                keys.restore(saved);
+                caches.put(cacheName, keys);
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable cache hot keys file {}", file, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (persister == null) return;
+        persister.shutdown();
+        persist();
+    }
+
+    record SavedKeys(int[] counters, List<SavedKey> candidates) {
+    }
+
+    record SavedKey(
+            @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+            @JsonSubTypes({
+                    @JsonSubTypes.Type(value = LookupKey.class, name = "lookup"),
+                    @JsonSubTypes.Type(value = VehicleListingKey.class, name = "listing")
+            })
+            Object key,
+            int reads) {
+
+        static boolean saves(Object key) {
+            return key instanceof LookupKey || key instanceof VehicleListingKey;
+        }
+    }
+
+    private static final class CacheKeys {
+
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_WIDTH);
+
+        private final Set<Object> candidates = ConcurrentHashMap.newKeySet();
+
+        private final int capacity;
+
+        private final ReentrantLock admission = new ReentrantLock();
+
+        private volatile int admissionFloor;
+
+        private volatile int floorResets;
+
+        private CacheKeys(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void record(Object key) {
+            int estimate = sketch.increment(key);
+            if (candidates.size() < capacity || candidates.contains(key)) {
+                candidates.add(key);
+            } else if (estimate > admissionFloor || floorResets != sketch.resets()) {
+                admit(key, estimate);
+            }
+        }
+
+        /**
+         * Replaces the coldest candidate when the key is read more often, comparing current estimates since
+         * the candidates' counts decay with the sketch.
+         */
+        private void admit(Object key, int estimate) {
+            // Runs on cached reads, so a lock instead of a monitor that would pin a waiting virtual thread
+            admission.lock();
+            try {
+                floorResets = sketch.resets();
+                candidates.stream()
+                        .min(Comparator.comparingInt(sketch::estimate))
+                        .filter(coldest -> sketch.estimate(coldest) < estimate)
+                        .ifPresent(coldest -> {
+                            candidates.remove(coldest);
+                            candidates.add(key);
+                        });
+                admissionFloor = candidates.stream().mapToInt(sketch::estimate).min().orElse(0);
+            } finally {
+                admission.unlock();
+            }
+        }
+
+        List<Object> top(int limit) {
+            return candidates.stream()
+                    .sorted(Comparator.comparingInt(sketch::estimate).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+
+        SavedKeys save() {
+            List<SavedKey> saved = candidates.stream()
+                    .filter(SavedKey::saves)
+                    .map(key -> new SavedKey(key, sketch.estimate(key)))
+                    .toList();
+            return new SavedKeys(sketch.counters(), saved);
+        }
+
+        void restore(SavedKeys saved) {
+            sketch.restore(saved.counters());
+            if (saved.candidates() == null) return;
+            saved.candidates().forEach(candidate -> candidates.add(candidate.key()));
+        }
+
+    }
+
+}
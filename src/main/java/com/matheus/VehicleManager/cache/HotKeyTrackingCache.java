@@ -0,0 +1,25 @@
+package com.matheus.VehicleManager.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Reports every read made through {@code @Cacheable} to the {@link HotKeyTracker}.
+ */
+public class HotKeyTrackingCache extends DelegatingCache {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeyTrackingCache(Cache delegate, HotKeyTracker hotKeyTracker) {
+        super(delegate);
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        hotKeyTracker.record(getName(), key);
+        return delegate.get(key, valueLoader);
+    }
+
+}
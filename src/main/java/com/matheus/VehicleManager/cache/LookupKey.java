@@ -0,0 +1,82 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * Cache key of a single-argument lookup, such as {@code id-42} or {@code email-x@y.com}. Written as JSON with its
+ * kind and value when the hot keys are saved.
+ */
+public final class LookupKey {
+
+    public enum Kind {
+        ID("id-"), VEHICLE("vehicle-"), CHASSI("chassi-"), EMAIL("email-"), QUERY("query-"), SEARCH_FOR("searchFor-");
+
+        private final String prefix;
+
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    private final Kind kind;
+    private final Object value;
+    private final int hash;
+
+    private String name;
+
+    public LookupKey(Kind kind, Object value) {
+        this.kind = kind;
+        this.value = value;
+        this.hash = 31 * kind.ordinal() + Objects.hashCode(value);
+    }
+
+    /**
+     * Reads a saved key back; JSON numbers are ids, which the lookups take as {@code Long}.
+     */
+    @JsonCreator
+    static LookupKey of(@JsonProperty("kind") Kind kind, @JsonProperty("value") Object value) {
+        return new LookupKey(kind, value instanceof Number number ? Long.valueOf(number.longValue()) : value);
+    }
+
+    @JsonProperty
+    public Kind kind() {
+        return kind;
+    }
+
+    @JsonProperty
+    public Object value() {
+        return value;
+    }
+
+    /**
+     * The looked-up value when the key is a lookup of the given kind; {@code null} otherwise.
+     */
+    public static String valueOf(Object key, Kind kind) {
+        return key instanceof LookupKey lookup && lookup.kind == kind ? String.valueOf(lookup.value) : null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        return other instanceof LookupKey key && hash == key.hash && kind == key.kind && Objects.equals(value, key.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        String rendered = name;
+        if (rendered == null) {
+            rendered = kind.prefix + value;
+            name = rendered;
+        }
+        return rendered;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.matheus.VehicleManager.cache;
+
+/**
+ * Cache key of a {@code page-}/{@code slice-page-} listing.
+ */
+public final class PageKey {
+
+    private final boolean slice;
+    private final int page;
+    private final int size;
+    private final int hash;
+
+    private String name;
+
+    public PageKey(boolean slice, int page, int size) {
+        this.slice = slice;
+        this.page = page;
+        this.size = size;
+        this.hash = 31 * (31 * (slice ? 1 : 0) + page) + size;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        return other instanceof PageKey key && slice == key.slice && page == key.page && size == key.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        String rendered = name;
+        if (rendered == null) {
+            rendered = (slice ? "slice-page-" : "page-") + page + "-size-" + size;
+            name = rendered;
+        }
+        return rendered;
+    }
+
+}
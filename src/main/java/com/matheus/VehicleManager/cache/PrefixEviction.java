@@ -0,0 +1,13 @@
+package com.matheus.VehicleManager.cache;
+
+/**
+ * Evicts every entry of the cache whose key starts with the prefix, as asked through the cache admin endpoint.
+ */
+public record PrefixEviction(String cacheName, String prefix) implements CacheEviction {
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        cacheInvalidator.evictIf(cacheName, (key, rows) -> String.valueOf(key).startsWith(prefix));
+    }
+
+}
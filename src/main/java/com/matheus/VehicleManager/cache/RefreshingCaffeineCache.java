@@ -0,0 +1,133 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caffeine cache for specs with {@code refreshAfterWrite}. Refreshing needs a loader, which annotation-driven
+ * caches do not have, so the {@link CacheInvocation} bound while an entry is loaded through
+ * {@link #get(Object, Callable)} (synchronized lookups) is kept per key, and a refresh calls the cached method again
+ * on its target. An entry due for refresh without a known invocation is dropped and reloaded on the next read.
+ * With {@code serialized}, entries are kept serialized like in {@link SerializingCaffeineCache}.
+ * <p>
+ * Reloads run on the given executor while readers keep getting the current value. When the executor is
+ * saturated the refresh is skipped and retried on a later read, the entry still expiring on schedule.
+ */
+public class RefreshingCaffeineCache extends CaffeineCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshingCaffeineCache.class);
+
+    private final RefreshLoader refreshLoader;
+
+    public RefreshingCaffeineCache(String name, Caffeine<Object, Object> builder, boolean serialized,
+                                   Executor refreshExecutor) {
+        this(name, builder, new RefreshLoader(name, serialized, refreshExecutor));
+    }
+
+    private RefreshingCaffeineCache(String name, Caffeine<Object, Object> builder, RefreshLoader refreshLoader) {
+        super(name, builder
+                .removalListener((key, value, cause) -> {
+                    if (cause != RemovalCause.REPLACED) refreshLoader.invocations.remove(key);
+                })
+                .build(refreshLoader));
+        this.refreshLoader = refreshLoader;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheInvocation invocation = CacheInvocation.current();
+        if (invocation != null) refreshLoader.invocations.put(key, invocation);
+        return super.get(key, valueLoader);
+    }
+
+    public RefreshStats refreshStats() {
+        return new RefreshStats(refreshLoader.refreshes.sum(), refreshLoader.failures.sum(), refreshLoader.rejected.sum());
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        Object storeValue = super.toStoreValue(userValue);
+        return refreshLoader.serialized ? SerializedValue.of(storeValue) : storeValue;
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return super.fromStoreValue(storeValue instanceof SerializedValue serialized ? serialized.value() : storeValue);
+    }
+
+    public record RefreshStats(long refreshes, long failures, long rejected) {
+    }
+
+    private static final class RefreshLoader implements CacheLoader<Object, Object> {
+
+        private final String name;
+
+        private final boolean serialized;
+
+        private final Executor executor;
+
+        private final Map<Object, CacheInvocation> invocations = new ConcurrentHashMap<>();
+
+        private final LongAdder refreshes = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder rejected = new LongAdder();
+
+        private RefreshLoader(String name, boolean serialized, Executor executor) {
+            this.name = name;
+            this.serialized = serialized;
+            this.executor = executor;
+        }
+
+        @Override
+        public Object load(Object key) throws Exception {
+            CacheInvocation invocation = invocations.get(key);
+            if (invocation == null) return null;
+            Object value = invocation.proceed();
+            Object storeValue = value == null ? NullValue.INSTANCE : value;
+            return serialized ? SerializedValue.of(storeValue) : storeValue;
+        }
+
+        @Override
+        public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor ignored) {
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return load(key);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor).whenComplete((value, error) -> {
+                    if (error == null) {
+                        refreshes.increment();
+                    } else {
+                        failures.increment();
+                        logger.debug("Refresh of {} entry {} failed, keeping the current value", name, key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                CompletableFuture<Object> skipped = new CompletableFuture<>();
+                skipped.cancel(false);
+                return skipped;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Final JSON bodies of the GET endpoints, keyed by path and query string, so a hit is written straight to the
+ * response without running the controller or Jackson. Entries are dropped by path whenever
+ * {@link CacheInvalidator} evicts from a service cache whose data the endpoints render.
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Path prefixes whose responses embed the data held by each service cache.
+     */
+    static final Map<String, List<String>> DEPENDENT_PATHS = Map.of(
+            "vehicles", List.of("/api/vehicles", "/api/sales", "/api/financings", "/api/maintenances"),
+            "vehicle_filtered_with_image", List.of("/api/vehicles"),
+            "clients", List.of("/api/clients", "/api/sales", "/api/financings"),
+            "sales", List.of("/api/sales"),
+            "financings", List.of("/api/financings"),
+            "maintenances", List.of("/api/maintenances")
+    );
+
+    public static final List<String> PATHS = List.of(
+            "/api/vehicles", "/api/clients", "/api/sales", "/api/financings", "/api/maintenances");
+
+    public record CachedResponse(byte[] body, String contentType, String etag) {
+    }
+
+    @Value("${response-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${response-cache.ttl:1m}")
+    private Duration ttl;
+
+    @Value("${response-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private Cache<String, CachedResponse> responses;
+
+    @PostConstruct
+    public void init() {
+        responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Taken before the response is rendered and handed back to {@link #put}, so a body rendered before an
+     * invalidation is not stored after it.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public CachedResponse put(String key, long renderedAt, byte[] body, String contentType) {
+        CachedResponse response = new CachedResponse(body, contentType, etag(body));
+        if (generation.get() != renderedAt) return response;
+
+        responses.put(key, response);
+        // An invalidation may have run between the check and the put
+        if (generation.get() != renderedAt) responses.asMap().remove(key, response);
+        return response;
+    }
+
+    public void invalidate(String cacheName) {
+        List<String> paths = DEPENDENT_PATHS.get(cacheName);
+        if (paths == null) {
+            clear();
+            return;
+        }
+        generation.incrementAndGet();
+        responses.asMap().keySet().removeIf(key -> paths.stream().anyMatch(path -> matches(key, path)));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    static boolean matches(String key, String path) {
+        if (!key.startsWith(path)) return false;
+        if (key.length() == path.length()) return true;
+        char next = key.charAt(path.length());
+        return next == '/' || next == '?';
+    }
+
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
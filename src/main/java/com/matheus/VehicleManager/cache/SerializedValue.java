@@ -0,0 +1,16 @@
+package com.matheus.VehicleManager.cache;
+
+/**
+ * A cache entry kept as Java-serialized bytes, with the rows it holds alongside for the invalidation predicates.
+ */
+public record SerializedValue(byte[] bytes, CachedRows rows) {
+
+    public static SerializedValue of(Object storeValue) {
+        return new SerializedValue(CacheSnapshots.serialize(storeValue), CachedRows.of(storeValue));
+    }
+
+    public Object value() {
+        return CacheSnapshots.deserialize(bytes);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caffeine cache that keeps each entry as a serialized byte array: one object per entry instead of an object
+ * graph, at the cost of a deserialization on every hit. The ids of the rows held are kept next to the bytes, see
+ * {@link SerializedValue}.
+ */
+public class SerializingCaffeineCache extends CaffeineCache {
+
+    public SerializingCaffeineCache(String name, Cache<Object, Object> cache) {
+        super(name, cache);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return SerializedValue.of(super.toStoreValue(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return super.fromStoreValue(storeValue instanceof SerializedValue serialized ? serialized.value() : storeValue);
+    }
+
+}
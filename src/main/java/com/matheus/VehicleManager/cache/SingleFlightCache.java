@@ -0,0 +1,142 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.exception.CacheLoadTimeoutException;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces concurrent misses on the same key into one load. The first caller runs the query, the others wait
+ * for its result up to {@code loadTimeout} and then fail with {@link CacheLoadTimeoutException}; if the load
+ * fails, every waiter gets the same exception and the next call loads again. Evicting a key drops its in-flight
+ * load, so callers arriving after a write do not join a read that may have started before it, and that load's
+ * value is handed to its own callers without being stored. Targeted evictions only see the entries already
+ * cached, so they drop every load in flight with {@link #dropInFlightLoads()}.
+ * <p>
+ * The leader runs the query before handing the value to the cache: Caffeine loads inside
+ * {@code ConcurrentHashMap.compute}, whose monitor would pin a virtual thread to its carrier, and block the other
+ * keys of the bin, for the whole query. The cache then records the load without its duration.
+ */
+public class SingleFlightCache extends DelegatingCache {
+
+    private final Duration loadTimeout;
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightCache(Cache delegate, Duration loadTimeout) {
+        super(delegate);
+        this.loadTimeout = loadTimeout;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Checked on the native map so a miss is only counted once, by the load below, in the cache statistics
+        if (isCached(key)) return delegate.get(key, valueLoader);
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) return (T) await(key, existing);
+
+        try {
+            T value = store(key, flight, load(key, valueLoader));
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Stores the loaded value only while {@code flight} is still the key's load. The check runs in the bin of
+     * {@link #inFlight} that an eviction has to go through, so an evict or clear either comes after the value is
+     * stored, and removes it, or before, and the value is not stored.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T store(Object key, CompletableFuture<Object> flight, T value) {
+        Object[] stored = {value};
+        inFlight.computeIfPresent(key, (k, current) -> {
+            if (current == flight) stored[0] = delegate.get(key, () -> value);
+            return current;
+        });
+        return (T) stored[0];
+    }
+
+    private static <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new Cache.ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object await(Object key, CompletableFuture<Object> flight) {
+        try {
+            return flight.get(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CacheLoadTimeoutException(getName(), key, loadTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheLoadTimeoutException(getName(), key, loadTimeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private boolean isCached(Object key) {
+        Object nativeCache = delegate.getNativeCache();
+        if (nativeCache instanceof Map<?, ?> map) return map.containsKey(key);
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return caffeine.asMap().containsKey(key);
+        }
+        return delegate.get(key) != null;
+    }
+
+    int inFlightLoads() {
+        return inFlight.size();
+    }
+
+    /**
+     * Drops every load in flight: none of them is stored, and the next miss on their keys loads again.
+     */
+    public void dropInFlightLoads() {
+        inFlight.clear();
+    }
+
+    @Override
+    public void evict(Object key) {
+        inFlight.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        inFlight.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        inFlight.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.clear();
+        return delegate.invalidate();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Dependency-aware eviction for the "vehicles" and "vehicle_filtered_with_image" caches. A listing is evicted
+ * when it holds the vehicle, or when the write moved the vehicle into or out of the listing's filters (for keyset
+ * pages, only the page whose id range covers the vehicle).
+ */
+@Component
+public class VehicleCacheInvalidator {
+
+    private static final String VEHICLES = "vehicles";
+
+    private static final String VEHICLES_WITH_IMAGE = "vehicle_filtered_with_image";
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    public void onVehicleChanged(VehicleListingState before, VehicleListingState after) {
+        cacheInvalidator.invalidate(new VehicleEviction(before, after));
+    }
+
+    public void onStatusChanged(Long vehicleId, Set<VehicleStatus> from, VehicleStatus to) {
+        cacheInvalidator.invalidate(new VehicleStatusEviction(vehicleId, from, to));
+    }
+
+    public void onImagesChanged(Long vehicleId) {
+        cacheInvalidator.invalidate(new VehicleImagesEviction(vehicleId));
+    }
+
+    static void evictVehicleChanged(CacheInvalidator cacheInvalidator, VehicleListingState before, VehicleListingState after) {
+        Long vehicleId = after != null ? after.id() : before.id();
+
+        cacheInvalidator.evictIf(VEHICLES, (key, rows) -> {
+            if (rows.contains(vehicleId)) return true;
+            String searchFor = LookupKey.valueOf(key, LookupKey.Kind.SEARCH_FOR);
+            if (searchFor != null) {
+                return (before != null && before.isAvailableMatching(searchFor))
+                        || (after != null && after.isAvailableMatching(searchFor));
+            }
+            return listingAffected(listingKey(key), rows, vehicleId, before, after);
+        });
+        cacheInvalidator.evictIf(VEHICLES_WITH_IMAGE, (key, rows) -> rows.contains(vehicleId)
+                || listingAffected(listingKey(key), rows, vehicleId, before, after));
+    }
+
+    /**
+     * Status-only change where the other columns are not at hand: listings filtering on one of the statuses
+     * involved may gain or lose the vehicle, every other listing only needs its copy refreshed.
+     */
+    static void evictStatusChanged(CacheInvalidator cacheInvalidator, Long vehicleId, Set<VehicleStatus> from, VehicleStatus to) {
+        boolean availabilityChanged = from.contains(VehicleStatus.AVAILABLE) != (to == VehicleStatus.AVAILABLE);
+
+        cacheInvalidator.evictIf(VEHICLES, (key, rows) -> {
+            if (rows.contains(vehicleId)) return true;
+            if (LookupKey.valueOf(key, LookupKey.Kind.SEARCH_FOR) != null) return availabilityChanged;
+            return statusListingAffected(listingKey(key), rows, vehicleId, from, to);
+        });
+        cacheInvalidator.evictIf(VEHICLES_WITH_IMAGE, (key, rows) -> rows.contains(vehicleId)
+                || statusListingAffected(listingKey(key), rows, vehicleId, from, to));
+    }
+
+    static void evictImagesChanged(CacheInvalidator cacheInvalidator, Long vehicleId) {
+        LookupKey detailKey = new LookupKey(LookupKey.Kind.ID, vehicleId);
+        cacheInvalidator.evictIf(VEHICLES, (key, rows) -> detailKey.equals(key));
+        cacheInvalidator.evictIf(VEHICLES_WITH_IMAGE, (key, rows) -> rows.contains(vehicleId));
+    }
+
+    private static boolean listingAffected(VehicleListingKey listing, CachedRows rows, Long vehicleId,
+                                           VehicleListingState before, VehicleListingState after) {
+        if (listing == null) return false;
+        boolean wasListed = listing.matches(before);
+        boolean isListed = listing.matches(after);
+        if (wasListed == isListed) return false;
+        return !listing.cursor() || listing.covers(vehicleId, rows);
+    }
+
+    private static boolean statusListingAffected(VehicleListingKey listing, CachedRows rows, Long vehicleId,
+                                                 Set<VehicleStatus> from, VehicleStatus to) {
+        if (listing == null || !listing.filtersOnStatus()) return false;
+        if (from.size() == 1 && from.contains(to)) return false;
+        boolean involved = listing.status() == to || from.contains(listing.status());
+        if (!involved) return false;
+        return !listing.cursor() || listing.covers(vehicleId, rows);
+    }
+
+    private static VehicleListingKey listingKey(Object key) {
+        return key instanceof VehicleListingKey listing ? listing : null;
+    }
+
+}
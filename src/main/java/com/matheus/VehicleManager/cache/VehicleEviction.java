@@ -0,0 +1,10 @@
+package com.matheus.VehicleManager.cache;
+
+public record VehicleEviction(VehicleListingState before, VehicleListingState after) implements CacheEviction {
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        VehicleCacheInvalidator.evictVehicleChanged(cacheInvalidator, before, after);
+    }
+
+}
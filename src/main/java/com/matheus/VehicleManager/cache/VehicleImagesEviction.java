@@ -0,0 +1,10 @@
+package com.matheus.VehicleManager.cache;
+
+public record VehicleImagesEviction(Long id) implements CacheEviction {
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        VehicleCacheInvalidator.evictImagesChanged(cacheInvalidator, id);
+    }
+
+}
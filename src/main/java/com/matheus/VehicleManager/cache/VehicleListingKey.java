@@ -0,0 +1,223 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.KeysetCursor;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Cache key of a vehicle listing, built by {@link VehicleListingKeyGenerator}. Filters are kept as enums and
+ * primitives with the hash computed once; the string form, used by the invalidation predicates and the cache
+ * statistics, is built on first use. The saved hot keys write the fields as JSON instead.
+ */
+public final class VehicleListingKey {
+
+    public enum Kind {
+        PAGE("image"), SLICE("slice"), CURSOR("cursor");
+
+        private final String prefix;
+
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    private final Kind kind;
+    private final boolean withImage;
+    private final String search;
+    private final VehicleStatus status;
+    private final VehicleType type;
+    private final VehicleFuel fuel;
+    private final int priceMin;
+    private final int priceMax;
+    private final int page;
+    private final String after;
+    private final int size;
+    private final int hash;
+
+    private String name;
+
+    @JsonCreator
+    public VehicleListingKey(@JsonProperty("kind") Kind kind, @JsonProperty("withImage") boolean withImage,
+                             @JsonProperty("search") String search, @JsonProperty("status") VehicleStatus status,
+                             @JsonProperty("type") VehicleType type, @JsonProperty("fuel") VehicleFuel fuel,
+                             @JsonProperty("priceMin") int priceMin, @JsonProperty("priceMax") int priceMax,
+                             @JsonProperty("page") int page, @JsonProperty("after") String after,
+                             @JsonProperty("size") int size) {
+        this.kind = kind;
+        this.withImage = withImage;
+        this.search = search;
+        this.status = status;
+        this.type = type;
+        this.fuel = fuel;
+        this.priceMin = priceMin;
+        this.priceMax = priceMax;
+        this.page = page;
+        this.after = after;
+        this.size = size;
+
+        int hash = kind.ordinal();
+        hash = 31 * hash + (withImage ? 1 : 0);
+        hash = 31 * hash + Objects.hashCode(search);
+        hash = 31 * hash + (status == null ? -1 : status.ordinal());
+        hash = 31 * hash + (type == null ? -1 : type.ordinal());
+        hash = 31 * hash + (fuel == null ? -1 : fuel.ordinal());
+        hash = 31 * hash + priceMin;
+        hash = 31 * hash + priceMax;
+        hash = 31 * hash + page;
+        hash = 31 * hash + Objects.hashCode(after);
+        this.hash = 31 * hash + size;
+    }
+
+    @JsonProperty
+    public Kind kind() {
+        return kind;
+    }
+
+    @JsonProperty
+    public boolean withImage() {
+        return withImage;
+    }
+
+    public boolean cursor() {
+        return kind == Kind.CURSOR;
+    }
+
+    @JsonProperty
+    public String search() {
+        return search;
+    }
+
+    @JsonProperty
+    public VehicleStatus status() {
+        return status;
+    }
+
+    @JsonProperty
+    public VehicleType type() {
+        return type;
+    }
+
+    @JsonProperty
+    public VehicleFuel fuel() {
+        return fuel;
+    }
+
+    @JsonProperty
+    public int priceMin() {
+        return priceMin;
+    }
+
+    @JsonProperty
+    public int priceMax() {
+        return priceMax;
+    }
+
+    @JsonProperty
+    public int page() {
+        return page;
+    }
+
+    @JsonProperty
+    public String after() {
+        return after;
+    }
+
+    @JsonProperty
+    public int size() {
+        return size;
+    }
+
+    boolean matches(VehicleListingState state) {
+        if (state == null) return false;
+        String term = SearchNormalizer.normalize(search);
+        if (term == null) term = "";
+        if (!VehicleListingState.contains(state.normalizedBrand(), term)
+                && !VehicleListingState.contains(state.normalizedModel(), term)) return false;
+        if (status != null && state.status() != status) return false;
+        if (type != null && state.type() != type) return false;
+        if (fuel != null && state.fuel() != fuel) return false;
+        if (priceMin > 0 && (state.price() == null || state.price().compareTo(BigDecimal.valueOf(priceMin)) < 0)) return false;
+        return priceMax <= 0 || (state.price() != null && state.price().compareTo(BigDecimal.valueOf(priceMax)) <= 0);
+    }
+
+    boolean filtersOnStatus() {
+        return status != null;
+    }
+
+    /**
+     * Whether a row with this id falls inside the id range a cached keyset page covers.
+     */
+    boolean covers(Long vehicleId, CachedRows rows) {
+        Long afterId;
+        try {
+            afterId = KeysetCursor.decode(after);
+        } catch (RuntimeException e) {
+            return true;
+        }
+        if (afterId != null && vehicleId <= afterId) return false;
+        if (!rows.hasNext()) return true;
+
+        Long lastId = rows.lastId();
+        return lastId == null || vehicleId <= lastId;
+    }
+
+    static Long vehicleId(Object cached) {
+        if (cached instanceof Vehicle vehicle) return vehicle.getId();
+        if (cached instanceof VehicleResponseDTO vehicle) return vehicle.id();
+        if (cached instanceof VehicleImageResponseDTO vehicle) return vehicle.id();
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof VehicleListingKey key)) return false;
+        return hash == key.hash
+                && kind == key.kind
+                && withImage == key.withImage
+                && status == key.status
+                && type == key.type
+                && fuel == key.fuel
+                && priceMin == key.priceMin
+                && priceMax == key.priceMax
+                && page == key.page
+                && size == key.size
+                && Objects.equals(search, key.search)
+                && Objects.equals(after, key.after);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * The key as the former SpEL expression rendered it.
+     */
+    @Override
+    public String toString() {
+        String rendered = name;
+        if (rendered == null) {
+            rendered = kind.prefix + '-' + (withImage ? 1 : 0) + "-search-" + search
+                    + "-status-" + (status == null ? "" : status.name())
+                    + "-type-" + (type == null ? "" : type.name())
+                    + "-fuel-" + (fuel == null ? "" : fuel.name())
+                    + "-priceMin-" + priceMin + "-priceMax-" + priceMax
+                    + (kind == Kind.CURSOR ? "-after-" + after : "-page-" + page)
+                    + "-size-" + size;
+            name = rendered;
+        }
+        return rendered;
+    }
+
+}
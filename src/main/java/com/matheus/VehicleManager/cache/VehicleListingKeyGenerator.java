@@ -0,0 +1,45 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.search.VehicleFilter;
+import org.springframework.cache.interceptor.KeyGenerator;
+
+import java.lang.reflect.Method;
+
+/**
+ * Builds the {@link VehicleListingKey} of the {@code VehicleService} listing methods, whose parameters are
+ * {@code (search, status, type, fuel, priceMin, priceMax, page | after, size)}.
+ */
+public class VehicleListingKeyGenerator implements KeyGenerator {
+
+    private final VehicleListingKey.Kind kind;
+
+    private final boolean withImage;
+
+    public VehicleListingKeyGenerator(VehicleListingKey.Kind kind, boolean withImage) {
+        this.kind = kind;
+        this.withImage = withImage;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        boolean cursor = kind == VehicleListingKey.Kind.CURSOR;
+        int priceMin = (Integer) params[4];
+        int priceMax = (Integer) params[5];
+        VehicleFilter filter = VehicleFilter.of((String) params[0], (String) params[1], (String) params[2],
+                (String) params[3], priceMin, priceMax);
+        return new VehicleListingKey(
+                kind,
+                withImage,
+                filter.search(),
+                filter.status(),
+                filter.type(),
+                filter.fuel(),
+                priceMin,
+                priceMax,
+                cursor ? 0 : (Integer) params[6],
+                cursor ? (String) params[6] : null,
+                (Integer) params[7]
+        );
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+
+import java.math.BigDecimal;
+
+/**
+ * The vehicle columns the cached listings filter on, captured before and after a write.
+ */
+public record VehicleListingState(
+    Long id,
+    String normalizedBrand,
+    String normalizedModel,
+    String normalizedPlate,
+    VehicleStatus status,
+    VehicleType type,
+    VehicleFuel fuel,
+    BigDecimal price
+) {
+
+    public static VehicleListingState of(Vehicle vehicle) {
+        return new VehicleListingState(
+                vehicle.getId(),
+                SearchNormalizer.normalize(vehicle.getBrand()),
+                SearchNormalizer.normalize(vehicle.getModel()),
+                SearchNormalizer.normalize(vehicle.getPlate()),
+                vehicle.getVehicleStatus(),
+                vehicle.getVehicleType(),
+                vehicle.getVehicleFuel(),
+                vehicle.getPrice()
+        );
+    }
+
+    public boolean isAvailableMatching(String searchFor) {
+        String term = SearchNormalizer.normalize(searchFor);
+        if (status != VehicleStatus.AVAILABLE || term == null) return false;
+        return contains(normalizedBrand, term) || contains(normalizedModel, term) || contains(normalizedPlate, term);
+    }
+
+    static boolean contains(String column, String term) {
+        return column != null && column.contains(term);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.enums.VehicleStatus;
+
+import java.util.Set;
+
+public record VehicleStatusEviction(Long id, Set<VehicleStatus> from, VehicleStatus to) implements CacheEviction {
+
+    @Override
+    public void apply(CacheInvalidator cacheInvalidator) {
+        VehicleCacheInvalidator.evictStatusChanged(cacheInvalidator, id, from, to);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.matheus.VehicleManager.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sorted primitive index of (price in cents, slot) pairs packed into a single long, so a
+ * price range resolves to two binary searches and a sequential scan.
+ */
+final class PriceIndex {
+
+    private static final int SLOT_BITS = 28;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+    private long[] keys = new long[1024];
+    private int size;
+
+    static long key(long cents, int slot) {
+        return (cents << SLOT_BITS) | slot;
+    }
+
+    void add(long cents, int slot) {
+        long key = key(cents, slot);
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        if (position >= 0) return;
+
+        position = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        keys[position] = key;
+        size++;
+    }
+
+    void remove(long cents, int slot) {
+        int position = Arrays.binarySearch(keys, 0, size, key(cents, slot));
+        if (position < 0) return;
+
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Moves every entry at or above this slot one slot up, following the rows of the catalog. Entries with the
+     * same price keep their order, so the keys stay sorted.
+     */
+    void shiftSlots(int fromSlot) {
+        for (int position = 0; position < size; position++) {
+            if ((keys[position] & SLOT_MASK) >= fromSlot) keys[position]++;
+        }
+    }
+
+    /**
+     * Appends without keeping the order; {@link #sort()} must be called before the next lookup.
+     */
+    void append(long cents, int slot) {
+        ensureCapacity(size + 1);
+        keys[size++] = key(cents, slot);
+    }
+
+    void sort() {
+        Arrays.sort(keys, 0, size);
+    }
+
+    BitSet range(Long minCents, Long maxCents) {
+        int from = lowerBound(minCents);
+        int to = upperBound(maxCents);
+
+        BitSet slots = new BitSet();
+        for (int position = from; position < to; position++) {
+            slots.set((int) (keys[position] & SLOT_MASK));
+        }
+        return slots;
+    }
+
+    int count(Long minCents, Long maxCents) {
+        return Math.max(0, upperBound(maxCents) - lowerBound(minCents));
+    }
+
+    private int lowerBound(Long minCents) {
+        if (minCents == null) return 0;
+        int position = Arrays.binarySearch(keys, 0, size, key(minCents, 0));
+        return position < 0 ? -position - 1 : position;
+    }
+
+    private int upperBound(Long maxCents) {
+        if (maxCents == null) return size;
+        int position = Arrays.binarySearch(keys, 0, size, key(maxCents, (int) SLOT_MASK));
+        return position < 0 ? -position - 1 : position + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) keys = Arrays.copyOf(keys, Math.max(capacity, keys.length * 2));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.matheus.VehicleManager.catalog;
+
+import com.matheus.VehicleManager.search.SearchNormalizer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality text columns. Substring search runs over the
+ * distinct values only and yields the set of matching codes.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> normalizedValues = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code != null) return code;
+
+        code = values.size();
+        codes.put(value, code);
+        values.add(value);
+        normalizedValues.add(SearchNormalizer.normalize(value));
+        return code;
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    BitSet codesContaining(String normalizedTerm) {
+        BitSet matches = new BitSet(normalizedValues.size());
+        for (int code = 0; code < normalizedValues.size(); code++) {
+            if (normalizedValues.get(code).contains(normalizedTerm)) matches.set(code);
+        }
+        return matches;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    void clear() {
+        codes.clear();
+        values.clear();
+        normalizedValues.clear();
+    }
+
+}
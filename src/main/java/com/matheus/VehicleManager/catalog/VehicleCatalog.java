@@ -0,0 +1,522 @@
+package com.matheus.VehicleManager.catalog;
+
+import com.matheus.VehicleManager.enums.VehicleChange;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+import com.matheus.VehicleManager.search.VehicleFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process columnar copy of the vehicle table able to answer the same filter and
+ * pagination contract as {@link VehicleRepository#searchVehicles}. Text columns are
+ * dictionary encoded, the enum filters are bitmaps and the price range is served by a
+ * sorted primitive index. Rows are kept in id order, matching the keyset listings.
+ */
+@Component
+public class VehicleCatalog {
+
+    private enum State { COLD, LOADING, READY }
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int COMPACTION_MIN_DELETED = 1024;
+    private static final long NULL_DECIMAL = Long.MIN_VALUE;
+    private static final byte NULL_ORDINAL = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final VehicleStatus[] VEHICLE_STATUSES = VehicleStatus.values();
+    private static final VehicleFuel[] VEHICLE_FUELS = VehicleFuel.values();
+    private static final VehicleChange[] VEHICLE_CHANGES = VehicleChange.values();
+
+    @Value("${vehicle.catalog.enabled:false}")
+    private boolean enabled;
+
+    @Lazy
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Runnable> pendingChanges = new ArrayDeque<>();
+    private volatile State state = State.COLD;
+
+    private final StringDictionary brandDictionary = new StringDictionary();
+    private final StringDictionary modelDictionary = new StringDictionary();
+    private final StringDictionary colorDictionary = new StringDictionary();
+    private final StringDictionary motorDictionary = new StringDictionary();
+    private final StringDictionary powerDictionary = new StringDictionary();
+    private final PriceIndex priceIndex = new PriceIndex();
+
+    private final BitSet live = new BitSet();
+    private final BitSet[] statusBitmaps = newBitmaps(VEHICLE_STATUSES.length);
+    private final BitSet[] typeBitmaps = newBitmaps(VEHICLE_TYPES.length);
+    private final BitSet[] fuelBitmaps = newBitmaps(VEHICLE_FUELS.length);
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    private int rowCount;
+    private int deletedCount;
+    private long[] ids;
+    private byte[] types;
+    private byte[] statuses;
+    private byte[] fuels;
+    private byte[] changes;
+    private int[] brands;
+    private int[] models;
+    private int[] colors;
+    private int[] motors;
+    private int[] powers;
+    private int[] years;
+    private byte[] doors;
+    private String[] plates;
+    private String[] chassis;
+    private long[] mileages;
+    private long[] prices;
+    private String[] coverImagePaths;
+    private long[] createdDates;
+    private long[] updatedDates;
+
+    public VehicleCatalog() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            state = State.LOADING;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Long afterId = null;
+        Slice<Vehicle> batch;
+        do {
+            batch = vehicleRepository.searchVehiclesAfter("", null, null, null, null, null, afterId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            List<Vehicle> vehicles = batch.getContent();
+            if (vehicles.isEmpty()) break;
+
+            lock.writeLock().lock();
+            try {
+                for (Vehicle vehicle : vehicles) bulkAppendRow(vehicle);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            afterId = vehicles.get(vehicles.size() - 1).getId();
+        } while (batch.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            priceIndex.sort();
+            while (!pendingChanges.isEmpty()) pendingChanges.poll().run();
+            state = State.READY;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onSaved(Vehicle vehicle) {
+        afterCommit(() -> upsert(vehicle));
+    }
+
+    public void onDeleted(Long vehicleId) {
+        afterCommit(() -> remove(vehicleId));
+    }
+
+    public void onStatusChanged(Long vehicleId, VehicleStatus status) {
+        afterCommit(() -> updateStatus(vehicleId, status));
+    }
+
+    public Page<Vehicle> search(VehicleFilter filter, Pageable paging) {
+        return search(filter.search(), filter.status(), filter.type(), filter.fuel(), filter.priceMin(), filter.priceMax(),
+                paging);
+    }
+
+    public Page<Vehicle> search(String search, VehicleStatus status, VehicleType type, VehicleFuel fuel,
+                                Integer priceMin, Integer priceMax, Pageable paging) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+            if (status != null) matches.and(statusBitmaps[status.ordinal()]);
+            if (type != null) matches.and(typeBitmaps[type.ordinal()]);
+            if (fuel != null) matches.and(fuelBitmaps[fuel.ordinal()]);
+            if (priceMin != null || priceMax != null) {
+                matches = priceMatches(priceMin == null ? null : priceMin * 100L,
+                        priceMax == null ? null : priceMax * 100L, matches);
+            }
+
+            String term = SearchNormalizer.normalize(search);
+            if (term != null && !term.isEmpty()) matches = textMatches(term, matches);
+
+            int total = matches.cardinality();
+            long skip = paging.getOffset();
+            List<Vehicle> content = new ArrayList<>(Math.min(paging.getPageSize(), total));
+            for (int slot = matches.nextSetBit(0); slot >= 0 && content.size() < paging.getPageSize();
+                 slot = matches.nextSetBit(slot + 1)) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                content.add(materialize(slot));
+            }
+            return new PageImpl<>(content, paging, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!enabled) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (state == State.LOADING) pendingChanges.add(change);
+            else if (state == State.READY) change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(Vehicle vehicle) {
+        if (vehicle.getId() == null) return;
+
+        Integer slot = slotsById.get(vehicle.getId());
+        if (slot != null) {
+            unindex(slot);
+            writeRow(slot, vehicle);
+            index(slot);
+            return;
+        }
+
+        if (rowCount == 0 || ids[rowCount - 1] < vehicle.getId()) {
+            slot = appendRow(vehicle);
+        } else {
+            slot = insertRow(vehicle);
+        }
+        if (prices[slot] != NULL_DECIMAL) priceIndex.add(prices[slot], slot);
+    }
+
+    private void remove(Long vehicleId) {
+        Integer slot = slotsById.remove(vehicleId);
+        if (slot == null) return;
+
+        unindex(slot);
+        live.clear(slot);
+        deletedCount++;
+        if (deletedCount >= COMPACTION_MIN_DELETED && deletedCount > live.cardinality() / 4) compact();
+    }
+
+    private void updateStatus(Long vehicleId, VehicleStatus status) {
+        Integer slot = slotsById.get(vehicleId);
+        if (slot == null) return;
+
+        if (statuses[slot] != NULL_ORDINAL) statusBitmaps[statuses[slot]].clear(slot);
+        statuses[slot] = ordinal(status);
+        if (status != null) statusBitmaps[status.ordinal()].set(slot);
+    }
+
+    /**
+     * Appends a row at the end of the columns. The price index is left to the caller, which
+     * either inserts in order or bulk appends and sorts once.
+     */
+    private int appendRow(Vehicle vehicle) {
+        if (rowCount == ids.length) allocate(ids.length * 2);
+
+        int slot = rowCount++;
+        writeRow(slot, vehicle);
+        slotsById.put(vehicle.getId(), slot);
+        live.set(slot);
+        setBitmaps(slot);
+        return slot;
+    }
+
+    /**
+     * Puts a row whose id is lower than the last one in its place in id order: into the deleted slot just before
+     * it when there is one, otherwise by shifting the later rows one slot up. The price index is left to the
+     * caller, as in {@link #appendRow}.
+     */
+    private int insertRow(Vehicle vehicle) {
+        int position = Arrays.binarySearch(ids, 0, rowCount, vehicle.getId());
+        if (position < 0) position = -position - 1;
+        else position++;
+
+        int slot;
+        if (position > 0 && !live.get(position - 1)) {
+            slot = position - 1;
+            deletedCount--;
+        } else {
+            if (rowCount == ids.length) allocate(ids.length * 2);
+            shiftRows(position);
+            slot = position;
+        }
+
+        writeRow(slot, vehicle);
+        slotsById.put(vehicle.getId(), slot);
+        live.set(slot);
+        setBitmaps(slot);
+        return slot;
+    }
+
+    /**
+     * Moves the rows from this slot on one slot up, leaving the slot free.
+     */
+    private void shiftRows(int from) {
+        int length = rowCount - from;
+        for (Object column : new Object[] {ids, types, statuses, fuels, changes, brands, models, colors, motors, powers,
+                years, doors, plates, chassis, mileages, prices, coverImagePaths, createdDates, updatedDates}) {
+            System.arraycopy(column, from, column, from + 1, length);
+        }
+        shiftBits(live, from);
+        for (BitSet bitmap : statusBitmaps) shiftBits(bitmap, from);
+        for (BitSet bitmap : typeBitmaps) shiftBits(bitmap, from);
+        for (BitSet bitmap : fuelBitmaps) shiftBits(bitmap, from);
+        priceIndex.shiftSlots(from);
+        rowCount++;
+
+        for (int slot = live.nextSetBit(from + 1); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            slotsById.put(ids[slot], slot);
+        }
+    }
+
+    private void shiftBits(BitSet bitmap, int from) {
+        BitSet moved = bitmap.get(from, rowCount);
+        bitmap.clear(from, rowCount + 1);
+        for (int bit = moved.nextSetBit(0); bit >= 0; bit = moved.nextSetBit(bit + 1)) {
+            bitmap.set(from + 1 + bit);
+        }
+    }
+
+    private void bulkAppendRow(Vehicle vehicle) {
+        int slot = appendRow(vehicle);
+        if (prices[slot] != NULL_DECIMAL) priceIndex.append(prices[slot], slot);
+    }
+
+    private void writeRow(int slot, Vehicle vehicle) {
+        ids[slot] = vehicle.getId();
+        types[slot] = ordinal(vehicle.getVehicleType());
+        statuses[slot] = ordinal(vehicle.getVehicleStatus());
+        fuels[slot] = ordinal(vehicle.getVehicleFuel());
+        changes[slot] = ordinal(vehicle.getVehicleChange());
+        brands[slot] = brandDictionary.encode(vehicle.getBrand());
+        models[slot] = modelDictionary.encode(vehicle.getModel());
+        colors[slot] = colorDictionary.encode(vehicle.getColor());
+        motors[slot] = motorDictionary.encode(vehicle.getMotor());
+        powers[slot] = powerDictionary.encode(vehicle.getPower());
+        years[slot] = vehicle.getYear();
+        doors[slot] = (byte) vehicle.getDoors();
+        plates[slot] = vehicle.getPlate();
+        chassis[slot] = vehicle.getChassi();
+        mileages[slot] = unscaled(vehicle.getMileage(), 1);
+        prices[slot] = unscaled(vehicle.getPrice(), 2);
+        coverImagePaths[slot] = vehicle.getCoverImagePath();
+        createdDates[slot] = epochDay(vehicle.getCreatedAt());
+        updatedDates[slot] = epochDay(vehicle.getUpdatedAt());
+    }
+
+    private void index(int slot) {
+        setBitmaps(slot);
+        if (prices[slot] != NULL_DECIMAL) priceIndex.add(prices[slot], slot);
+    }
+
+    private void unindex(int slot) {
+        if (statuses[slot] != NULL_ORDINAL) statusBitmaps[statuses[slot]].clear(slot);
+        if (types[slot] != NULL_ORDINAL) typeBitmaps[types[slot]].clear(slot);
+        if (fuels[slot] != NULL_ORDINAL) fuelBitmaps[fuels[slot]].clear(slot);
+        if (prices[slot] != NULL_DECIMAL) priceIndex.remove(prices[slot], slot);
+    }
+
+    private void setBitmaps(int slot) {
+        if (statuses[slot] != NULL_ORDINAL) statusBitmaps[statuses[slot]].set(slot);
+        if (types[slot] != NULL_ORDINAL) typeBitmaps[types[slot]].set(slot);
+        if (fuels[slot] != NULL_ORDINAL) fuelBitmaps[fuels[slot]].set(slot);
+    }
+
+    /**
+     * Uses the sorted index when the price range is narrower than the remaining candidates,
+     * otherwise checks the price column of each candidate.
+     */
+    private BitSet priceMatches(Long minCents, Long maxCents, BitSet candidates) {
+        if (priceIndex.count(minCents, maxCents) < candidates.cardinality()) {
+            BitSet matches = priceIndex.range(minCents, maxCents);
+            matches.and(candidates);
+            return matches;
+        }
+
+        long from = minCents == null ? Long.MIN_VALUE + 1 : minCents;
+        long to = maxCents == null ? Long.MAX_VALUE : maxCents;
+        BitSet matches = new BitSet(rowCount);
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if (prices[slot] >= from && prices[slot] <= to) matches.set(slot);
+        }
+        return matches;
+    }
+
+    private BitSet textMatches(String term, BitSet candidates) {
+        BitSet brandCodes = brandDictionary.codesContaining(term);
+        BitSet modelCodes = modelDictionary.codesContaining(term);
+
+        BitSet matches = new BitSet(rowCount);
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if ((brands[slot] >= 0 && brandCodes.get(brands[slot])) || (models[slot] >= 0 && modelCodes.get(models[slot]))) {
+                matches.set(slot);
+            }
+        }
+        return matches;
+    }
+
+    private Vehicle materialize(int slot) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(ids[slot]);
+        vehicle.setVehicleType(types[slot] == NULL_ORDINAL ? null : VEHICLE_TYPES[types[slot]]);
+        vehicle.setVehicleStatus(statuses[slot] == NULL_ORDINAL ? null : VEHICLE_STATUSES[statuses[slot]]);
+        vehicle.setVehicleFuel(fuels[slot] == NULL_ORDINAL ? null : VEHICLE_FUELS[fuels[slot]]);
+        vehicle.setVehicleChange(changes[slot] == NULL_ORDINAL ? null : VEHICLE_CHANGES[changes[slot]]);
+        vehicle.setBrand(brandDictionary.decode(brands[slot]));
+        vehicle.setModel(modelDictionary.decode(models[slot]));
+        vehicle.setColor(colorDictionary.decode(colors[slot]));
+        vehicle.setMotor(motorDictionary.decode(motors[slot]));
+        vehicle.setPower(powerDictionary.decode(powers[slot]));
+        vehicle.setYear(years[slot]);
+        vehicle.setDoors(doors[slot]);
+        vehicle.setPlate(plates[slot]);
+        vehicle.setChassi(chassis[slot]);
+        vehicle.setMileage(mileages[slot] == NULL_DECIMAL ? null : BigDecimal.valueOf(mileages[slot], 1));
+        vehicle.setPrice(prices[slot] == NULL_DECIMAL ? null : BigDecimal.valueOf(prices[slot], 2));
+        vehicle.setCoverImagePath(coverImagePaths[slot]);
+        vehicle.setCreatedAt(createdDates[slot] == NULL_DATE ? null : LocalDate.ofEpochDay(createdDates[slot]));
+        vehicle.setUpdatedAt(updatedDates[slot] == NULL_DATE ? null : LocalDate.ofEpochDay(updatedDates[slot]));
+        vehicle.normalizeSearchColumns();
+        return vehicle;
+    }
+
+    /**
+     * Rewrites the columns without deleted rows and in id order, then rebuilds the indexes.
+     */
+    private void compact() {
+        List<Vehicle> rows = new ArrayList<>(live.cardinality());
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            rows.add(materialize(slot));
+        }
+        rows.sort((first, second) -> Long.compare(first.getId(), second.getId()));
+
+        clear();
+        for (Vehicle row : rows) bulkAppendRow(row);
+        priceIndex.sort();
+    }
+
+    private void clear() {
+        allocate(INITIAL_CAPACITY);
+        rowCount = 0;
+        deletedCount = 0;
+        live.clear();
+        slotsById.clear();
+        priceIndex.clear();
+        brandDictionary.clear();
+        modelDictionary.clear();
+        colorDictionary.clear();
+        motorDictionary.clear();
+        powerDictionary.clear();
+        for (BitSet bitmap : statusBitmaps) bitmap.clear();
+        for (BitSet bitmap : typeBitmaps) bitmap.clear();
+        for (BitSet bitmap : fuelBitmaps) bitmap.clear();
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        types = types == null ? new byte[capacity] : Arrays.copyOf(types, capacity);
+        statuses = statuses == null ? new byte[capacity] : Arrays.copyOf(statuses, capacity);
+        fuels = fuels == null ? new byte[capacity] : Arrays.copyOf(fuels, capacity);
+        changes = changes == null ? new byte[capacity] : Arrays.copyOf(changes, capacity);
+        brands = brands == null ? new int[capacity] : Arrays.copyOf(brands, capacity);
+        models = models == null ? new int[capacity] : Arrays.copyOf(models, capacity);
+        colors = colors == null ? new int[capacity] : Arrays.copyOf(colors, capacity);
+        motors = motors == null ? new int[capacity] : Arrays.copyOf(motors, capacity);
+        powers = powers == null ? new int[capacity] : Arrays.copyOf(powers, capacity);
+        years = years == null ? new int[capacity] : Arrays.copyOf(years, capacity);
+        doors = doors == null ? new byte[capacity] : Arrays.copyOf(doors, capacity);
+        plates = plates == null ? new String[capacity] : Arrays.copyOf(plates, capacity);
+        chassis = chassis == null ? new String[capacity] : Arrays.copyOf(chassis, capacity);
+        mileages = mileages == null ? new long[capacity] : Arrays.copyOf(mileages, capacity);
+        prices = prices == null ? new long[capacity] : Arrays.copyOf(prices, capacity);
+        coverImagePaths = coverImagePaths == null ? new String[capacity] : Arrays.copyOf(coverImagePaths, capacity);
+        createdDates = createdDates == null ? new long[capacity] : Arrays.copyOf(createdDates, capacity);
+        updatedDates = updatedDates == null ? new long[capacity] : Arrays.copyOf(updatedDates, capacity);
+    }
+
+    private static BitSet[] newBitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) bitmaps[i] = new BitSet();
+        return bitmaps;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NULL_ORDINAL : (byte) value.ordinal();
+    }
+
+    private static long epochDay(LocalDate value) {
+        return value == null ? NULL_DATE : value.toEpochDay();
+    }
+
+    private static long unscaled(BigDecimal value, int scale) {
+        return value == null ? NULL_DECIMAL : value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+}
@@ -1,26 +1,145 @@
 package com.matheus.VehicleManager.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.matheus.VehicleManager.cache.CacheEntryWeigher;
+import com.matheus.VehicleManager.cache.CacheInvocation;
+import com.matheus.VehicleManager.cache.CacheRegistryValidator;
+import com.matheus.VehicleManager.cache.HotKeyTracker;
+import com.matheus.VehicleManager.cache.HotKeyTrackingCache;
+import com.matheus.VehicleManager.cache.RefreshingCaffeineCache;
+import com.matheus.VehicleManager.cache.SerializingCaffeineCache;
+import com.matheus.VehicleManager.cache.SingleFlightCache;
+import jakarta.annotation.PreDestroy;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheOperationSource;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @Profile("prod")
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final List<String> CACHE_NAMES = List.of(
+            "vehicles", "vehicle_filtered_with_image", "clients", "sales", "maintenances", "financings"
+    );
+
+    private ThreadPoolExecutor refreshExecutor;
+
     @Bean
-    public CaffeineCacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "clients", "vehicles", "maintenances", "finances", "sales"
-        );
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .maximumSize(1000));
+    public CacheManager cacheManager(CacheProperties cacheProperties, HotKeyTracker hotKeyTracker) {
+        Executor cacheRefreshExecutor = refreshExecutor(cacheProperties.refresh());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(CACHE_NAMES.stream()
+                .map(name -> singleFlight(
+                        buildCache(name, cacheProperties.specFor(name), cacheProperties.serialized().contains(name),
+                                cacheRefreshExecutor),
+                        cacheProperties.loadTimeout()))
+                .map(cache -> hotKeyTracker.isEnabled() ? new HotKeyTrackingCache(cache, hotKeyTracker) : cache)
+                .toList());
         return cacheManager;
     }
 
+    /**
+     * Binds each {@code @Cacheable} call as a {@link CacheInvocation} around the cache interceptor, for
+     * {@link RefreshingCaffeineCache} to reload entries with.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor cacheInvocationAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Cacheable.class), new CacheInvocation.Interceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public CacheRegistryValidator cacheRegistryValidator(ListableBeanFactory beanFactory,
+                                                         CacheOperationSource cacheOperationSource,
+                                                         CacheProperties cacheProperties) {
+        Set<String> configuredCaches = new HashSet<>(cacheProperties.specs().keySet());
+        configuredCaches.addAll(cacheProperties.serialized());
+        return new CacheRegistryValidator(beanFactory, cacheOperationSource, CACHE_NAMES, configuredCaches);
+    }
+
+    @PreDestroy
+    public void shutdownRefreshExecutor() {
+        if (refreshExecutor != null) refreshExecutor.shutdown();
+    }
+
+    private synchronized Executor refreshExecutor(CacheProperties.Refresh refresh) {
+        if (refreshExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            refreshExecutor = new ThreadPoolExecutor(
+                    refresh.threads(), refresh.threads(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(refresh.queueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()
+            );
+        }
+        return refreshExecutor;
+    }
+
+    static Cache singleFlight(Cache cache, Duration loadTimeout) {
+        if (loadTimeout.isZero() || loadTimeout.isNegative()) return cache;
+        return new SingleFlightCache(cache, loadTimeout);
+    }
+
+    static CaffeineCache buildCache(String name, String specification, boolean serialized, Executor refreshExecutor) {
+        CaffeineSpec spec = CaffeineSpec.parse(specification);
+        Set<String> options = options(spec);
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        if (options.contains("maximumWeight")) {
+            builder.weigher(new CacheEntryWeigher());
+        }
+        if (options.contains("refreshAfterWrite")) {
+            return new RefreshingCaffeineCache(name, builder, serialized, refreshExecutor);
+        }
+        if (serialized) {
+            return new SerializingCaffeineCache(name, builder.build());
+        }
+        return new CaffeineCache(name, builder.build());
+    }
+
+    /**
+     * The option names of a parsed spec. {@link CaffeineSpec} keeps its settings to itself; its parsable form is the
+     * specification it validated, one {@code name} or {@code name=value} per option.
+     */
+    static Set<String> options(CaffeineSpec spec) {
+        Set<String> options = new HashSet<>();
+        for (String option : spec.toParsableString().split(",")) {
+            String name = option.split("=", 2)[0].trim();
+            if (!name.isEmpty()) options.add(name);
+        }
+        return options;
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.cache.LookupKey;
+import com.matheus.VehicleManager.cache.PageKey;
+import com.matheus.VehicleManager.cache.VehicleListingKey;
+import com.matheus.VehicleManager.cache.VehicleListingKeyGenerator;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Key generators of the {@code @Cacheable} methods, referenced by bean name. They build typed keys directly from
+ * the arguments instead of evaluating a SpEL expression and concatenating strings on every call.
+ */
+@Configuration
+public class CacheKeyConfig {
+
+    @Bean
+    public KeyGenerator idKeyGenerator() {
+        return (target, method, params) -> new LookupKey(LookupKey.Kind.ID, params[0]);
+    }
+
+    @Bean
+    public KeyGenerator vehicleKeyGenerator() {
+        return (target, method, params) -> new LookupKey(LookupKey.Kind.VEHICLE, params[0]);
+    }
+
+    @Bean
+    public KeyGenerator chassiKeyGenerator() {
+        return (target, method, params) -> new LookupKey(LookupKey.Kind.CHASSI, params[0]);
+    }
+
+    @Bean
+    public KeyGenerator emailKeyGenerator() {
+        return (target, method, params) -> new LookupKey(LookupKey.Kind.EMAIL, params[0]);
+    }
+
+    @Bean
+    public KeyGenerator queryKeyGenerator() {
+        return (target, method, params) -> new LookupKey(LookupKey.Kind.QUERY, params[0]);
+    }
+
+    @Bean
+    public KeyGenerator searchForKeyGenerator() {
+        return (target, method, params) -> new LookupKey(LookupKey.Kind.SEARCH_FOR, params[0]);
+    }
+
+    @Bean
+    public KeyGenerator pageKeyGenerator() {
+        return (target, method, params) -> new PageKey(false, (Integer) params[0], (Integer) params[1]);
+    }
+
+    @Bean
+    public KeyGenerator slicePageKeyGenerator() {
+        return (target, method, params) -> new PageKey(true, (Integer) params[0], (Integer) params[1]);
+    }
+
+    @Bean
+    public KeyGenerator vehiclePageKeyGenerator() {
+        return new VehicleListingKeyGenerator(VehicleListingKey.Kind.PAGE, false);
+    }
+
+    @Bean
+    public KeyGenerator vehicleSliceKeyGenerator() {
+        return new VehicleListingKeyGenerator(VehicleListingKey.Kind.SLICE, false);
+    }
+
+    @Bean
+    public KeyGenerator vehicleCursorKeyGenerator() {
+        return new VehicleListingKeyGenerator(VehicleListingKey.Kind.CURSOR, false);
+    }
+
+    @Bean
+    public KeyGenerator vehicleWithImagePageKeyGenerator() {
+        return new VehicleListingKeyGenerator(VehicleListingKey.Kind.PAGE, true);
+    }
+
+    @Bean
+    public KeyGenerator vehicleWithImageSliceKeyGenerator() {
+        return new VehicleListingKeyGenerator(VehicleListingKey.Kind.SLICE, true);
+    }
+
+    @Bean
+    public KeyGenerator vehicleWithImageCursorKeyGenerator() {
+        return new VehicleListingKeyGenerator(VehicleListingKey.Kind.CURSOR, true);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.cache.CacheStatistics;
+import com.matheus.VehicleManager.cache.RefreshingCaffeineCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the caches to Micrometer. Boot's own cache metrics only recognise undecorated caches, so the Caffeine
+ * counters are bound from the native cache here, tagged the same way, next to the counters of the decorators.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    @Bean
+    public MeterBinder cacheStatisticsMeterBinder(CacheManager cacheManager, CacheStatistics cacheStatistics) {
+        return registry -> {
+            for (String cacheName : cacheStatistics.cacheNames()) {
+                Cache cache = cacheManager.getCache(cacheName);
+                Tags tags = Tags.of("cache", cacheName, "cache.manager", "cacheManager");
+
+                if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                    new CaffeineCacheMetrics<>(caffeine, cacheName, Tags.of("cache.manager", "cacheManager")).bindTo(registry);
+                }
+
+                Gauge.builder("cache.estimated.bytes", cacheStatistics, statistics -> statistics.stats(cacheName).estimatedBytes())
+                        .description("Approximate memory held by the entries, from a sample of their serialized size")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(registry);
+                Gauge.builder("cache.loads.in.flight", cacheStatistics, statistics -> statistics.counters(cacheName).inFlightLoads())
+                        .description("Loads currently shared by concurrent misses")
+                        .tags(tags)
+                        .register(registry);
+
+                if (cacheStatistics.counters(cacheName).refresh() != null) {
+                    refreshCounter(registry, cacheStatistics, cacheName, tags, "success", RefreshingCaffeineCache.RefreshStats::refreshes);
+                    refreshCounter(registry, cacheStatistics, cacheName, tags, "failure", RefreshingCaffeineCache.RefreshStats::failures);
+                    refreshCounter(registry, cacheStatistics, cacheName, tags, "rejected", RefreshingCaffeineCache.RefreshStats::rejected);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public CacheStatisticsEndpoint cacheStatisticsEndpoint(CacheStatistics cacheStatistics) {
+        return new CacheStatisticsEndpoint(cacheStatistics);
+    }
+
+    private static void refreshCounter(MeterRegistry registry, CacheStatistics cacheStatistics, String cacheName,
+                                       Tags tags, String result,
+                                       ToDoubleFunction<RefreshingCaffeineCache.RefreshStats> count) {
+        FunctionCounter.builder("cache.refreshes", cacheStatistics,
+                        statistics -> count.applyAsDouble(statistics.counters(cacheName).refresh()))
+                .description("Background refreshes of entries read after refreshAfterWrite")
+                .tags(tags.and("result", result))
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.matheus.VehicleManager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caffeine spec per cache, e.g. {@code cache.specs.vehicles=maximumWeight=20000,expireAfterWrite=10m,recordStats}.
+ * Caches without an entry use {@code cache.default-spec}. Caches listed in {@code cache.serialized} keep their
+ * entries as serialized byte arrays. Concurrent misses on a key share one load; callers waiting on another
+ * caller's load give up after {@code cache.load-timeout} ({@code 0} waits indefinitely). Specs with
+ * {@code refreshAfterWrite} reload hot entries on a pool of {@code cache.refresh.threads} threads queueing at most
+ * {@code cache.refresh.queue-capacity} reloads.
+ */
+@ConfigurationProperties(prefix = "cache")
+public record CacheProperties(@DefaultValue("maximumSize=1000,expireAfterWrite=10m") String defaultSpec,
+                              Map<String, String> specs,
+                              Set<String> serialized,
+                              @DefaultValue("5s") Duration loadTimeout,
+                              @DefaultValue Refresh refresh) {
+
+    public CacheProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+        serialized = serialized == null ? Set.of() : Set.copyOf(serialized);
+    }
+
+    public String specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaultSpec);
+    }
+
+    public record Refresh(@DefaultValue("2") int threads, @DefaultValue("100") int queueCapacity) {
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.cache.CacheStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/cachestats}: the same statistics as the cache admin endpoint, for tooling that reads Actuator.
+ */
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+
+    private final CacheStatistics cacheStatistics;
+
+    public CacheStatisticsEndpoint(CacheStatistics cacheStatistics) {
+        this.cacheStatistics = cacheStatistics;
+    }
+
+    @ReadOperation
+    public List<CacheStatistics.CacheStats> caches() {
+        return cacheStatistics.all();
+    }
+
+    @ReadOperation
+    public CacheStatistics.CacheStats cache(@Selector String name) {
+        return cacheStatistics.stats(name);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> evict(@Selector String name, @Nullable String prefix) {
+        return Map.of("evicted", cacheStatistics.evict(name, prefix == null ? "" : prefix));
+    }
+
+}
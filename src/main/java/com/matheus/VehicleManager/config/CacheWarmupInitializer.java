@@ -0,0 +1,43 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.cache.CacheWarmer;
+import com.matheus.VehicleManager.cache.HotKeyTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheWarmupInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmupInitializer.class);
+
+    // The server already accepts connections while runners run, so the readiness probe is held down until the
+    // caches are warm; only traffic routed on readiness waits for them
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    CommandLineRunner warmUpCaches(HotKeyTracker hotKeyTracker, CacheWarmer cacheWarmer, ApplicationEventPublisher publisher,
+                                   @Value("${cache.warmup.timeout:30s}") Duration timeout) {
+        return args -> {
+            if (!hotKeyTracker.isEnabled()) return;
+            AvailabilityChangeEvent.publish(publisher, cacheWarmer, ReadinessState.REFUSING_TRAFFIC);
+            long start = System.nanoTime();
+            try {
+                int warmed = cacheWarmer.warmUp(timeout);
+                logger.info("Warmed up {} cache entries in {} ms", warmed, Duration.ofNanos(System.nanoTime() - start).toMillis());
+            } finally {
+                AvailabilityChangeEvent.publish(publisher, cacheWarmer, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.matheus.VehicleManager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Backfills {@code cover_image_path} for vehicles saved before the column existed. The statement is Postgres SQL,
+ * so it only runs there, and a schema that is not there yet is logged instead of stopping the startup.
+ */
+@Configuration
+@Profile("!test")
+public class CoverImageInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoverImageInitializer.class);
+
+    private static final String BACKFILL_STATEMENT = """
+            UPDATE vehicle v
+               SET cover_image_path = (
+                   SELECT fi.path
+                     FROM file_store fi
+                    WHERE fi.vehicle_id = v.id
+                      AND fi.type = 'IMAGE'
+                    ORDER BY fi.id
+                    LIMIT 1
+               )
+             WHERE v.cover_image_path IS NULL
+               AND EXISTS (
+                   SELECT 1
+                     FROM file_store fi
+                    WHERE fi.vehicle_id = v.id
+                      AND fi.type = 'IMAGE'
+               )
+            """;
+
+    @Bean
+    CommandLineRunner initCoverImages(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            String databaseProduct = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(databaseProduct)) return;
+
+            try {
+                int updated = jdbcTemplate.update(BACKFILL_STATEMENT);
+                if (updated > 0) logger.info("Backfilled the cover image of {} vehicles", updated);
+            } catch (DataAccessException e) {
+                logger.warn("Could not backfill vehicle cover images", e);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.security.LoginExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the login executor to Micrometer: time spent authenticating, time spent queued before it, queue depth
+ * and rejections.
+ */
+@Configuration
+public class LoginMetricsConfig {
+
+    @Bean
+    public MeterBinder loginExecutorMeterBinder(LoginExecutor loginExecutor) {
+        return registry -> {
+            FunctionTimer.builder("auth.login.hash", loginExecutor,
+                            executor -> executor.stats().completed(),
+                            executor -> executor.stats().hashMillisTotal(), TimeUnit.MILLISECONDS)
+                    .description("Time spent authenticating a login, mostly BCrypt matching")
+                    .register(registry);
+            FunctionTimer.builder("auth.login.queue.wait", loginExecutor,
+                            executor -> executor.stats().queueWaits(),
+                            executor -> executor.stats().queueWaitMillisTotal(), TimeUnit.MILLISECONDS)
+                    .description("Time a login waited for a login thread")
+                    .register(registry);
+            Gauge.builder("auth.login.queue.size", loginExecutor, executor -> executor.stats().queued())
+                    .description("Logins waiting for a login thread")
+                    .register(registry);
+            Gauge.builder("auth.login.active", loginExecutor, executor -> executor.stats().active())
+                    .description("Logins being authenticated")
+                    .register(registry);
+            FunctionCounter.builder("auth.login.rejected", loginExecutor, executor -> executor.stats().rejectedQueueFull())
+                    .description("Logins answered 429 without being authenticated")
+                    .tags("reason", "queue-full")
+                    .register(registry);
+            FunctionCounter.builder("auth.login.rejected", loginExecutor, executor -> executor.stats().rejectedQueueWait())
+                    .description("Logins answered 429 without being authenticated")
+                    .tags("reason", "queue-wait")
+                    .register(registry);
+        };
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.cache.ResponseCache;
+import com.matheus.VehicleManager.cache.ResponseCacheFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(ResponseCache responseCache) {
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(responseCache));
+        for (String path : ResponseCache.PATHS) {
+            registration.addUrlPatterns(path, path + "/*");
+        }
+        // Runs after the Spring Security chain, which is registered at a higher precedence
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+}
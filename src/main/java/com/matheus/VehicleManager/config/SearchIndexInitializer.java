@@ -0,0 +1,71 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+public class SearchIndexInitializer {
+
+    static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final String[] POSTGRES_STATEMENTS = {
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_vehicle_normalized_brand_trgm ON vehicle USING gin (normalized_brand gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_vehicle_normalized_model_trgm ON vehicle USING gin (normalized_model gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_vehicle_normalized_plate_trgm ON vehicle USING gin (normalized_plate gin_trgm_ops)"
+    };
+
+    @Bean
+    CommandLineRunner initSearchIndexes(JdbcTemplate jdbcTemplate, VehicleRepository vehicleRepository,
+                                        PlatformTransactionManager transactionManager) {
+        return args -> {
+            backfillSearchColumns(vehicleRepository, new TransactionTemplate(transactionManager));
+
+            String databaseProduct = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(databaseProduct)) {
+                // H2 and other databases fall back to a plain LIKE over the normalized columns
+                return;
+            }
+
+            for (String statement : POSTGRES_STATEMENTS) {
+                jdbcTemplate.execute(statement);
+            }
+        };
+    }
+
+    /**
+     * Fills the search columns of rows created before they existed, one transaction per batch. The columns are
+     * written with an update query rather than by saving the entities, so the entity validators do not run again
+     * on every row.
+     */
+    static void backfillSearchColumns(VehicleRepository vehicleRepository, TransactionTemplate transactionTemplate) {
+        Long afterId = 0L;
+        while (afterId != null) {
+            Long from = afterId;
+            afterId = transactionTemplate.execute(status -> {
+                List<Vehicle> vehicles = vehicleRepository.findByNormalizedBrandIsNullAndIdGreaterThanOrderById(
+                        from, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                for (Vehicle vehicle : vehicles) {
+                    vehicleRepository.updateSearchColumns(vehicle.getId(),
+                            SearchNormalizer.normalize(vehicle.getBrand()),
+                            SearchNormalizer.normalize(vehicle.getModel()),
+                            SearchNormalizer.normalize(vehicle.getPlate()));
+                }
+                return vehicles.size() < BACKFILL_BATCH_SIZE ? null : vehicles.get(vehicles.size() - 1).getId();
+            });
+        }
+    }
+
+}
@@ -1,24 +1,37 @@
 package com.matheus.VehicleManager.controller;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.matheus.VehicleManager.dto.AuthRequestDTO;
 import com.matheus.VehicleManager.dto.AuthResponseDTO;
-import com.matheus.VehicleManager.dto.UsernameRequestDTO;
+import com.matheus.VehicleManager.dto.RefreshRequestDTO;
 import com.matheus.VehicleManager.security.CustomUserDetailsService;
 import com.matheus.VehicleManager.security.JwtUtil;
+import com.matheus.VehicleManager.security.LoginExecutor;
+import com.matheus.VehicleManager.security.RefreshTokenStore;
+import com.matheus.VehicleManager.security.TokenBlocklist;
 import com.matheus.VehicleManager.model.User;
 import com.matheus.VehicleManager.service.AuthService;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -35,20 +48,50 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
-    @PostMapping("/login")
-    public ResponseEntity<?> authenticate(@RequestBody AuthRequestDTO request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-
-        if (authentication.isAuthenticated()) {
-            final String token = jwtUtil.generateToken(request.getUsername());
-            return ResponseEntity.ok(new AuthResponseDTO(token));
-        } else {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid credentials");
+    @Autowired
+    private TokenBlocklist tokenBlocklist;
+
+    @Autowired
+    private LoginExecutor loginExecutor;
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    // Last day (UTC, ISO date) on which an access token can still be exchanged for a new one; unset turns it off
+    @Value("${security.jwt.legacy-refresh.until:}")
+    private String legacyRefreshUntil;
+
+    private LocalDate legacyRefreshLastDay;
+
+    @PostConstruct
+    public void init() {
+        legacyRefreshLastDay = null;
+        if (legacyRefreshUntil == null || legacyRefreshUntil.isBlank()) return;
+        try {
+            legacyRefreshLastDay = LocalDate.parse(legacyRefreshUntil.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("security.jwt.legacy-refresh.until must be an ISO date such as 2025-12-31, got "
+                    + legacyRefreshUntil, e);
         }
     }
 
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<?>> authenticate(@RequestBody AuthRequestDTO request) {
+        return loginExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+
+            if (authentication.isAuthenticated()) {
+                final String role = role(authentication.getAuthorities());
+                final String token = jwtUtil.generateToken(request.getUsername(), role);
+                return ResponseEntity.ok(new AuthResponseDTO(token, refreshTokenStore.issue(request.getUsername())));
+            } else {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid credentials");
+            }
+        });
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> createUser(@Valid @RequestBody User user, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
@@ -71,20 +114,86 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<?> refreshToken(@RequestHeader("Authorization") String authHeader, @RequestBody UsernameRequestDTO request) {
+    public ResponseEntity<?> refreshToken(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                          @RequestBody RefreshRequestDTO request) {
+        if (request.getRefreshToken() != null) {
+            RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(request.getRefreshToken());
+            if (rotation == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Token validation failed");
+            }
+            // The current role, so a demoted user stops getting the old one on the next rotation
+            String role;
+            try {
+                role = role(userDetailsService.loadUserByUsername(rotation.username()).getAuthorities());
+            } catch (UsernameNotFoundException e) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Token validation failed");
+            }
+            String newToken = jwtUtil.generateToken(rotation.username(), role);
+            return ResponseEntity.ok(new AuthResponseDTO(newToken, rotation.refreshToken()));
+        }
+
+        if (!legacyRefreshOpen()) {
+            return ResponseEntity.badRequest().body("Refresh token required");
+        }
+        if (request.getUsername() == null) {
+            return ResponseEntity.badRequest().body("Refresh token or username required");
+        }
+
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid Authorization header");
         }
 
-        String token = authHeader.substring(7);
-
-        String tokenUsername = jwtUtil.extractUsername(token);
-        if (jwtUtil.validateToken(token) && tokenUsername.equals(request.getUsername())) {
-            String newToken = jwtUtil.generateToken(tokenUsername);
+        DecodedJWT jwt = jwtUtil.verify(authHeader.substring(7));
+        if (jwt != null && !tokenBlocklist.isRevoked(jwt) && request.getUsername().equals(jwt.getSubject())) {
+            String role = jwtUtil.extractRole(jwt);
+            if (role == null) role = role(userDetailsService.loadUserByUsername(jwt.getSubject()).getAuthorities());
+            String newToken = jwtUtil.generateToken(jwt.getSubject(), role);
             return ResponseEntity.ok(new AuthResponseDTO(newToken));
         } else {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Token validation failed");
         }
 
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                    @RequestBody(required = false) RefreshRequestDTO request) {
+        boolean refreshTokenRevoked = request != null && request.getRefreshToken() != null;
+        if (refreshTokenRevoked) refreshTokenStore.revoke(request.getRefreshToken());
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            // The access token may have expired already; revoking the refresh token is then all there is to do
+            if (refreshTokenRevoked) return ResponseEntity.noContent().build();
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid Authorization header");
+        }
+
+        DecodedJWT jwt = jwtUtil.verify(authHeader.substring(7));
+        if (jwt == null) {
+            if (refreshTokenRevoked) return ResponseEntity.noContent().build();
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Token validation failed");
+        }
+
+        tokenBlocklist.revokeToken(jwt);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/revoke/{username}")
+    public ResponseEntity<?> revokeUser(@PathVariable String username) {
+        tokenBlocklist.revokeUser(username);
+        refreshTokenStore.revokeUser(username);
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean legacyRefreshOpen() {
+        return legacyRefreshLastDay != null && !LocalDate.now(ZoneOffset.UTC).isAfter(legacyRefreshLastDay);
+    }
+
+    private static String role(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring(5))
+                .findFirst()
+                .orElse(null);
+    }
 }
@@ -0,0 +1,42 @@
+package com.matheus.VehicleManager.controller;
+
+import com.matheus.VehicleManager.cache.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheAdminController {
+
+    @Autowired
+    private CacheStatistics cacheStatistics;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatistics.CacheStats>> getAll() {
+        return ResponseEntity.ok(cacheStatistics.all());
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<CacheStatistics.CacheStats> get(@PathVariable("name") String cacheName) {
+        return ResponseEntity.ok(cacheStatistics.stats(cacheName));
+    }
+
+    @GetMapping("/{name}/keys")
+    public ResponseEntity<List<CacheStatistics.CacheKey>> getKeys(@PathVariable("name") String cacheName,
+                                                                   @RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                                                   @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return ResponseEntity.ok(cacheStatistics.keys(cacheName, prefix, Math.max(0, limit)));
+    }
+
+    @DeleteMapping("/{name}/keys")
+    public ResponseEntity<?> evict(@PathVariable("name") String cacheName,
+                                   @RequestParam(value = "prefix", defaultValue = "") String prefix) {
+        long evicted = cacheStatistics.evict(cacheName, prefix);
+        return ResponseEntity.ok(Map.of("evicted", evicted));
+    }
+
+}
@@ -1,11 +1,15 @@
 package com.matheus.VehicleManager.controller;
 
 import com.matheus.VehicleManager.dto.ClientResponseDTO;
+import com.matheus.VehicleManager.dto.SliceResponseDTO;
 import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.pagination.ApproximatePage;
+import com.matheus.VehicleManager.pagination.TotalMode;
 import com.matheus.VehicleManager.service.ClientService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,55 +23,49 @@ public class ClientController {
     @Autowired
     private ClientService clientService;
 
-    private static ClientResponseDTO toDTO(Client client) {
-        return new ClientResponseDTO(
-                client.getId(),
-                client.getFirstName(),
-                client.getLastName(),
-                client.getEmail(),
-                client.getPhone()
-        );
-    }
-
     @GetMapping
-    public ResponseEntity<Page<ClientResponseDTO>> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
-                                                          @RequestParam(value = "size", defaultValue = "10") int size) {
-        Page<Client> clients = clientService.findAll(page, size);
-        Page<ClientResponseDTO> clientsDtos = clients.map(ClientController::toDTO);
-        return ResponseEntity.ok(clientsDtos);
+    public ResponseEntity<?> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "10") int size,
+                                    @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.from(total);
+        if (totalMode != TotalMode.EXACT) {
+            Slice<ClientResponseDTO> clientsSlice = clientService.findAllSlice(page, size);
+            if (totalMode == TotalMode.NONE) return ResponseEntity.ok(SliceResponseDTO.of(clientsSlice));
+            return ResponseEntity.ok(ApproximatePage.of(clientsSlice, clientService.approximateCount()));
+        }
+
+        Page<ClientResponseDTO> clients = clientService.findAll(page, size);
+        return ResponseEntity.ok(clients);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<ClientResponseDTO>> search(@RequestParam("searchFor") String query) {
-        List<Client> clients = clientService.search(query);
-        List<ClientResponseDTO> clientDTOs = clients.stream()
-                .map(ClientController::toDTO)
-                .toList();
-        return ResponseEntity.ok(clientDTOs);
+        List<ClientResponseDTO> clients = clientService.search(query);
+        return ResponseEntity.ok(clients);
     }
 
     @GetMapping("/email/{email}")
     public ResponseEntity<?> getByEmail(@PathVariable("email") String email) {
-        Client client = clientService.findByEmail(email);
-        return ResponseEntity.ok(toDTO(client));
+        ClientResponseDTO client = clientService.findByEmail(email);
+        return ResponseEntity.ok(client);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable("id") Long clientId) {
-        Client client = clientService.getById(clientId);
-        return ResponseEntity.ok(toDTO(client));
+        ClientResponseDTO client = clientService.getById(clientId);
+        return ResponseEntity.ok(client);
     }
 
     @PostMapping
     public ResponseEntity<?> insert(@Valid @RequestBody Client client) {
         clientService.create(client);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(client));
+        return ResponseEntity.status(HttpStatus.CREATED).body(ClientResponseDTO.of(client));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable("id") Long clientId, @Valid @RequestBody Client client) {
         clientService.update(client);
-        return ResponseEntity.ok(toDTO(client));
+        return ResponseEntity.ok(ClientResponseDTO.of(client));
     }
 
     @DeleteMapping("/{id}")
@@ -3,12 +3,16 @@ package com.matheus.VehicleManager.controller;
 import com.matheus.VehicleManager.dto.FinancingRequestDTO;
 import com.matheus.VehicleManager.dto.FinancingResponseDTO;
 import com.matheus.VehicleManager.dto.FinancingStatusRequestDTO;
+import com.matheus.VehicleManager.dto.SliceResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleMinimalDTO;
 import com.matheus.VehicleManager.model.Financing;
+import com.matheus.VehicleManager.pagination.ApproximatePage;
+import com.matheus.VehicleManager.pagination.TotalMode;
 import com.matheus.VehicleManager.service.FinancingService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,59 +24,43 @@ public class FinancingController {
     @Autowired
     private FinancingService financingService;
 
-    private static FinancingResponseDTO toDTO(Financing financing) {
-        VehicleMinimalDTO vehicleDTO = new VehicleMinimalDTO(
-            financing.getVehicle().getId(),
-            financing.getVehicle().getChassi(),
-            financing.getVehicle().getBrand(),
-            financing.getVehicle().getModel()
-        );
-
-        return  new FinancingResponseDTO(
-            financing.getId(),
-            financing.getClient(),
-            vehicleDTO,
-            financing.getTotalAmount(),
-            financing.getDownPayment(),
-            financing.getInstallmentCount(),
-            financing.getInstallmentValue(),
-            financing.getAnnualInterestRate(),
-            financing.getContractDate(),
-            financing.getFirstInstallmentDate(),
-            financing.getStatus()
-        );
-    }
-
     @GetMapping
-    public ResponseEntity<Page<FinancingResponseDTO>> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
-                                                             @RequestParam(value = "size", defaultValue = "10") int size) {
-        Page<Financing> financings = financingService.getAll(page, size);
-        Page<FinancingResponseDTO> financingsDtoPage = financings.map(FinancingController::toDTO);
-        return ResponseEntity.ok(financingsDtoPage);
+    public ResponseEntity<?> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "10") int size,
+                                    @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.from(total);
+        if (totalMode != TotalMode.EXACT) {
+            Slice<FinancingResponseDTO> financingsSlice = financingService.getAllSlice(page, size);
+            if (totalMode == TotalMode.NONE) return ResponseEntity.ok(SliceResponseDTO.of(financingsSlice));
+            return ResponseEntity.ok(ApproximatePage.of(financingsSlice, financingService.approximateCount()));
+        }
+
+        Page<FinancingResponseDTO> financings = financingService.getAll(page, size);
+        return ResponseEntity.ok(financings);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable("id") Long financingId) {
-        Financing financing = financingService.getById(financingId);
-        return ResponseEntity.ok(toDTO(financing));
+        FinancingResponseDTO financing = financingService.getById(financingId);
+        return ResponseEntity.ok(financing);
     }
 
     @GetMapping("/vehicle/{vehicleId}")
     public ResponseEntity<?> getByVehicleIdNotCanceled(@PathVariable("vehicleId") Long vehicleId) {
-        Financing financing = financingService.getByVehicleIdNotCanceled(vehicleId);
-        return ResponseEntity.ok(toDTO(financing));
+        FinancingResponseDTO financing = financingService.getByVehicleIdNotCanceled(vehicleId);
+        return ResponseEntity.ok(financing);
     }
 
     @PostMapping
     public  ResponseEntity<?> insert(@Valid @RequestBody FinancingRequestDTO financingDto) {
         Financing financing = financingService.create(financingDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(financing));
+        return ResponseEntity.status(HttpStatus.CREATED).body(FinancingResponseDTO.of(financing));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable("id") Long financingId, @Valid @RequestBody FinancingRequestDTO financingDto) {
         Financing financing = financingService.update(financingId, financingDto);
-        return ResponseEntity.ok(toDTO(financing));
+        return ResponseEntity.ok(FinancingResponseDTO.of(financing));
     }
 
     @PatchMapping("/{id}/status")
@@ -2,11 +2,15 @@ package com.matheus.VehicleManager.controller;
 
 import com.matheus.VehicleManager.dto.MaintenanceRequestDTO;
 import com.matheus.VehicleManager.dto.MaintenanceResponseDTO;
+import com.matheus.VehicleManager.dto.SliceResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleMinimalDTO;
 import com.matheus.VehicleManager.model.Maintenance;
+import com.matheus.VehicleManager.pagination.ApproximatePage;
+import com.matheus.VehicleManager.pagination.TotalMode;
 import com.matheus.VehicleManager.service.MaintenanceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,48 +24,37 @@ public class MaintenanceController {
     @Autowired
     private MaintenanceService maintenanceService;
 
-    private static MaintenanceResponseDTO toDTO(Maintenance maintenance) {
-        VehicleMinimalDTO vehicleDTO = new VehicleMinimalDTO(
-            maintenance.getVehicle().getId(),
-            maintenance.getVehicle().getChassi(),
-            maintenance.getVehicle().getBrand(),
-            maintenance.getVehicle().getModel()
-        );
-
-        return new MaintenanceResponseDTO(
-            maintenance.getId(),
-            vehicleDTO,
-            maintenance.getAdditionalInfo(),
-            maintenance.getStartDate(),
-            maintenance.getEndDate()
-        );
-    }
-
     @GetMapping
-    public ResponseEntity<Page<MaintenanceResponseDTO>> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
-                                                        @RequestParam(value = "size", defaultValue = "10") int size) {
-        Page<Maintenance> maintenances = maintenanceService.findAll(page, size);
-        Page<MaintenanceResponseDTO> maintenancesDtoPage = maintenances.map(MaintenanceController::toDTO);
-        return ResponseEntity.ok(maintenancesDtoPage);
+    public ResponseEntity<?> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "10") int size,
+                                    @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.from(total);
+        if (totalMode != TotalMode.EXACT) {
+            Slice<MaintenanceResponseDTO> maintenancesSlice = maintenanceService.findAllSlice(page, size);
+            if (totalMode == TotalMode.NONE) return ResponseEntity.ok(SliceResponseDTO.of(maintenancesSlice));
+            return ResponseEntity.ok(ApproximatePage.of(maintenancesSlice, maintenanceService.approximateCount()));
+        }
+
+        Page<MaintenanceResponseDTO> maintenances = maintenanceService.findAll(page, size);
+        return ResponseEntity.ok(maintenances);
     }
 
     @GetMapping("/vehicle/{id}")
     public ResponseEntity<List<MaintenanceResponseDTO>> getAllByVehicle(@PathVariable("id") Long vehicleId) {
-        List<Maintenance> maintenances = maintenanceService.findAllByVehicleId(vehicleId);
-        List<MaintenanceResponseDTO> maintenancesDtoPage = maintenances.stream().map(MaintenanceController::toDTO).toList();
-        return ResponseEntity.ok(maintenancesDtoPage);
+        List<MaintenanceResponseDTO> maintenances = maintenanceService.findAllByVehicleId(vehicleId);
+        return ResponseEntity.ok(maintenances);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable("id") Long saleId) {
-        Maintenance maintenance = maintenanceService.findById(saleId);
-        return ResponseEntity.ok(toDTO(maintenance));
+        MaintenanceResponseDTO maintenance = maintenanceService.findById(saleId);
+        return ResponseEntity.ok(maintenance);
     }
 
     @PostMapping
     public ResponseEntity<?> insert(@RequestBody MaintenanceRequestDTO maintenanceRequestDTO) {
         Maintenance maintenance = maintenanceService.create(maintenanceRequestDTO.getVehicleId(), maintenanceRequestDTO.getAdditionalInfo());
-        return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(maintenance));
+        return ResponseEntity.status(HttpStatus.CREATED).body(MaintenanceResponseDTO.of(maintenance));
     }
 
     @DeleteMapping("/{id}")
@@ -2,10 +2,13 @@ package com.matheus.VehicleManager.controller;
 
 import com.matheus.VehicleManager.dto.*;
 import com.matheus.VehicleManager.model.Sale;
+import com.matheus.VehicleManager.pagination.ApproximatePage;
+import com.matheus.VehicleManager.pagination.TotalMode;
 import com.matheus.VehicleManager.service.SaleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,55 +22,43 @@ public class SalesController {
     @Autowired
     private SaleService saleService;
 
-    private static SaleResponseDTO toDTO(Sale sales) {
-        VehicleMinimalDTO vehicleDTO = new VehicleMinimalDTO(
-                sales.getVehicle().getId(),
-                sales.getVehicle().getChassi(),
-                sales.getVehicle().getBrand(),
-                sales.getVehicle().getModel()
-        );
-
-        return new SaleResponseDTO(
-            sales.getId(),
-            sales.getClient(),
-            vehicleDTO,
-            sales.getSalesDate(),
-            sales.getReserveDate(),
-            sales.getStatus()
-        );
-    }
-
     @GetMapping
-    public ResponseEntity<Page<SaleResponseDTO>> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
-                                                        @RequestParam(value = "size", defaultValue = "10") int size) {
-        Page<Sale> sales = saleService.findAll(page, size);
-        Page<SaleResponseDTO> salesDtoPage = sales.map(SalesController::toDTO);
-        return ResponseEntity.ok(salesDtoPage);
+    public ResponseEntity<?> getAll(@RequestParam(value = "page", defaultValue = "0") int page,
+                                    @RequestParam(value = "size", defaultValue = "10") int size,
+                                    @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.from(total);
+        if (totalMode != TotalMode.EXACT) {
+            Slice<SaleResponseDTO> salesSlice = saleService.findAllSlice(page, size);
+            if (totalMode == TotalMode.NONE) return ResponseEntity.ok(SliceResponseDTO.of(salesSlice));
+            return ResponseEntity.ok(ApproximatePage.of(salesSlice, saleService.approximateCount()));
+        }
+
+        Page<SaleResponseDTO> sales = saleService.findAll(page, size);
+        return ResponseEntity.ok(sales);
     }
 
     @GetMapping("/vehicle/{id}")
     public ResponseEntity<List<SaleResponseDTO>> getAllByVehicle(@PathVariable("id") Long vehicleId) {
-        List<Sale> sales = saleService.findAllByVehicleId(vehicleId);
-        List<SaleResponseDTO> salesDtoPage = sales.stream().map(SalesController::toDTO).toList();
-        return ResponseEntity.ok(salesDtoPage);
+        List<SaleResponseDTO> sales = saleService.findAllByVehicleId(vehicleId);
+        return ResponseEntity.ok(sales);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable("id") Long saleId) {
-        Sale sale = saleService.findById(saleId);
-        return ResponseEntity.ok(toDTO(sale));
+        SaleResponseDTO sale = saleService.findById(saleId);
+        return ResponseEntity.ok(sale);
     }
 
     @PostMapping
     public  ResponseEntity<?> insert(@Valid @RequestBody SaleRequestDTO saleRequestDTO) {
         Sale sale = saleService.create(saleRequestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(sale));
+        return ResponseEntity.status(HttpStatus.CREATED).body(SaleResponseDTO.of(sale));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable("id") Long saleId, @Valid @RequestBody SaleRequestDTO saleRequestDTO) {
         Sale sale = saleService.update(saleId, saleRequestDTO);
-        return ResponseEntity.status(HttpStatus.OK).body(toDTO(sale));
+        return ResponseEntity.status(HttpStatus.OK).body(SaleResponseDTO.of(sale));
     }
 
 }
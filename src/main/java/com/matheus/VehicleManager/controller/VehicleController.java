@@ -2,12 +2,15 @@ package com.matheus.VehicleManager.controller;
 
 import com.matheus.VehicleManager.dto.*;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.ApproximatePage;
+import com.matheus.VehicleManager.pagination.TotalMode;
 import com.matheus.VehicleManager.service.VehicleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,36 +24,48 @@ public class VehicleController {
     @Autowired
     private VehicleService vehicleService;
 
-    private static VehicleResponseDTO toDTO(Vehicle vehicle) {
-        return new VehicleResponseDTO(
-                vehicle.getId(),
-                vehicle.getVehicleType(),
-                vehicle.getVehicleStatus(),
-                vehicle.getModel(),
-                vehicle.getBrand(),
-                vehicle.getYear(),
-                vehicle.getColor(),
-                vehicle.getPlate(),
-                vehicle.getChassi(),
-                vehicle.getMileage(),
-                vehicle.getPrice(),
-                vehicle.getVehicleFuel(),
-                vehicle.getVehicleChange(),
-                vehicle.getDoors(),
-                vehicle.getMotor(),
-                vehicle.getPower()
-        );
-    }
-
     @GetMapping("/images")
-    public ResponseEntity<Page<VehicleImageResponseDTO>> getAllWithImages(@RequestParam(value="searchInput", defaultValue="") String search,
-                                                                          @RequestParam(value="status", defaultValue="") String status,
-                                                                          @RequestParam(value="type", defaultValue="") String type,
-                                                                          @RequestParam(value="fuel", defaultValue="") String fuel,
-                                                                          @RequestParam(value="priceMin", defaultValue="0") int priceMin,
-                                                                          @RequestParam(value="priceMax", defaultValue="0") int priceMax,
-                                                                          @RequestParam(value = "page", defaultValue="0") int page,
-                                                                          @RequestParam(value = "size", defaultValue="10") int size) {
+    public ResponseEntity<?> getAllWithImages(@RequestParam(value="searchInput", defaultValue="") String search,
+                                              @RequestParam(value="status", defaultValue="") String status,
+                                              @RequestParam(value="type", defaultValue="") String type,
+                                              @RequestParam(value="fuel", defaultValue="") String fuel,
+                                              @RequestParam(value="priceMin", defaultValue="0") int priceMin,
+                                              @RequestParam(value="priceMax", defaultValue="0") int priceMax,
+                                              @RequestParam(value = "page", defaultValue="0") int page,
+                                              @RequestParam(value = "size", defaultValue="10") int size,
+                                              @RequestParam(value = "after", required = false) String after,
+                                              @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.from(total);
+        if (after != null) {
+            Slice<VehicleImageResponseDTO> vehiclesSlice = vehicleService.getFilteredVehiclesWithOneImageAfter(
+                    search,
+                    status,
+                    type,
+                    fuel,
+                    priceMin,
+                    priceMax,
+                    after,
+                    size
+            );
+            return ResponseEntity.ok(CursorPageResponseDTO.of(vehiclesSlice, VehicleImageResponseDTO::id));
+        }
+
+        if (totalMode != TotalMode.EXACT) {
+            Slice<VehicleImageResponseDTO> vehiclesSlice = vehicleService.getFilteredVehiclesWithOneImageSlice(
+                    search,
+                    status,
+                    type,
+                    fuel,
+                    priceMin,
+                    priceMax,
+                    page,
+                    size
+            );
+            if (totalMode == TotalMode.NONE) return ResponseEntity.ok(SliceResponseDTO.of(vehiclesSlice));
+            long approximateTotal = vehicleService.approximateFilteredCount(search, status, type, fuel, priceMin, priceMax);
+            return ResponseEntity.ok(ApproximatePage.of(vehiclesSlice, approximateTotal));
+        }
+
         Page<VehicleImageResponseDTO> vehiclesPage;
         vehiclesPage = vehicleService.getFilteredVehiclesWithOneImage(
                 search,
@@ -66,15 +81,48 @@ public class VehicleController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<VehicleResponseDTO>> getAll(@RequestParam(value="searchInput", defaultValue="") String search,
-                                                           @RequestParam(value="status", defaultValue="") String status,
-                                                           @RequestParam(value="type", defaultValue="") String type,
-                                                           @RequestParam(value="fuel", defaultValue="") String fuel,
-                                                           @RequestParam(value="priceMin", defaultValue="0") int priceMin,
-                                                           @RequestParam(value="priceMax", defaultValue="0") int priceMax,
-                                                           @RequestParam(value = "page", defaultValue="0") int page,
-                                                           @RequestParam(value = "size", defaultValue="10") int size) {
-        Page<Vehicle> vehicles = vehicleService.getFilteredVehicles(
+    public ResponseEntity<?> getAll(@RequestParam(value="searchInput", defaultValue="") String search,
+                                    @RequestParam(value="status", defaultValue="") String status,
+                                    @RequestParam(value="type", defaultValue="") String type,
+                                    @RequestParam(value="fuel", defaultValue="") String fuel,
+                                    @RequestParam(value="priceMin", defaultValue="0") int priceMin,
+                                    @RequestParam(value="priceMax", defaultValue="0") int priceMax,
+                                    @RequestParam(value = "page", defaultValue="0") int page,
+                                    @RequestParam(value = "size", defaultValue="10") int size,
+                                    @RequestParam(value = "after", required = false) String after,
+                                    @RequestParam(value = "total", defaultValue = "exact") String total) {
+        TotalMode totalMode = TotalMode.from(total);
+        if (after != null) {
+            Slice<VehicleResponseDTO> vehiclesSlice = vehicleService.getFilteredVehiclesAfter(
+                    search,
+                    status,
+                    type,
+                    fuel,
+                    priceMin,
+                    priceMax,
+                    after,
+                    size
+            );
+            return ResponseEntity.ok(CursorPageResponseDTO.of(vehiclesSlice, VehicleResponseDTO::id));
+        }
+
+        if (totalMode != TotalMode.EXACT) {
+            Slice<VehicleResponseDTO> vehiclesSlice = vehicleService.getFilteredVehiclesSlice(
+                    search,
+                    status,
+                    type,
+                    fuel,
+                    priceMin,
+                    priceMax,
+                    page,
+                    size
+            );
+            if (totalMode == TotalMode.NONE) return ResponseEntity.ok(SliceResponseDTO.of(vehiclesSlice));
+            long approximateTotal = vehicleService.approximateFilteredCount(search, status, type, fuel, priceMin, priceMax);
+            return ResponseEntity.ok(ApproximatePage.of(vehiclesSlice, approximateTotal));
+        }
+
+        Page<VehicleResponseDTO> vehicles = vehicleService.getFilteredVehicles(
                 search,
                 status,
                 type,
@@ -84,23 +132,19 @@ public class VehicleController {
                 page,
                 size
         );
-        Page<VehicleResponseDTO> vehiclesPage = vehicles.map(VehicleController::toDTO);
-        return ResponseEntity.ok(vehiclesPage);
+        return ResponseEntity.ok(vehicles);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<VehicleResponseDTO>> search(@RequestParam("searchFor") String searchFor) {
-        List<Vehicle> vehicles = vehicleService.searchAvailableVehicles(searchFor);
-        List<VehicleResponseDTO> vehicleDTOs = vehicles.stream()
-                .map(VehicleController::toDTO)
-                .toList();
-        return ResponseEntity.ok(vehicleDTOs);
+        List<VehicleResponseDTO> vehicles = vehicleService.searchAvailableVehicles(searchFor);
+        return ResponseEntity.ok(vehicles);
     }
 
     @GetMapping("/chassi/{chassi}")
     public ResponseEntity<?> getByChassi(@PathVariable(value="chassi") String chassi) {
-        Vehicle vehicle = vehicleService.findByChassi(chassi);
-        return ResponseEntity.ok(toDTO(vehicle));
+        VehicleResponseDTO vehicle = vehicleService.findByChassi(chassi);
+        return ResponseEntity.ok(vehicle);
     }
 
     @GetMapping("/{id}")
@@ -119,7 +163,7 @@ public class VehicleController {
     public ResponseEntity<?> update(@PathVariable("id") Long vehicleId,
                                    @Valid @RequestBody VehicleRequestDTO vehicleDto) {
         Vehicle vehicle = vehicleService.update(vehicleId, vehicleDto);
-        return ResponseEntity.ok(toDTO(vehicle));
+        return ResponseEntity.ok(VehicleResponseDTO.of(vehicle));
     }
 
     @DeleteMapping("/{id}")
@@ -2,9 +2,15 @@ package com.matheus.VehicleManager.dto;
 
 public class AuthResponseDTO {
     private String token;
+    private String refreshToken;
 
     public AuthResponseDTO(String token) { this.token = token; }
 
+    public AuthResponseDTO(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
@@ -12,4 +18,12 @@ public class AuthResponseDTO {
     public void setToken(String token) {
         this.token = token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
@@ -1,8 +1,24 @@
 package com.matheus.VehicleManager.dto;
 
+import com.matheus.VehicleManager.model.Client;
+
+import java.io.Serializable;
+
 public record ClientResponseDTO(
     Long id,
     String firstName,
     String lastName,
     String email,
-    String phone) {}
+    String phone) implements Serializable {
+
+    public static ClientResponseDTO of(Client client) {
+        return new ClientResponseDTO(
+                client.getId(),
+                client.getFirstName(),
+                client.getLastName(),
+                client.getEmail(),
+                client.getPhone()
+        );
+    }
+
+}
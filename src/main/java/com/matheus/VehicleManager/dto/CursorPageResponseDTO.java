@@ -0,0 +1,24 @@
+package com.matheus.VehicleManager.dto;
+
+import com.matheus.VehicleManager.pagination.KeysetCursor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponseDTO<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String next
+) {
+
+    public static <T> CursorPageResponseDTO<T> of(Slice<T> slice, Function<T, Long> idExtractor) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+                ? KeysetCursor.encode(idExtractor.apply(content.get(content.size() - 1)))
+                : null;
+        return new CursorPageResponseDTO<>(content, slice.getSize(), slice.hasNext(), next);
+    }
+
+}
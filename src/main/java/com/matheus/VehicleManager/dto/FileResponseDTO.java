@@ -2,8 +2,10 @@ package com.matheus.VehicleManager.dto;
 
 import com.matheus.VehicleManager.enums.FileType;
 
+import java.io.Serializable;
+
 public record FileResponseDTO(
         Long id,
         String path,
         FileType type,
-        Long vehicle) {}
+        Long vehicle) implements Serializable {}
@@ -1,14 +1,15 @@
 package com.matheus.VehicleManager.dto;
 
 import com.matheus.VehicleManager.enums.FinancingStatus;
-import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.model.Financing;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public record FinancingResponseDTO(
     Long id,
-    Client client,
+    ClientResponseDTO client,
     VehicleMinimalDTO vehicle,
     BigDecimal totalAmount,
     BigDecimal downPayment,
@@ -18,5 +19,22 @@ public record FinancingResponseDTO(
     LocalDate contractDate,
     LocalDate firstInstallmentDate,
     FinancingStatus financingStatus
-) {
+) implements Serializable {
+
+    public static FinancingResponseDTO of(Financing financing) {
+        return new FinancingResponseDTO(
+                financing.getId(),
+                ClientResponseDTO.of(financing.getClient()),
+                VehicleMinimalDTO.of(financing.getVehicle()),
+                financing.getTotalAmount(),
+                financing.getDownPayment(),
+                financing.getInstallmentCount(),
+                financing.getInstallmentValue(),
+                financing.getAnnualInterestRate(),
+                financing.getContractDate(),
+                financing.getFirstInstallmentDate(),
+                financing.getStatus()
+        );
+    }
+
 }
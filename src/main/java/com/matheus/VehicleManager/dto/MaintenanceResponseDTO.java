@@ -1,7 +1,8 @@
 package com.matheus.VehicleManager.dto;
 
-import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.model.Maintenance;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 public record MaintenanceResponseDTO(
@@ -10,4 +11,16 @@ public record MaintenanceResponseDTO(
     String additionalInfo,
     LocalDate startDate,
     LocalDate endDate
-) { }
+) implements Serializable {
+
+    public static MaintenanceResponseDTO of(Maintenance maintenance) {
+        return new MaintenanceResponseDTO(
+                maintenance.getId(),
+                VehicleMinimalDTO.of(maintenance.getVehicle()),
+                maintenance.getAdditionalInfo(),
+                maintenance.getStartDate(),
+                maintenance.getEndDate()
+        );
+    }
+
+}
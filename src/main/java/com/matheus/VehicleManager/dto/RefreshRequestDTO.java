@@ -0,0 +1,22 @@
+package com.matheus.VehicleManager.dto;
+
+public class RefreshRequestDTO {
+    private String username;
+    private String refreshToken;
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -1,15 +1,29 @@
 package com.matheus.VehicleManager.dto;
 
 import com.matheus.VehicleManager.enums.SalesStatus;
-import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.model.Sale;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 public record SaleResponseDTO(
     Long id,
-    Client client,
+    ClientResponseDTO client,
     VehicleMinimalDTO vehicle,
     LocalDate salesDate,
     LocalDate reserveDate,
     SalesStatus status
-) {}
+) implements Serializable {
+
+    public static SaleResponseDTO of(Sale sale) {
+        return new SaleResponseDTO(
+                sale.getId(),
+                ClientResponseDTO.of(sale.getClient()),
+                VehicleMinimalDTO.of(sale.getVehicle()),
+                sale.getSalesDate(),
+                sale.getReserveDate(),
+                sale.getStatus()
+        );
+    }
+
+}
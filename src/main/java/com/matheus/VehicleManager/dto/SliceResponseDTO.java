@@ -0,0 +1,18 @@
+package com.matheus.VehicleManager.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record SliceResponseDTO<T>(
+    List<T> content,
+    int page,
+    int size,
+    boolean hasNext
+) {
+
+    public static <T> SliceResponseDTO<T> of(Slice<T> slice) {
+        return new SliceResponseDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+}
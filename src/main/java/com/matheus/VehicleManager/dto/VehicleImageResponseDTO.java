@@ -5,6 +5,7 @@ import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 public record VehicleImageResponseDTO(
@@ -25,4 +26,4 @@ public record VehicleImageResponseDTO(
     String motor,
     String power,
     String image
-) {}
+) implements Serializable {}
@@ -5,6 +5,7 @@ import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -26,4 +27,4 @@ public record VehicleImagesResponseDTO(
     String motor,
     String power,
     List<FileResponseDTO> images
-) {}
\ No newline at end of file
+) implements Serializable {}
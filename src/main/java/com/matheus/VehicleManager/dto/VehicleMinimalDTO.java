@@ -1,8 +1,18 @@
 package com.matheus.VehicleManager.dto;
 
+import com.matheus.VehicleManager.model.Vehicle;
+
+import java.io.Serializable;
+
 public record VehicleMinimalDTO(
     Long id,
     String chassi,
     String brand,
     String model
-) {}
+) implements Serializable {
+
+    public static VehicleMinimalDTO of(Vehicle vehicle) {
+        return new VehicleMinimalDTO(vehicle.getId(), vehicle.getChassi(), vehicle.getBrand(), vehicle.getModel());
+    }
+
+}
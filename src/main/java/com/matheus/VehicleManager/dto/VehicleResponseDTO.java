@@ -4,7 +4,9 @@ import com.matheus.VehicleManager.enums.VehicleChange;
 import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 public record VehicleResponseDTO(
@@ -24,5 +26,27 @@ public record VehicleResponseDTO(
     Integer doors,
     String motor,
     String power
-) {
+) implements Serializable {
+
+    public static VehicleResponseDTO of(Vehicle vehicle) {
+        return new VehicleResponseDTO(
+                vehicle.getId(),
+                vehicle.getVehicleType(),
+                vehicle.getVehicleStatus(),
+                vehicle.getModel(),
+                vehicle.getBrand(),
+                vehicle.getYear(),
+                vehicle.getColor(),
+                vehicle.getPlate(),
+                vehicle.getChassi(),
+                vehicle.getMileage(),
+                vehicle.getPrice(),
+                vehicle.getVehicleFuel(),
+                vehicle.getVehicleChange(),
+                vehicle.getDoors(),
+                vehicle.getMotor(),
+                vehicle.getPower()
+        );
+    }
+
 }
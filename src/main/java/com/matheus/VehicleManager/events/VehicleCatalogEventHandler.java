@@ -0,0 +1,31 @@
+package com.matheus.VehicleManager.events;
+
+import com.matheus.VehicleManager.catalog.VehicleCatalog;
+import com.matheus.VehicleManager.model.Vehicle;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VehicleCatalogEventHandler {
+
+    private final VehicleCatalog vehicleCatalog;
+
+    @Autowired
+    public VehicleCatalogEventHandler(VehicleCatalog vehicleCatalog) {
+        this.vehicleCatalog = vehicleCatalog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Vehicle vehicle) {
+        vehicleCatalog.onSaved(vehicle);
+    }
+
+    @PostRemove
+    public void onRemove(Vehicle vehicle) {
+        vehicleCatalog.onDeleted(vehicle.getId());
+    }
+}
@@ -0,0 +1,9 @@
+package com.matheus.VehicleManager.exception;
+
+import java.time.Duration;
+
+public class CacheLoadTimeoutException extends RuntimeException {
+    public CacheLoadTimeoutException(String cacheName, Object key, Duration timeout) {
+        super("Timed out after " + timeout.toMillis() + "ms waiting for " + cacheName + " entry " + key);
+    }
+}
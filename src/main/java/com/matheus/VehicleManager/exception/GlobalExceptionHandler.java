@@ -1,6 +1,8 @@
 package com.matheus.VehicleManager.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,10 +10,18 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+
+    // Same messages as the uniqueness validators, keyed by the column the database names in the violation
+    private static final Map<String, String> UNIQUE_COLUMNS = Map.of(
+            "chassi", "O chassi já está em uso",
+            "email", "O email já está em uso",
+            "username", "O nome de usuário já está em uso");
+
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidRequestException(InvalidRequestException e) {
         Map<String, Object> response = new HashMap<>();
@@ -19,6 +29,47 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * A unique column written by another instance between the validator's check and the insert; answered as the
+     * validator would have answered.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        String cause = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase(Locale.ROOT);
+        Map<String, String> errors = new HashMap<>();
+        UNIQUE_COLUMNS.forEach((column, message) -> {
+            if (cause.contains("(" + column)) errors.put(column, message);
+        });
+        if (errors.isEmpty()) errors.put("error", "Os dados violam uma restrição de integridade");
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("errors", errors);
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @ExceptionHandler(VehicleUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleVehicleUnavailable(VehicleUnavailableException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("errors", Map.of("vehicle", e.getMessage()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(CacheLoadTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleCacheLoadTimeout(CacheLoadTimeoutException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("errors", Map.of("error", "Serviço temporariamente indisponível, tente novamente"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(response);
+    }
+
+    @ExceptionHandler(LoginRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleLoginRejected(LoginRejectedException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("errors", Map.of("error", "Muitos logins em andamento, tente novamente em instantes"));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleNotFound(Exception e) {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,15 @@
+package com.matheus.VehicleManager.exception;
+
+public class LoginRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginRejectedException(String reason, long retryAfterSeconds) {
+        super("Login rejected: " + reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDate;
 
 @Entity
 @EntityListeners(FileStoreEventHandler.class)
+@Table(indexes = @Index(name = "idx_file_store_vehicle_id", columnList = "vehicle_id"))
 public class FileStore {
 
     @Id
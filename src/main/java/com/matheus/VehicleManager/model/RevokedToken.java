@@ -0,0 +1,57 @@
+package com.matheus.VehicleManager.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A revoked token, or with no token id every token of the user issued up to {@code revokedAt}. Rows are kept until
+ * the tokens they cover would have expired anyway.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"))
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private String tokenId;
+
+    private String username;
+
+    private Instant revokedAt;
+
+    private Instant expiresAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, String username, Instant revokedAt, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.username = username;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -5,6 +5,8 @@ import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
 
+import com.matheus.VehicleManager.events.VehicleCatalogEventHandler;
+import com.matheus.VehicleManager.search.SearchNormalizer;
 import com.matheus.VehicleManager.validators.UniqueChassi;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -13,6 +15,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@EntityListeners(VehicleCatalogEventHandler.class)
 @UniqueChassi
 public class Vehicle {
 
@@ -76,6 +79,17 @@ public class Vehicle {
     @Size(max = 50, message = "O limite máximo de caracteres é 50")
     private String power;
 
+    @Column(length = 100)
+    private String normalizedBrand;
+
+    @Column(length = 100)
+    private String normalizedModel;
+
+    @Column(length = 8)
+    private String normalizedPlate;
+
+    private String coverImagePath;
+
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<FileStore> images;
 
@@ -87,11 +101,19 @@ public class Vehicle {
         this.createdAt = LocalDate.now();
         this.updatedAt = LocalDate.now();
         this.vehicleStatus = VehicleStatus.AVAILABLE;
+        normalizeSearchColumns();
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDate.now();
+        normalizeSearchColumns();
+    }
+
+    public void normalizeSearchColumns() {
+        this.normalizedBrand = SearchNormalizer.normalize(this.brand);
+        this.normalizedModel = SearchNormalizer.normalize(this.model);
+        this.normalizedPlate = SearchNormalizer.normalize(this.plate);
     }
 
     public Long getId() {
@@ -161,10 +183,22 @@ public class Vehicle {
         return power;
     }
 
+    public String getCoverImagePath() {
+        return coverImagePath;
+    }
+
     public List<FileStore> getImages() {
         return images;
     }
 
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDate getUpdatedAt() {
+        return updatedAt;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -229,7 +263,19 @@ public class Vehicle {
         this.power = power;
     }
 
+    public void setCoverImagePath(String coverImagePath) {
+        this.coverImagePath = coverImagePath;
+    }
+
     public void setImages(List<FileStore> images) {
         this.images = images;
     }
+
+    public void setCreatedAt(LocalDate createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setUpdatedAt(LocalDate updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,139 @@
+package com.matheus.VehicleManager.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves totals for {@code total=approx} listings. A known count is returned immediately and refreshed in the
+ * background once it is older than the configured TTL. An unknown count falls back to the PostgreSQL planner
+ * estimate for unfiltered tables, or to 0 otherwise, which {@link ApproximatePage} raises to what the slice has
+ * seen; either way the exact count runs in the background. Counts are kept for at most
+ * {@code pagination.approx-count.max-keys} filters and dropped {@code max-age} after they were last refreshed.
+ */
+@Component
+public class ApproximateCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApproximateCounter.class);
+
+    private static final String PLANNER_ESTIMATE = "SELECT reltuples::bigint FROM pg_class WHERE relname = ?";
+
+    private record CountEntry(long value, long computedAt) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${pagination.approx-count.ttl:60s}")
+    private Duration ttl = Duration.ofSeconds(60);
+
+    @Value("${pagination.approx-count.max-keys:1000}")
+    private long maxKeys = 1000;
+
+    @Value("${pagination.approx-count.max-age:10m}")
+    private Duration maxAge = Duration.ofMinutes(10);
+
+    private Cache<String, CountEntry> counts;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor refresher = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64),
+            runnable -> {
+                Thread thread = new Thread(runnable, "approx-count-refresher");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    private volatile Boolean postgres;
+
+    @PostConstruct
+    public void init() {
+        counts = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(maxAge)
+                .build();
+    }
+
+    public long count(String key, String table, LongSupplier exactCount) {
+        CountEntry entry = counts.getIfPresent(key);
+        if (entry != null) {
+            if (System.currentTimeMillis() - entry.computedAt() > ttl.toMillis()) refresh(key, exactCount);
+            return entry.value();
+        }
+
+        if (table != null) {
+            Long estimate = plannerEstimate(table);
+            if (estimate != null) {
+                // Mark the estimate as already expired so the first reader also schedules an exact count
+                counts.asMap().putIfAbsent(key, new CountEntry(estimate, 0L));
+                refresh(key, exactCount);
+                return estimate;
+            }
+        }
+
+        refresh(key, exactCount);
+        return 0;
+    }
+
+    private void refresh(String key, LongSupplier exactCount) {
+        if (!refreshing.add(key)) return;
+        try {
+            refresher.execute(() -> {
+                try {
+                    counts.put(key, new CountEntry(exactCount.getAsLong(), System.currentTimeMillis()));
+                } catch (RuntimeException e) {
+                    logger.warn("Could not refresh approximate count {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Long plannerEstimate(String table) {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        if (!postgres) return null;
+
+        Long estimate = jdbcTemplate.query(PLANNER_ESTIMATE, rs -> rs.next() ? rs.getLong(1) : null, table);
+        // reltuples is -1 until the table has been vacuumed or analyzed at least once
+        return estimate != null && estimate >= 0 ? estimate : null;
+    }
+
+    long trackedCounts() {
+        counts.cleanUp();
+        return counts.estimatedSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+}
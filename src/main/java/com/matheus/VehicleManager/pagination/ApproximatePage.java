@@ -0,0 +1,24 @@
+package com.matheus.VehicleManager.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+public final class ApproximatePage {
+
+    private ApproximatePage() {
+    }
+
+    /**
+     * Wraps a slice into a page whose total comes from an approximate count. The total is never reported
+     * below what the slice itself proves to exist, so a stale estimate cannot hide the next page.
+     */
+    public static <T> Page<T> of(Slice<T> slice, long approximateTotal) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        long total = Math.max(approximateTotal, slice.hasNext() ? seen + 1 : seen);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.matheus.VehicleManager.pagination;
+
+import com.matheus.VehicleManager.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque "after" token used by the keyset listing endpoints. The listings are ordered by id,
+ * so the last id of a slice is both the sort key and the tie breaker.
+ */
+public final class KeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        if (lastId == null) return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) throw new IllegalArgumentException(decoded);
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(Map.of("after", "Cursor de paginação inválido"));
+        }
+    }
+
+}
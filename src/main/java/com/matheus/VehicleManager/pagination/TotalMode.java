@@ -0,0 +1,25 @@
+package com.matheus.VehicleManager.pagination;
+
+import com.matheus.VehicleManager.exception.InvalidRequestException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How a paginated listing reports its total: {@code exact} runs a COUNT per request, {@code approx}
+ * serves a cached or estimated total and {@code none} skips the total and only reports whether a next page exists.
+ */
+public enum TotalMode {
+    NONE,
+    APPROX,
+    EXACT;
+
+    public static TotalMode from(String value) {
+        if (value == null || value.isBlank()) return EXACT;
+        try {
+            return TotalMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(Map.of("total", "Modo de total inválido, use none, approx ou exact"));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.matheus.VehicleManager.repository;
 
 import com.matheus.VehicleManager.model.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +13,15 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     Optional<Client> findByEmail(String email);
 
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    @Query("SELECT c.email FROM Client c WHERE c.email IS NOT NULL")
+    List<String> findAllEmails();
+
+    Slice<Client> findAllBy(Pageable pageable);
+
     List<Client> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrPhoneContaining(String firstName, String lastName, String phone);
 
 }
@@ -1,7 +1,13 @@
 package com.matheus.VehicleManager.repository;
 
+import com.matheus.VehicleManager.enums.FileType;
 import com.matheus.VehicleManager.model.FileStore;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface FileRepository extends JpaRepository<FileStore, Long> {
+
+    Optional<FileStore> findFirstByVehicleIdAndTypeOrderByIdAsc(Long vehicleId, FileType type);
+
 }
@@ -0,0 +1,46 @@
+package com.matheus.VehicleManager.repository;
+
+import com.matheus.VehicleManager.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    RefreshToken findByTokenHash(String tokenHash);
+
+    /**
+     * Marks the token used unless another request already did; returns 0 when it lost that race.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.id = :id AND r.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    @Query("SELECT r.tokenHash FROM RefreshToken r WHERE r.familyId = :familyId")
+    List<String> findHashesByFamilyId(@Param("familyId") String familyId);
+
+    @Query("SELECT r.tokenHash FROM RefreshToken r WHERE r.username = :username")
+    List<String> findHashesByUsername(@Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.username = :username")
+    int deleteByUsername(@Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token WHERE id IN " +
+            "(SELECT id FROM refresh_token WHERE expires_at <= :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -1,10 +1,14 @@
 package com.matheus.VehicleManager.repository;
 
 import com.matheus.VehicleManager.model.Sale;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface SaleRepository extends JpaRepository<Sale, Long> {
     List<Sale> findByVehicleIdOrderByIdDesc(Long vehicleId);
+
+    Slice<Sale> findAllBy(Pageable pageable);
 }
@@ -7,23 +7,54 @@ import com.matheus.VehicleManager.enums.VehicleType;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.matheus.VehicleManager.model.Vehicle;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * The search terms passed to the search and count queries are compared with the normalized columns, so callers
+ * normalize them first with {@link com.matheus.VehicleManager.search.SearchNormalizer}.
+ */
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     Optional<Vehicle> findByChassi(String chassi);
 
+    boolean existsByChassi(String chassi);
+
+    boolean existsByChassiAndIdNot(String chassi, Long id);
+
+    @Query("SELECT v.chassi FROM Vehicle v WHERE v.chassi IS NOT NULL")
+    List<String> findAllChassis();
+
+    @EntityGraph(attributePaths = "images")
+    Optional<Vehicle> findWithImagesById(Long id);
+
+    List<Vehicle> findByNormalizedBrandIsNullAndIdGreaterThanOrderById(Long afterId, Pageable paging);
+
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE Vehicle v
+              SET v.normalizedBrand = :normalizedBrand,
+                  v.normalizedModel = :normalizedModel,
+                  v.normalizedPlate = :normalizedPlate
+            WHERE v.id = :id
+           """)
+    int updateSearchColumns(@Param("id") Long id, @Param("normalizedBrand") String normalizedBrand,
+                            @Param("normalizedModel") String normalizedModel, @Param("normalizedPlate") String normalizedPlate);
+
     @Query("SELECT v FROM Vehicle v WHERE v.vehicleStatus = 'AVAILABLE' AND " +
-            "(LOWER(v.brand) LIKE LOWER(CONCAT('%', :searchFor, '%')) OR " +
-            "LOWER(v.model) LIKE LOWER(CONCAT('%', :searchFor, '%')) OR " +
-            "LOWER(v.plate) LIKE LOWER(CONCAT('%', :searchFor, '%')))")
+            "(v.normalizedBrand LIKE CONCAT('%', :searchFor, '%') OR " +
+            "v.normalizedModel LIKE CONCAT('%', :searchFor, '%') OR " +
+            "v.normalizedPlate LIKE CONCAT('%', :searchFor, '%'))")
     List<Vehicle> searchAvailableVehicles(@Param("searchFor") String searchFor);
 
     @Query("""
@@ -44,22 +75,16 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
         v.doors,
         v.motor,
         v.power,
-        (
-            SELECT fi.path
-            FROM FileStore fi
-            WHERE fi.vehicle.id = v.id
-              AND LOWER(fi.type) = 'image'
-            ORDER BY fi.id
-            LIMIT 1
-        )
+        v.coverImagePath
     ) FROM Vehicle v
-    WHERE (LOWER(v.brand) LIKE LOWER(CONCAT('%', :search, '%'))
-           OR LOWER(v.model) LIKE LOWER(CONCAT('%', :search, '%')))
+    WHERE (v.normalizedBrand LIKE CONCAT('%', :search, '%')
+           OR v.normalizedModel LIKE CONCAT('%', :search, '%'))
       AND (:status IS NULL OR v.vehicleStatus = :status)
       AND (:type IS NULL OR v.vehicleType = :type)
       AND (:fuel IS NULL OR v.vehicleFuel = :fuel)
       AND (:priceMin IS NULL OR v.price >= :priceMin)
       AND (:priceMax IS NULL OR v.price <= :priceMax)
+    ORDER BY v.id
     """)
     Page<VehicleImageResponseDTO> searchVehiclesWithImages(
             @Param("search") String search,
@@ -73,13 +98,14 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     @Query("""
     SELECT v FROM Vehicle v
-    WHERE (LOWER(v.brand) LIKE LOWER(CONCAT('%', :search, '%'))
-           OR LOWER(v.model) LIKE LOWER(CONCAT('%', :search, '%')))
+    WHERE (v.normalizedBrand LIKE CONCAT('%', :search, '%')
+           OR v.normalizedModel LIKE CONCAT('%', :search, '%'))
       AND (:status IS NULL OR v.vehicleStatus = :status)
       AND (:type IS NULL OR v.vehicleType = :type)
       AND (:fuel IS NULL OR v.vehicleFuel = :fuel)
       AND (:priceMin IS NULL OR v.price >= :priceMin)
       AND (:priceMax IS NULL OR v.price <= :priceMax)
+    ORDER BY v.id
     """)
     Page<Vehicle> searchVehicles(
             @Param("search") String search,
@@ -91,7 +117,90 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
             @Param("paging") Pageable paging
     );
 
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+    SELECT COUNT(v) FROM Vehicle v
+    WHERE (v.normalizedBrand LIKE CONCAT('%', :search, '%')
+           OR v.normalizedModel LIKE CONCAT('%', :search, '%'))
+      AND (:status IS NULL OR v.vehicleStatus = :status)
+      AND (:type IS NULL OR v.vehicleType = :type)
+      AND (:fuel IS NULL OR v.vehicleFuel = :fuel)
+      AND (:priceMin IS NULL OR v.price >= :priceMin)
+      AND (:priceMax IS NULL OR v.price <= :priceMax)
+    """)
+    long countVehicles(
+            @Param("search") String search,
+            @Param("status") VehicleStatus status,
+            @Param("type") VehicleType type,
+            @Param("fuel") VehicleFuel fuel,
+            @Param("priceMin") Integer priceMin,
+            @Param("priceMax") Integer priceMax
+    );
+
+    @Query("""
+    SELECT new com.matheus.VehicleManager.dto.VehicleImageResponseDTO(
+        v.id,
+        v.vehicleType,
+        v.vehicleStatus,
+        v.model,
+        v.brand,
+        v.year,
+        v.color,
+        v.plate,
+        v.chassi,
+        v.mileage,
+        v.price,
+        v.vehicleFuel,
+        v.vehicleChange,
+        v.doors,
+        v.motor,
+        v.power,
+        v.coverImagePath
+    ) FROM Vehicle v
+    WHERE (v.normalizedBrand LIKE CONCAT('%', :search, '%')
+           OR v.normalizedModel LIKE CONCAT('%', :search, '%'))
+      AND (:status IS NULL OR v.vehicleStatus = :status)
+      AND (:type IS NULL OR v.vehicleType = :type)
+      AND (:fuel IS NULL OR v.vehicleFuel = :fuel)
+      AND (:priceMin IS NULL OR v.price >= :priceMin)
+      AND (:priceMax IS NULL OR v.price <= :priceMax)
+      AND (:afterId IS NULL OR v.id > :afterId)
+    ORDER BY v.id
+    """)
+    Slice<VehicleImageResponseDTO> searchVehiclesWithImagesAfter(
+            @Param("search") String search,
+            @Param("status") VehicleStatus status,
+            @Param("type") VehicleType type,
+            @Param("fuel") VehicleFuel fuel,
+            @Param("priceMin") Integer priceMin,
+            @Param("priceMax") Integer priceMax,
+            @Param("afterId") Long afterId,
+            @Param("paging") Pageable paging
+    );
+
+    @Query("""
+    SELECT v FROM Vehicle v
+    WHERE (v.normalizedBrand LIKE CONCAT('%', :search, '%')
+           OR v.normalizedModel LIKE CONCAT('%', :search, '%'))
+      AND (:status IS NULL OR v.vehicleStatus = :status)
+      AND (:type IS NULL OR v.vehicleType = :type)
+      AND (:fuel IS NULL OR v.vehicleFuel = :fuel)
+      AND (:priceMin IS NULL OR v.price >= :priceMin)
+      AND (:priceMax IS NULL OR v.price <= :priceMax)
+      AND (:afterId IS NULL OR v.id > :afterId)
+    ORDER BY v.id
+    """)
+    Slice<Vehicle> searchVehiclesAfter(
+            @Param("search") String search,
+            @Param("status") VehicleStatus status,
+            @Param("type") VehicleType type,
+            @Param("fuel") VehicleFuel fuel,
+            @Param("priceMin") Integer priceMin,
+            @Param("priceMax") Integer priceMax,
+            @Param("afterId") Long afterId,
+            @Param("paging") Pageable paging
+    );
+
+    @Modifying(flushAutomatically = true)
     @Transactional
     @Query("""
            UPDATE Vehicle v
@@ -100,4 +209,23 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
            """)
     int updateStatus(@Param("id") Long id, @Param("status") VehicleStatus status);
 
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("""
+           UPDATE Vehicle v
+              SET v.vehicleStatus = :to
+            WHERE v.id = :id
+              AND v.vehicleStatus IN :from
+           """)
+    int transitionStatus(@Param("id") Long id, @Param("from") Collection<VehicleStatus> from, @Param("to") VehicleStatus to);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("""
+           UPDATE Vehicle v
+              SET v.coverImagePath = :coverImagePath
+            WHERE v.id = :id
+           """)
+    int updateCoverImagePath(@Param("id") Long id, @Param("coverImagePath") String coverImagePath);
+
 }
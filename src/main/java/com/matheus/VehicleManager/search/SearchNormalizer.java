@@ -0,0 +1,25 @@
+package com.matheus.VehicleManager.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Lower-cases and strips accents so that search terms and the persisted search columns
+ * compare with a plain LIKE, which pg_trgm GIN indexes can serve.
+ */
+public final class SearchNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private SearchNormalizer() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) return null;
+        if (value.isEmpty()) return value;
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+}
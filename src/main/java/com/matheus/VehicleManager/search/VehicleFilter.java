@@ -0,0 +1,38 @@
+package com.matheus.VehicleManager.search;
+
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+
+/**
+ * The filters of a vehicle listing as the request sends them, parsed once: blank enum names become {@code null}
+ * and a price bound of 0 or less means no bound.
+ */
+public record VehicleFilter(String search, VehicleStatus status, VehicleType type, VehicleFuel fuel,
+                            Integer priceMin, Integer priceMax) {
+
+    public static VehicleFilter of(String search, String status, String type, String fuel, int priceMin, int priceMax) {
+        return new VehicleFilter(
+                search,
+                enumOrNull(VehicleStatus.class, status),
+                enumOrNull(VehicleType.class, type),
+                enumOrNull(VehicleFuel.class, fuel),
+                priceMin > 0 ? priceMin : null,
+                priceMax > 0 ? priceMax : null
+        );
+    }
+
+    private static <E extends Enum<E>> E enumOrNull(Class<E> type, String name) {
+        return name == null || name.isEmpty() ? null : Enum.valueOf(type, name);
+    }
+
+    public String normalizedSearch() {
+        return SearchNormalizer.normalize(search);
+    }
+
+    public boolean isEmpty() {
+        return (search == null || search.isEmpty()) && status == null && type == null && fuel == null
+                && priceMin == null && priceMax == null;
+    }
+
+}
@@ -1,28 +1,44 @@
 package com.matheus.VehicleManager.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests from the bearer token's claims. Neither the signature check nor the blocklist lookup hits
+ * the database; only tokens issued before the role claim existed still load the user. The authentication is also
+ * kept on the request, so the async dispatch of a streamed or deferred response is authorized as the same user.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenBlocklist tokenBlocklist;
+
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -30,24 +46,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            final String token = header.substring(7);
-            String username = jwtUtil.extractUsername(token);
+        if (header != null && header.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            final DecodedJWT jwt = jwtUtil.verify(header.substring(7));
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (jwt != null && jwt.getSubject() != null && !tokenBlocklist.isRevoked(jwt)) {
+                UserDetails userDetails = userDetails(jwt);
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
-                if (jwtUtil.validateToken(token)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authToken);
+                SecurityContextHolder.setContext(context);
+                // This filter skips async dispatches, which load the authentication from here instead
+                securityContextRepository.saveContext(context, request, response);
             }
         }
 
         chain.doFilter(request, response);
     }
+
+    private UserDetails userDetails(DecodedJWT jwt) {
+        String role = jwtUtil.extractRole(jwt);
+        if (role == null) return userDetailsService.loadUserByUsername(jwt.getSubject());
+        return User.withUsername(jwt.getSubject())
+                .password("")
+                .authorities(new SimpleGrantedAuthority("ROLE_" + role))
+                .build();
+    }
 }
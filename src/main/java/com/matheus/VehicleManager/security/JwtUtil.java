@@ -5,45 +5,103 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${security.jwt.secret}")
     private String SECRET_KEY;
-    private static final long EXPIRATION_TIME = 86400000; // 1 day (in ms)
 
-    private Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(SECRET_KEY);
+    @Value("${security.jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    // Tokens whose signature already checked out, each kept no longer than its own expiry. Keyed by the whole
+    // token, so a lookup hashes it and a hit compares it in full: a forged token can never match a verified one.
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        algorithm = Algorithm.HMAC256(SECRET_KEY);
+        verifier = JWT.require(algorithm).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, DecodedJWT>() {
+                    @Override
+                    public long expireAfterCreate(String token, DecodedJWT jwt, long currentTime) {
+                        long millis = jwt.getExpiresAtAsInstant().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, DecodedJWT jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, DecodedJWT jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(String username) {
+    /**
+     * Issues a short-lived access token carrying the user's role, so requests can be authorized from the claims
+     * alone, and a unique id that a logout can revoke. Clients renew it with a refresh token.
+     */
+    public String generateToken(String username, String role) {
         return JWT.create()
                 .withSubject(username)
+                .withClaim(ROLE_CLAIM, role)
+                .withJWTId(UUID.randomUUID().toString())
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .sign(getAlgorithm());
-    }
-
-    public String extractUsername(String token) {
-        return getDecodedJWT(token).getSubject();
+                .withExpiresAt(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .sign(algorithm);
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * The verified token, or {@code null} when the signature or the expiration does not check out.
+     */
+    public DecodedJWT verify(String token) {
+        DecodedJWT cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) return cached;
         try {
-            getDecodedJWT(token);
-            return true;
+            DecodedJWT jwt = verifier.verify(token);
+            // Tokens without an expiry are verified on every use rather than cached for good
+            if (jwt.getExpiresAtAsInstant() != null && jwt.getExpiresAtAsInstant().isAfter(Instant.now())) {
+                verifiedTokens.put(token, jwt);
+            }
+            return jwt;
         } catch (JWTVerificationException e) {
-            return false;
+            return null;
         }
     }
 
-    private DecodedJWT getDecodedJWT(String token) {
-        JWTVerifier verifier = JWT.require(getAlgorithm()).build();
-        return verifier.verify(token);
+    /**
+     * The role claim, or {@code null} for tokens issued before the role was added to them.
+     */
+    public String extractRole(DecodedJWT jwt) {
+        return jwt.getClaim(ROLE_CLAIM).asString();
     }
 }
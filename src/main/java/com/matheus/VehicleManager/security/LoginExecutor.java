@@ -0,0 +1,118 @@
+package com.matheus.VehicleManager.security;
+
+import com.matheus.VehicleManager.exception.LoginRejectedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs logins, whose BCrypt matching is deliberately slow, on a small pool of their own instead of the servlet
+ * threads, so a burst of logins cannot take the threads and CPU the other endpoints need. Admission is decided up
+ * front: a login that finds the queue full, or that waited in it longer than {@code security.login.max-queue-wait},
+ * is rejected with a retry delay estimated from the queue ahead of it.
+ */
+@Component
+public class LoginExecutor {
+
+    @Value("${security.login.threads:1}")
+    private int threads;
+
+    @Value("${security.login.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${security.login.max-queue-wait:2s}")
+    private Duration maxQueueWait;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder rejectedWait = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaits = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public record LoginStats(int queued, int active, long completed, long rejectedQueueFull, long rejectedQueueWait,
+                             double hashMillisTotal, long queueWaits, double queueWaitMillisTotal) {
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) executor.shutdown();
+    }
+
+    /**
+     * Queues the login and returns at once; throws {@link LoginRejectedException} when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> login) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWaits.increment();
+                queueWaitNanos.add(startedAt - queuedAt);
+                if (startedAt - queuedAt > maxQueueWait.toNanos()) {
+                    // The client has likely given up already; hashing now would only delay the logins behind it
+                    rejectedWait.increment();
+                    result.completeExceptionally(new LoginRejectedException("queue wait exceeded", retryAfterSeconds()));
+                    return;
+                }
+                try {
+                    result.complete(login.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    completed.increment();
+                    hashNanos.add(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedFull.increment();
+            throw new LoginRejectedException("queue full", retryAfterSeconds());
+        }
+        return result;
+    }
+
+    /**
+     * How long until the logins queued now have been served, by the average login time; at least a second.
+     */
+    long retryAfterSeconds() {
+        long logins = completed.sum();
+        if (logins == 0) return 1;
+        double seconds = (executor.getQueue().size() + 1) * (hashNanos.sum() / (double) logins) / threads / 1e9;
+        return Math.max(1, (long) Math.ceil(seconds));
+    }
+
+    public LoginStats stats() {
+        return new LoginStats(executor.getQueue().size(), executor.getActiveCount(), completed.sum(),
+                rejectedFull.sum(), rejectedWait.sum(), hashNanos.sum() / 1e6,
+                queueWaits.sum(), queueWaitNanos.sum() / 1e6);
+    }
+}
@@ -0,0 +1,151 @@
+package com.matheus.VehicleManager.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the API per client, right after {@link JwtAuthenticationFilter}: authenticated requests are counted
+ * against the token's subject, the others against the remote address. Each endpoint group has its own budget of
+ * {@code capacity} requests per {@code period}; responses carry the {@code RateLimit-*} headers and a refused
+ * request gets a 429 with {@code Retry-After}. Budgets are per instance.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointGroup {
+        READS, WRITES, UPLOADS, AUTH
+    }
+
+    @Value("${rate-limit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rate-limit.reads.capacity:600}")
+    private int readsCapacity;
+
+    @Value("${rate-limit.reads.period:1m}")
+    private Duration readsPeriod;
+
+    @Value("${rate-limit.writes.capacity:120}")
+    private int writesCapacity;
+
+    @Value("${rate-limit.writes.period:1m}")
+    private Duration writesPeriod;
+
+    @Value("${rate-limit.uploads.capacity:30}")
+    private int uploadsCapacity;
+
+    @Value("${rate-limit.uploads.period:1m}")
+    private Duration uploadsPeriod;
+
+    @Value("${rate-limit.auth.capacity:20}")
+    private int authCapacity;
+
+    @Value("${rate-limit.auth.period:1m}")
+    private Duration authPeriod;
+
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limit.eviction-interval:1m}")
+    private Duration evictionInterval;
+
+    private final Map<EndpointGroup, RateLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+
+    private ScheduledExecutorService evicter;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        limiters.put(EndpointGroup.READS, new RateLimiter(readsCapacity, readsPeriod, maxKeys));
+        limiters.put(EndpointGroup.WRITES, new RateLimiter(writesCapacity, writesPeriod, maxKeys));
+        limiters.put(EndpointGroup.UPLOADS, new RateLimiter(uploadsCapacity, uploadsPeriod, maxKeys));
+        limiters.put(EndpointGroup.AUTH, new RateLimiter(authCapacity, authPeriod, maxKeys));
+        evicter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-evicter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evicter.scheduleWithFixedDelay(() -> limiters.values().forEach(RateLimiter::evictExpired),
+                evictionInterval.toMillis(), evictionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (evicter != null) evicter.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        RateLimiter.Decision decision = limiters.get(group(request)).tryAcquire(clientKey(request));
+
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(seconds(decision.resetNanos())));
+
+        if (!decision.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(seconds(decision.retryAfterNanos())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"errors\":{\"error\":\"Limite de requisições excedido, tente novamente em instantes\"}}");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    static EndpointGroup group(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.startsWith("/api/auth/")) return EndpointGroup.AUTH;
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) return EndpointGroup.READS;
+        if (path.equals("/api/files") || path.startsWith("/api/files/")) return EndpointGroup.UPLOADS;
+        return EndpointGroup.WRITES;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(0, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+}
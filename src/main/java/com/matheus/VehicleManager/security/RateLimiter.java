@@ -0,0 +1,80 @@
+package com.matheus.VehicleManager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per client, without locks. Each bucket is a single atomic timestamp (the generic cell rate
+ * algorithm): the instant at which it would be full again. Taking a token advances it by {@code period / capacity}
+ * with a compare-and-set, and is refused when that would put it more than a period ahead. Buckets live in a
+ * Caffeine cache whose map stripes the clients, so distinct clients never contend.
+ * <p>
+ * Every client gets its own bucket. A bucket that has refilled holds no information and is dropped by
+ * {@link #evictExpired()} or once it has been idle for a period. The cache keeps at most {@code maxKeys} buckets;
+ * past that it evicts by frequency, so a flood of one-off clients displaces each other rather than the buckets of
+ * clients that keep sending, and an evicted client simply starts again from a full bucket.
+ */
+public class RateLimiter {
+
+    private final int capacity;
+    private final long periodNanos;
+    private final long intervalNanos;
+    private final LongSupplier clock;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public record Decision(boolean allowed, int limit, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    public RateLimiter(int capacity, Duration period, int maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, Duration period, int maxKeys, LongSupplier clock) {
+        this.capacity = capacity;
+        this.periodNanos = period.toNanos();
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(period)
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    public Decision tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key, ignored -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long base = fullAt - now > 0 ? fullAt : now;
+            long next = base + intervalNanos;
+            long allowAt = next - periodNanos;
+            if (allowAt - now > 0) {
+                return new Decision(false, capacity, 0, base - now, allowAt - now);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return new Decision(true, capacity, (periodNanos - (next - now)) / intervalNanos, next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled. A request racing with the removal may take its token from the dropped
+     * bucket, letting that client one request past its budget at most.
+     */
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        buckets.asMap().values().removeIf(bucket -> bucket.get() - now <= 0);
+        buckets.cleanUp();
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
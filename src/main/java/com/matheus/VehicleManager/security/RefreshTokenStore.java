@@ -0,0 +1,179 @@
+package com.matheus.VehicleManager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.matheus.VehicleManager.model.RefreshToken;
+import com.matheus.VehicleManager.repository.RefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opaque, rotating refresh tokens. Each refresh hands out a new token and marks the presented one used, so renewing
+ * an access token costs an indexed lookup and two small writes instead of a password hash. A used token presented
+ * again means it leaked: its whole family is revoked and the holder has to log in again.
+ * <p>
+ * Only the SHA-256 of each token is stored. Lookups go through a Caffeine front; the conditional update that marks
+ * a token used stays the source of truth, so a front entry that is stale on this instance can only lead to a
+ * rejection, never to a second rotation.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Value("${security.jwt.refresh-token.ttl:14d}")
+    private Duration ttl = Duration.ofDays(14);
+
+    @Value("${security.jwt.refresh-token.cache-size:10000}")
+    private long cacheSize = 10_000;
+
+    @Value("${security.jwt.refresh-token.purge-interval:1h}")
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    @Value("${security.jwt.refresh-token.purge-batch-size:1000}")
+    private int purgeBatchSize = 1000;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private Cache<String, RefreshToken> tokens;
+
+    private ScheduledExecutorService purger;
+
+    public record Rotation(String username, String refreshToken) {
+    }
+
+    @PostConstruct
+    public void start() {
+        tokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-token-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purger != null) purger.shutdownNow();
+    }
+
+    /**
+     * Starts a new family, on login.
+     */
+    public String issue(String username) {
+        return issue(UUID.randomUUID().toString(), username);
+    }
+
+    /**
+     * Exchanges the token for a new one of the same family; {@code null} when it is unknown, expired or was already
+     * used, the last revoking the family.
+     */
+    public Rotation rotate(String presented) {
+        RefreshToken token = find(hash(presented));
+        Instant now = Instant.now();
+        if (token == null || !token.getExpiresAt().isAfter(now)) return null;
+
+        if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            logger.warn("Refresh token reused for user {}, revoking its family", token.getUsername());
+            revokeFamily(token.getFamilyId());
+            return null;
+        }
+        token.setUsedAt(now);
+
+        return new Rotation(token.getUsername(), issue(token.getFamilyId(), token.getUsername()));
+    }
+
+    /**
+     * Revokes the family of the token, on logout.
+     */
+    public void revoke(String presented) {
+        RefreshToken token = find(hash(presented));
+        if (token != null) revokeFamily(token.getFamilyId());
+    }
+
+    public void revokeUser(String username) {
+        tokens.invalidateAll(refreshTokenRepository.findHashesByUsername(username));
+        refreshTokenRepository.deleteByUsername(username);
+    }
+
+    /**
+     * Deletes expired rows in batches, so a large backlog never holds one long transaction.
+     */
+    void purgeExpired() {
+        Instant now = Instant.now();
+        long purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+                purged += deleted;
+            } while (deleted == purgeBatchSize);
+            if (purged > 0) logger.info("Purged {} expired refresh tokens", purged);
+        } catch (RuntimeException e) {
+            logger.warn("Could not purge expired refresh tokens after {} rows", purged, e);
+        }
+    }
+
+    /**
+     * Queried outside of Caffeine's compute, which would hold a monitor, and pin a virtual thread, during the query.
+     */
+    private RefreshToken find(String hash) {
+        RefreshToken token = tokens.getIfPresent(hash);
+        if (token == null) {
+            token = refreshTokenRepository.findByTokenHash(hash);
+            if (token != null) tokens.put(hash, token);
+        }
+        return token;
+    }
+
+    private String issue(String familyId, String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String value = ENCODER.encodeToString(bytes);
+
+        RefreshToken token = refreshTokenRepository.save(
+                new RefreshToken(hash(value), familyId, username, Instant.now().plus(ttl)));
+        tokens.put(token.getTokenHash(), token);
+        return value;
+    }
+
+    private void revokeFamily(String familyId) {
+        tokens.invalidateAll(refreshTokenRepository.findHashesByFamilyId(familyId));
+        refreshTokenRepository.deleteByFamilyId(familyId);
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
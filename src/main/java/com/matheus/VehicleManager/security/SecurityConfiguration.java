@@ -14,6 +14,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -24,18 +25,24 @@ public class SecurityConfiguration {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
     public static final String [] ENDPOINTS_WITH_AUTHENTICATION_NOT_REQUIRED = {
             "/auth/login",
-            "/documents/**"
+            "/api/auth/logout",
+            "/documents/**",
+            "/actuator/health"
     };
 
     public static final String [] ENDPOINTS_WITH_AUTHENTICATION_REQUIRED = {
             "/auth/refresh",
             "/api/vehicles",
             "/api/vehicles/**",
+            "/api/reactive/**",
             "/api/clients",
             "/api/clients/**",
             "/api/financings/**",
@@ -47,7 +54,10 @@ public class SecurityConfiguration {
     };
 
     public static final String [] ENDPOINTS_ADMIN = {
-            "/auth/register"
+            "/auth/register",
+            "/api/auth/revoke/**",
+            "/api/admin/**",
+            "/actuator/**"
     };
 
     @Bean
@@ -64,7 +74,10 @@ public class SecurityConfiguration {
                     .anyRequest().permitAll()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            // Where JwtAuthenticationFilter keeps the authentication for async dispatches
+            .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
 
         return http.build();
@@ -0,0 +1,145 @@
+package com.matheus.VehicleManager.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.matheus.VehicleManager.model.RevokedToken;
+import com.matheus.VehicleManager.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked tokens and users, checked on every authenticated request without touching the database: the table is
+ * read into an in-memory snapshot that is reloaded every {@code security.jwt.blocklist.refresh-interval}, which is
+ * how long a revocation made on another instance takes to apply here. Revocations made on this instance apply at
+ * once.
+ */
+@Component
+public class TokenBlocklist {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlocklist.class);
+
+    // Rows revoking a whole user outlive any access token, including the day-long ones issued before tokens were
+    // made short-lived
+    private static final Duration USER_REVOCATION_TTL = Duration.ofDays(1);
+
+    @Value("${security.jwt.blocklist.refresh-interval:30s}")
+    private Duration refreshInterval;
+
+    @Value("${security.jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private record Snapshot(Set<String> tokenIds, Map<String, Instant> users) {
+        static final Snapshot EMPTY = new Snapshot(Set.of(), Map.of());
+    }
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Revocations made here, kept until they expire so a reload that read the table before them cannot drop them
+    private final Map<String, Instant> localTokens = new ConcurrentHashMap<>();
+    private final Map<String, RevokedToken> localUsers = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    public void start() {
+        refresh();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-blocklist-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) refresher.shutdownNow();
+    }
+
+    public boolean isRevoked(DecodedJWT jwt) {
+        String tokenId = jwt.getId();
+        Snapshot current = snapshot;
+        if (tokenId != null && (current.tokenIds().contains(tokenId) || localTokens.containsKey(tokenId))) return true;
+
+        Instant revokedAt = current.users().get(jwt.getSubject());
+        RevokedToken local = localUsers.get(jwt.getSubject());
+        if (local != null && (revokedAt == null || local.getRevokedAt().isAfter(revokedAt))) revokedAt = local.getRevokedAt();
+        if (revokedAt == null) return false;
+        // iat only has whole seconds, so a token issued in the second of the revocation cannot be told apart from
+        // one issued just before it and is rejected as well
+        Instant issuedAt = jwt.getIssuedAtAsInstant();
+        return issuedAt == null || !issuedAt.isAfter(revokedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Revokes a single token, as a logout does.
+     */
+    public void revokeToken(DecodedJWT jwt) {
+        if (jwt.getId() == null) {
+            // Tokens issued before they carried an id can only be revoked along with the rest of the user's
+            revokeUser(jwt.getSubject());
+            return;
+        }
+        Instant expiresAt = jwt.getExpiresAtAsInstant() != null
+                ? jwt.getExpiresAtAsInstant() : Instant.now().plus(accessTokenTtl);
+        revokedTokenRepository.save(new RevokedToken(jwt.getId(), jwt.getSubject(), Instant.now(), expiresAt));
+        localTokens.put(jwt.getId(), expiresAt);
+    }
+
+    /**
+     * Revokes every token issued to the user so far, e.g. after a password or role change.
+     */
+    public void revokeUser(String username) {
+        Instant now = Instant.now();
+        RevokedToken revoked = revokedTokenRepository.save(
+                new RevokedToken(null, username, now, now.plus(max(accessTokenTtl, USER_REVOCATION_TTL))));
+        localUsers.put(username, revoked);
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    void refresh() {
+        Instant now = Instant.now();
+        try {
+            revokedTokenRepository.deleteExpired(now);
+            List<RevokedToken> revoked = revokedTokenRepository.findByExpiresAtAfter(now);
+
+            Set<String> tokenIds = new HashSet<>();
+            Map<String, Instant> users = new HashMap<>();
+            for (RevokedToken token : revoked) {
+                if (token.getTokenId() != null) {
+                    tokenIds.add(token.getTokenId());
+                } else {
+                    users.merge(token.getUsername(), token.getRevokedAt(), (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+            snapshot = new Snapshot(Set.copyOf(tokenIds), Map.copyOf(users));
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload the token blocklist, keeping the previous one", e);
+        }
+        localTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        localUsers.values().removeIf(revoked -> !revoked.getExpiresAt().isAfter(now));
+    }
+}
@@ -15,9 +15,14 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UniquenessService uniquenessService;
+
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        uniquenessService.markTaken(UniquenessService.Field.USERNAME, savedUser.getUsername());
+        return savedUser;
     }
 
 }
@@ -1,14 +1,18 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
+import com.matheus.VehicleManager.cache.ClientEviction;
+import com.matheus.VehicleManager.dto.ClientResponseDTO;
 import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.pagination.ApproximateCounter;
 import com.matheus.VehicleManager.repository.ClientRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,45 +23,74 @@ public class ClientService {
     @Autowired
     private ClientRepository clientRepository;
 
-    @Cacheable(value = "clients", key = "'page-' + #page + '-size-' + #size")
-    public Page<Client> findAll(int page, int size) {
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private ApproximateCounter approximateCounter;
+
+    @Autowired
+    private UniquenessService uniquenessService;
+
+    @Cacheable(value = "clients", keyGenerator = "pageKeyGenerator", sync = true)
+    public Page<ClientResponseDTO> findAll(int page, int size) {
+        Pageable paging = PageRequest.of(page, size);
+        return clientRepository.findAll(paging).map(ClientResponseDTO::of);
+    }
+
+    @Cacheable(value = "clients", keyGenerator = "slicePageKeyGenerator", sync = true)
+    public Slice<ClientResponseDTO> findAllSlice(int page, int size) {
         Pageable paging = PageRequest.of(page, size);
-        return clientRepository.findAll(paging);
+        return clientRepository.findAllBy(paging).map(ClientResponseDTO::of);
+    }
+
+    public long approximateCount() {
+        return approximateCounter.count("clients", "client", clientRepository::count);
     }
 
-    @Cacheable(value = "clients", key = "'query-' + #query")
-    public List<Client> search(String query) {
-        return clientRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrPhoneContaining(query, query, query);
+    @Cacheable(value = "clients", keyGenerator = "queryKeyGenerator", sync = true)
+    public List<ClientResponseDTO> search(String query) {
+        return clientRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrPhoneContaining(query, query, query)
+                .stream().map(ClientResponseDTO::of).toList();
     }
 
-    @Cacheable(value = "clients", key = "'email-' + #email")
-    public Client findByEmail(String email) {
+    @Cacheable(value = "clients", keyGenerator = "emailKeyGenerator", sync = true)
+    public ClientResponseDTO findByEmail(String email) {
         return clientRepository.findByEmail(email)
+                .map(ClientResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Client with email " + email + " not found"));
     }
 
-    @Cacheable(value = "clients", key = "'id-' + #clientId")
-    public Client getById(Long clientId) {
+    @Cacheable(value = "clients", keyGenerator = "idKeyGenerator", sync = true)
+    public ClientResponseDTO getById(Long clientId) {
         return clientRepository.findById(clientId)
+                .map(ClientResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Client with id " + clientId + " not found"));
     }
 
-    @CacheEvict(value = "clients", allEntries = true)
     public Client create(Client client) {
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        uniquenessService.markTaken(UniquenessService.Field.EMAIL, savedClient.getEmail());
+        evictClient(savedClient, true);
+        return savedClient;
     }
 
-    @CacheEvict(value = "clients", allEntries = true)
-
     public Client update(Client client) {
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        uniquenessService.markTaken(UniquenessService.Field.EMAIL, savedClient.getEmail());
+        evictClient(savedClient, false);
+        return savedClient;
     }
 
-    @CacheEvict(value = "clients", allEntries = true)
     public void delete(Long clientId) {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new EntityNotFoundException("Client with id " + clientId + " not found"));
         clientRepository.delete(client);
+        evictClient(client, true);
+    }
+
+    private void evictClient(Client client, boolean rowsChanged) {
+        cacheInvalidator.invalidate(ClientEviction.of(client, rowsChanged));
     }
 
 }
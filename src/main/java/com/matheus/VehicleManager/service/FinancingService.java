@@ -1,25 +1,29 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
 import com.matheus.VehicleManager.dto.FinancingRequestDTO;
+import com.matheus.VehicleManager.dto.FinancingResponseDTO;
 import com.matheus.VehicleManager.enums.FinancingStatus;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.exception.InvalidRequestException;
 import com.matheus.VehicleManager.model.Client;
 import com.matheus.VehicleManager.model.Financing;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.ApproximateCounter;
 import com.matheus.VehicleManager.repository.ClientRepository;
 import com.matheus.VehicleManager.repository.FinancingRepository;
 import com.matheus.VehicleManager.repository.VehicleRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -30,31 +34,51 @@ public class FinancingService {
     @Autowired
     private FinancingRepository financingRepository;
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private ApproximateCounter approximateCounter;
+
+    @Autowired
+    private VehicleService vehicleService;
+
     @Autowired
     private VehicleRepository vehicleRepository;
 
     @Autowired
     private ClientRepository clientRepository;
 
-    @Cacheable(value = "financings", key = "'page-' + #page + '-size-' + #size")
-    public Page<Financing> getAll(int page, int size) {
+    @Cacheable(value = "financings", keyGenerator = "pageKeyGenerator", sync = true)
+    public Page<FinancingResponseDTO> getAll(int page, int size) {
         Pageable paging = PageRequest.of(page, size);
-        return financingRepository.findAll(paging);
+        return financingRepository.findAll(paging).map(FinancingResponseDTO::of);
+    }
+
+    @Cacheable(value = "financings", keyGenerator = "slicePageKeyGenerator", sync = true)
+    public Slice<FinancingResponseDTO> getAllSlice(int page, int size) {
+        Pageable paging = PageRequest.of(page, size);
+        return financingRepository.findAllBy(paging).map(FinancingResponseDTO::of);
+    }
+
+    public long approximateCount() {
+        return approximateCounter.count("financings", "financing", financingRepository::count);
     }
 
-    @Cacheable(value = "financings", key = "'id-' + #financingId")
-    public Financing getById(Long financingId) {
+    @Cacheable(value = "financings", keyGenerator = "idKeyGenerator", sync = true)
+    public FinancingResponseDTO getById(Long financingId) {
         return financingRepository.findById(financingId)
+                .map(FinancingResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Financing with id " + financingId + " not found"));
     }
 
-    @Cacheable(value = "financings", key = "'vehicle-' + #vehicleId")
-    public Financing getByVehicleIdNotCanceled(Long vehicleId) {
+    @Cacheable(value = "financings", keyGenerator = "vehicleKeyGenerator", sync = true)
+    public FinancingResponseDTO getByVehicleIdNotCanceled(Long vehicleId) {
         return financingRepository.findActiveByVehicleId(vehicleId)
+                .map(FinancingResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Financing with vehicle id " + vehicleId + " not found"));
     }
 
-    @CacheEvict(value = "financings", allEntries = true)
     @Transactional
     public Financing create(FinancingRequestDTO financingRequestDTO) {
         Client client = clientRepository.findById(financingRequestDTO.getClient()).orElse(null);
@@ -68,8 +92,7 @@ public class FinancingService {
 
         if (!errors.isEmpty()) throw new InvalidRequestException(errors);
 
-        vehicle.setVehicleStatus(VehicleStatus.SOLD);
-        vehicleRepository.save(vehicle);
+        vehicleService.transitionStatus(vehicle.getId(), EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
 
         Financing financing = new Financing();
         financing.setClient(client);
@@ -82,10 +105,11 @@ public class FinancingService {
         financing.setContractDate(financingRequestDTO.getContractDate());
         financing.setFirstInstallmentDate(financingRequestDTO.getFirstInstallmentDate());
 
-        return financingRepository.save(financing);
+        Financing savedFinancing = financingRepository.save(financing);
+        evictFinancing(savedFinancing, null, true);
+        return savedFinancing;
     }
 
-    @CacheEvict(value = "financings", allEntries = true)
     @Transactional
     public Financing update(Long financingId, FinancingRequestDTO financingRequestDTO) {
         Client client = clientRepository.findById(financingRequestDTO.getClient()).orElse(null);
@@ -94,21 +118,24 @@ public class FinancingService {
 
         Map<String, String> errors = new HashMap<>();
 
+        boolean vehicleChanged = vehicle != null && !financing.getVehicle().getId().equals(vehicle.getId());
         if (client == null) errors.put("client", "Cliente não encontrado");
         if (vehicle == null) errors.put("vehicle", "Veículo não encontrado");
-        else if (!financing.getVehicle().getId().equals(vehicle.getId())) {
-            if (vehicle.getVehicleStatus() != VehicleStatus.AVAILABLE) {
-                errors.put("vehicle", "Veículo não disponível");
-            } else {
-                Vehicle currentVehicle = financing.getVehicle();
-                currentVehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
-                vehicleRepository.save(currentVehicle);
-            }
+        else if (vehicleChanged && vehicle.getVehicleStatus() != VehicleStatus.AVAILABLE) {
+            errors.put("vehicle", "Veículo não disponível");
         }
         if (!financing.getStatus().equals(FinancingStatus.DRAFT)) errors.put("financing", "Financiamento não pode ser alterado após fase de acolhimento");
 
         if (!errors.isEmpty()) throw new InvalidRequestException(errors);
 
+        // A financing that is not canceled holds its vehicle as sold
+        VehicleStatus expectedStatus = vehicleChanged ? VehicleStatus.AVAILABLE : VehicleStatus.SOLD;
+        Long previousVehicleId = financing.getVehicle().getId();
+        if (vehicleChanged) {
+            Vehicle currentVehicle = financing.getVehicle();
+            vehicleService.transitionStatus(currentVehicle.getId(), EnumSet.of(VehicleStatus.SOLD), VehicleStatus.AVAILABLE);
+        }
+
         financing.setClient(client);
         financing.setVehicle(vehicle);
         financing.setTotalAmount(financingRequestDTO.getTotalAmount());
@@ -119,10 +146,10 @@ public class FinancingService {
         financing.setContractDate(financingRequestDTO.getContractDate());
         financing.setFirstInstallmentDate(financingRequestDTO.getFirstInstallmentDate());
 
-        financingRepository.save(financing);
+        vehicleService.transitionStatus(vehicle.getId(), EnumSet.of(expectedStatus), VehicleStatus.SOLD);
 
-        vehicle.setVehicleStatus(VehicleStatus.SOLD);
-        vehicleRepository.save(vehicle);
+        financingRepository.save(financing);
+        evictFinancing(financing, previousVehicleId, false);
 
         return financing;
     }
@@ -138,14 +165,18 @@ public class FinancingService {
 
         if (!errors.isEmpty()) throw new InvalidRequestException(errors);
 
+        if (status.equals(FinancingStatus.CANCELED) && !financing.getStatus().equals(FinancingStatus.CANCELED)) {
+            Vehicle vehicle = financing.getVehicle();
+            vehicleService.transitionStatus(vehicle.getId(), EnumSet.of(VehicleStatus.SOLD), VehicleStatus.AVAILABLE);
+        }
+
         financing.setStatus(status);
         financingRepository.save(financing);
+        evictFinancing(financing, null, false);
+    }
 
-        if (financing.getStatus().equals(FinancingStatus.CANCELED)) {
-            Vehicle vehicle = financing.getVehicle();
-            vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
-            vehicleRepository.save(vehicle);
-        }
+    private void evictFinancing(Financing financing, Long previousVehicleId, boolean rowsChanged) {
+        cacheInvalidator.evictEntity("financings", financing.getId(), rowsChanged, "vehicle-" + financing.getVehicle().getId(), "vehicle-" + previousVehicleId);
     }
 
     private boolean isValidStatusTransition(FinancingStatus oldStatus, FinancingStatus newStatus) {
@@ -1,5 +1,6 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.VehicleCacheInvalidator;
 import com.matheus.VehicleManager.enums.FileType;
 import com.matheus.VehicleManager.model.FileStore;
 import com.matheus.VehicleManager.model.Vehicle;
@@ -26,6 +27,9 @@ public class LocalFileService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private VehicleCacheInvalidator vehicleCacheInvalidator;
+
     public List<FileStore> getAll() {
         return fileRepository.findAll();
     }
@@ -51,6 +55,8 @@ public class LocalFileService {
 
             fileRepository.save(imageEntity);
         }
+
+        refreshCoverImage(vehicle.get());
     }
 
     public void update(Long vehicleId, MultipartFile[] images, List<Long> selectedImageIds) throws IOException {
@@ -78,6 +84,17 @@ public class LocalFileService {
                 if (fileStore.getVehicle().getId().equals(vehicleId)) fileRepository.deleteById(imageId);
             }
         }
+
+        refreshCoverImage(vehicle.get());
+    }
+
+    private void refreshCoverImage(Vehicle vehicle) {
+        String coverImagePath = fileRepository.findFirstByVehicleIdAndTypeOrderByIdAsc(vehicle.getId(), FileType.IMAGE)
+                .map(FileStore::getPath)
+                .orElse(null);
+        vehicleRepository.updateCoverImagePath(vehicle.getId(), coverImagePath);
+        vehicle.setCoverImagePath(coverImagePath);
+        vehicleCacheInvalidator.onImagesChanged(vehicle.getId());
     }
 
 }
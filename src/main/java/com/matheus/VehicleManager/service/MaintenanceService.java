@@ -1,22 +1,26 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
+import com.matheus.VehicleManager.dto.MaintenanceResponseDTO;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.exception.InvalidRequestException;
 import com.matheus.VehicleManager.model.Maintenance;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.ApproximateCounter;
 import com.matheus.VehicleManager.repository.MaintenanceRepository;
 import com.matheus.VehicleManager.repository.VehicleRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,27 +31,46 @@ public class MaintenanceService {
     @Autowired
     private MaintenanceRepository maintenanceRepository;
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private ApproximateCounter approximateCounter;
+
+    @Autowired
+    private VehicleService vehicleService;
+
     @Autowired
     private VehicleRepository vehicleRepository;
 
-    @Cacheable(value = "maintenances", key = "'page-' + #page + '-size-' + #size")
-    public Page<Maintenance> findAll(int page, int size) {
+    @Cacheable(value = "maintenances", keyGenerator = "pageKeyGenerator", sync = true)
+    public Page<MaintenanceResponseDTO> findAll(int page, int size) {
         Pageable paging = PageRequest.of(page, size);
-        return maintenanceRepository.findAll(paging);
+        return maintenanceRepository.findAll(paging).map(MaintenanceResponseDTO::of);
     }
 
-    @Cacheable(value = "maintenances", key = "'vehicle-' + #vehicleId")
-    public List<Maintenance> findAllByVehicleId(Long vehicleId) {
-        return maintenanceRepository.findByVehicleIdOrderByIdDesc(vehicleId);
+    @Cacheable(value = "maintenances", keyGenerator = "slicePageKeyGenerator", sync = true)
+    public Slice<MaintenanceResponseDTO> findAllSlice(int page, int size) {
+        Pageable paging = PageRequest.of(page, size);
+        return maintenanceRepository.findAllBy(paging).map(MaintenanceResponseDTO::of);
     }
 
-    @Cacheable(value = "maintenances", key = "'id-' + #maintenanceId")
-    public Maintenance findById(Long maintenanceId) {
+    public long approximateCount() {
+        return approximateCounter.count("maintenances", "maintenance", maintenanceRepository::count);
+    }
+
+    @Cacheable(value = "maintenances", keyGenerator = "vehicleKeyGenerator", sync = true)
+    public List<MaintenanceResponseDTO> findAllByVehicleId(Long vehicleId) {
+        return maintenanceRepository.findByVehicleIdOrderByIdDesc(vehicleId).stream().map(MaintenanceResponseDTO::of).toList();
+    }
+
+    @Cacheable(value = "maintenances", keyGenerator = "idKeyGenerator", sync = true)
+    public MaintenanceResponseDTO findById(Long maintenanceId) {
         return maintenanceRepository.findById(maintenanceId)
+                .map(MaintenanceResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Maintenance with id " + maintenanceId + " not found"));
     }
 
-    @CacheEvict(value = "maintenances", allEntries = true)
     @Transactional
     public Maintenance create(Long vehicleId, String additionalInfo) {
         Vehicle vehicle = vehicleRepository.findById(vehicleId).orElse(null);
@@ -58,26 +81,31 @@ public class MaintenanceService {
 
         if (!errors.isEmpty()) throw new InvalidRequestException(errors);
 
-        vehicle.setVehicleStatus(VehicleStatus.MAINTENANCE);
-        vehicleRepository.save(vehicle);
+        vehicleService.transitionStatus(vehicleId, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.MAINTENANCE);
 
         Maintenance maintenance = new Maintenance();
         maintenance.setVehicle(vehicle);
         maintenance.setAdditionalInfo(additionalInfo);
-        return maintenanceRepository.save(maintenance);
+        Maintenance savedMaintenance = maintenanceRepository.save(maintenance);
+        evictMaintenance(savedMaintenance, true);
+        return savedMaintenance;
     }
 
-    @CacheEvict(value = "maintenances", allEntries = true)
     @Transactional
     public void delete(Long maintenanceId) {
         Maintenance maintenance = maintenanceRepository.findById(maintenanceId)
                 .orElseThrow(() -> new EntityNotFoundException("Maintenance with id " + maintenanceId + " not found"));
         Vehicle vehicle = maintenance.getVehicle();
-        vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
-        vehicleRepository.save(vehicle);
+        vehicleService.transitionStatus(vehicle.getId(), EnumSet.of(VehicleStatus.MAINTENANCE), VehicleStatus.AVAILABLE);
 
         maintenance.setEndDate(LocalDate.now());
         maintenanceRepository.save(maintenance);
+        evictMaintenance(maintenance, false);
+    }
+
+    private void evictMaintenance(Maintenance maintenance, boolean rowsChanged) {
+        cacheInvalidator.evictEntity("maintenances", maintenance.getId(), rowsChanged,
+                "vehicle-" + maintenance.getVehicle().getId());
     }
 
 }
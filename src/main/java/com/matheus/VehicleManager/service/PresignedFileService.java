@@ -1,5 +1,6 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.VehicleCacheInvalidator;
 import com.matheus.VehicleManager.dto.PresignedRequestDTO;
 import com.matheus.VehicleManager.enums.FileType;
 import com.matheus.VehicleManager.model.FileStore;
@@ -41,6 +42,9 @@ public class PresignedFileService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private VehicleCacheInvalidator vehicleCacheInvalidator;
+
 
     public List<FileStore> getAll() {
         return fileRepository.findAll();
@@ -69,6 +73,7 @@ public class PresignedFileService {
             fileRepository.save(imageEntity);
         }
 
+        refreshCoverImage(vehicle.get());
         return imagesUploadUrl;
     }
 
@@ -98,9 +103,19 @@ public class PresignedFileService {
             }
         }
 
+        refreshCoverImage(vehicle.get());
         return imagesUploadUrl;
     }
 
+    private void refreshCoverImage(Vehicle vehicle) {
+        String coverImagePath = fileRepository.findFirstByVehicleIdAndTypeOrderByIdAsc(vehicle.getId(), FileType.IMAGE)
+                .map(FileStore::getPath)
+                .orElse(null);
+        vehicleRepository.updateCoverImagePath(vehicle.getId(), coverImagePath);
+        vehicle.setCoverImagePath(coverImagePath);
+        vehicleCacheInvalidator.onImagesChanged(vehicle.getId());
+    }
+
     private Map<String, String> generatePresignedUrl(PresignedRequestDTO presignedRequestDTO) {
         String filename = UUID.randomUUID() + "_" + presignedRequestDTO.filename();
 
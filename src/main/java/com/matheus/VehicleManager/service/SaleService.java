@@ -1,25 +1,29 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
 import com.matheus.VehicleManager.dto.SaleRequestDTO;
+import com.matheus.VehicleManager.dto.SaleResponseDTO;
 import com.matheus.VehicleManager.enums.SalesStatus;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.exception.InvalidRequestException;
 import com.matheus.VehicleManager.model.Client;
 import com.matheus.VehicleManager.model.Sale;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.ApproximateCounter;
 import com.matheus.VehicleManager.repository.ClientRepository;
 import com.matheus.VehicleManager.repository.SaleRepository;
 import com.matheus.VehicleManager.repository.VehicleRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,30 +34,49 @@ public class SaleService {
     @Autowired
     private SaleRepository saleRepository;
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private ApproximateCounter approximateCounter;
+
+    @Autowired
+    private VehicleService vehicleService;
+
     @Autowired
     private VehicleRepository vehicleRepository;
 
     @Autowired
     private ClientRepository clientRepository;
 
-    @Cacheable(value = "sales", key = "'page-' + #page + '-size-' + #size")
-    public Page<Sale> findAll(int page, int size) {
+    @Cacheable(value = "sales", keyGenerator = "pageKeyGenerator", sync = true)
+    public Page<SaleResponseDTO> findAll(int page, int size) {
         Pageable paging = PageRequest.of(page, size);
-        return saleRepository.findAll(paging);
+        return saleRepository.findAll(paging).map(SaleResponseDTO::of);
+    }
+
+    @Cacheable(value = "sales", keyGenerator = "slicePageKeyGenerator", sync = true)
+    public Slice<SaleResponseDTO> findAllSlice(int page, int size) {
+        Pageable paging = PageRequest.of(page, size);
+        return saleRepository.findAllBy(paging).map(SaleResponseDTO::of);
+    }
+
+    public long approximateCount() {
+        return approximateCounter.count("sales", "sale", saleRepository::count);
     }
 
-    @Cacheable(value = "sales", key = "'vehicle-' + #vehicleId")
-    public List<Sale> findAllByVehicleId(Long vehicleId) {
-        return saleRepository.findByVehicleIdOrderByIdDesc(vehicleId);
+    @Cacheable(value = "sales", keyGenerator = "vehicleKeyGenerator", sync = true)
+    public List<SaleResponseDTO> findAllByVehicleId(Long vehicleId) {
+        return saleRepository.findByVehicleIdOrderByIdDesc(vehicleId).stream().map(SaleResponseDTO::of).toList();
     }
 
-    @Cacheable(value = "sales", key = "'id-' + #saleId")
-    public Sale findById(Long saleId) {
+    @Cacheable(value = "sales", keyGenerator = "idKeyGenerator", sync = true)
+    public SaleResponseDTO findById(Long saleId) {
         return saleRepository.findById(saleId)
+                .map(SaleResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Sale with id " + saleId + " not found"));
     }
 
-    @CacheEvict(value = "sales", allEntries = true)
     @Transactional
     public Sale create(SaleRequestDTO saleRequestDTO) {
         Client client = clientRepository.findById(saleRequestDTO.getClient()).orElse(null);
@@ -71,10 +94,11 @@ public class SaleService {
         sale.setClient(client);
         sale.setVehicle(vehicle);
         sale.setStatus(saleRequestDTO.getStatus());
-        return saveSale(sale);
+        Sale savedSale = saveSale(sale, VehicleStatus.AVAILABLE);
+        evictSale(savedSale, null, true);
+        return savedSale;
     }
 
-    @CacheEvict(value = "sales", allEntries = true)
     @Transactional
     public Sale update(Long saleId, SaleRequestDTO saleRequestDTO) {
         Map<String, String> errors = new HashMap<>();
@@ -90,38 +114,55 @@ public class SaleService {
             errors.put("saleStatus", "Transição de status inválida: " + sale.getStatus() + " -> " + saleRequestDTO.getStatus());
         }
 
-        if (vehicle != null && sale != null && !sale.getVehicle().getId().equals(vehicle.getId())) {
-            if (vehicle.getVehicleStatus() != VehicleStatus.AVAILABLE) {
-                errors.put("vehicle", "Veículo não disponível");
-            } else {
-                Vehicle currentVehicle = sale.getVehicle();
-                currentVehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
-                vehicleRepository.save(currentVehicle);
-            }
+        boolean vehicleChanged = vehicle != null && sale != null && !sale.getVehicle().getId().equals(vehicle.getId());
+        if (vehicleChanged && vehicle.getVehicleStatus() != VehicleStatus.AVAILABLE) {
+            errors.put("vehicle", "Veículo não disponível");
         }
 
         if (!errors.isEmpty()) throw new InvalidRequestException(errors);
 
+        // A canceled sale no longer holds its vehicle, which may have been sold or reserved again since
+        boolean heldVehicle = sale.getStatus() != SalesStatus.CANCELED;
+        VehicleStatus heldStatus = vehicleStatus(sale.getStatus());
+        Long previousVehicleId = sale.getVehicle().getId();
+        if (vehicleChanged && heldVehicle) {
+            Vehicle currentVehicle = sale.getVehicle();
+            vehicleService.transitionStatus(currentVehicle.getId(), EnumSet.of(heldStatus), VehicleStatus.AVAILABLE);
+        }
+
         sale.setClient(client);
         sale.setVehicle(vehicle);
         sale.setStatus(saleRequestDTO.getStatus());
 
-        return saveSale(sale);
+        if (!vehicleChanged && !heldVehicle) {
+            // Canceled before and after: the vehicle is not this sale's to change
+            Sale savedSale = saleRepository.save(sale);
+            evictSale(savedSale, previousVehicleId, false);
+            return savedSale;
+        }
+
+        Sale savedSale = saveSale(sale, vehicleChanged ? VehicleStatus.AVAILABLE : heldStatus);
+        evictSale(savedSale, previousVehicleId, false);
+        return savedSale;
     }
 
-    private Sale saveSale(Sale sale) {
+    private Sale saveSale(Sale sale, VehicleStatus expectedStatus) {
         Vehicle vehicle = sale.getVehicle();
-        if (sale.getStatus() == SalesStatus.SOLD) {
-            vehicle.setVehicleStatus(VehicleStatus.SOLD);
-        } else if (sale.getStatus() == SalesStatus.RESERVED) {
-            vehicle.setVehicleStatus(VehicleStatus.RESERVED);
-        } else {
-            vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
-        }
-        vehicleRepository.save(vehicle);
+        VehicleStatus status = vehicleStatus(sale.getStatus());
+        vehicleService.transitionStatus(vehicle.getId(), EnumSet.of(expectedStatus), status);
         return saleRepository.save(sale);
     }
 
+    private static VehicleStatus vehicleStatus(SalesStatus status) {
+        if (status == SalesStatus.SOLD) return VehicleStatus.SOLD;
+        if (status == SalesStatus.RESERVED) return VehicleStatus.RESERVED;
+        return VehicleStatus.AVAILABLE;
+    }
+
+    private void evictSale(Sale sale, Long previousVehicleId, boolean rowsChanged) {
+        cacheInvalidator.evictEntity("sales", sale.getId(), rowsChanged, "vehicle-" + sale.getVehicle().getId(), "vehicle-" + previousVehicleId);
+    }
+
     private boolean isValidStatusTransition(SalesStatus oldStatus, SalesStatus newStatus) {
         if (oldStatus == newStatus) return true;
         return (oldStatus == SalesStatus.RESERVED && (newStatus == SalesStatus.SOLD || newStatus == SalesStatus.CANCELED)) ||
@@ -0,0 +1,141 @@
+package com.matheus.VehicleManager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.matheus.VehicleManager.cache.BloomFilter;
+import com.matheus.VehicleManager.repository.ClientRepository;
+import com.matheus.VehicleManager.repository.UserRepository;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Uniqueness checks for the validators. A value is looked up in the database with an exists query only when
+ * neither an optional Bloom filter of the values in use, nor an optional short-lived cache of values recently found
+ * free, can tell it is free. Writes mark their values as taken, dropping them from the cache of free values.
+ * <p>
+ * Both only know the writes made through this instance, so both are off by default: the free-value cache is kept
+ * for {@code uniqueness.negative-ttl} when that is set, the Bloom filter is meant for single-instance deployments.
+ * A value another instance takes in the meantime fails on the unique column instead, which
+ * {@code GlobalExceptionHandler} answers with the validator's message.
+ */
+@Service
+public class UniquenessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniquenessService.class);
+
+    public enum Field { CHASSI, EMAIL, USERNAME }
+
+    @Value("${uniqueness.bloom-filter.enabled:false}")
+    private boolean bloomFilterEnabled;
+
+    @Value("${uniqueness.bloom-filter.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${uniqueness.bloom-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${uniqueness.negative-ttl:0s}")
+    private Duration negativeTtl;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Field, BloomFilter> bloomFilters = new EnumMap<>(Field.class);
+
+    private volatile boolean bloomFiltersLoaded;
+
+    private Cache<String, Boolean> freeValues;
+
+    @PostConstruct
+    public void init() {
+        if (!negativeTtl.isZero()) {
+            freeValues = Caffeine.newBuilder()
+                    .maximumSize(10_000)
+                    .expireAfterWrite(negativeTtl)
+                    .build();
+        }
+        if (bloomFilterEnabled) {
+            for (Field field : Field.values()) {
+                bloomFilters.put(field, new BloomFilter(expectedInsertions, falsePositiveRate));
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBloomFilters() {
+        if (!bloomFilterEnabled) return;
+        load(Field.CHASSI, vehicleRepository::findAllChassis);
+        load(Field.EMAIL, clientRepository::findAllEmails);
+        load(Field.USERNAME, userRepository::findAllUsernames);
+        bloomFiltersLoaded = true;
+    }
+
+    private void load(Field field, Supplier<List<String>> values) {
+        List<String> existing = values.get();
+        BloomFilter bloomFilter = bloomFilters.get(field);
+        existing.forEach(bloomFilter::add);
+        logger.info("Loaded {} {} values into the uniqueness Bloom filter", existing.size(), field);
+    }
+
+    public boolean isChassiTaken(String chassi, Long excludedVehicleId) {
+        return isTaken(Field.CHASSI, chassi, excludedVehicleId == null
+                ? () -> vehicleRepository.existsByChassi(chassi)
+                : () -> vehicleRepository.existsByChassiAndIdNot(chassi, excludedVehicleId), excludedVehicleId == null);
+    }
+
+    public boolean isEmailTaken(String email, Long excludedClientId) {
+        return isTaken(Field.EMAIL, email, excludedClientId == null
+                ? () -> clientRepository.existsByEmail(email)
+                : () -> clientRepository.existsByEmailAndIdNot(email, excludedClientId), excludedClientId == null);
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return isTaken(Field.USERNAME, username, () -> userRepository.existsByUsername(username), true);
+    }
+
+    /**
+     * Records a value that was just written, so it is no longer reported as free.
+     */
+    public void markTaken(Field field, String value) {
+        if (value == null) return;
+        BloomFilter bloomFilter = bloomFilters.get(field);
+        if (bloomFilter != null) bloomFilter.add(value);
+        if (freeValues != null) freeValues.invalidate(key(field, value));
+    }
+
+    private boolean isTaken(Field field, String value, Supplier<Boolean> existsQuery, boolean cacheFree) {
+        if (bloomFiltersLoaded && !bloomFilters.get(field).mightContain(value)) return false;
+        if (freeValues == null) return existsQuery.get();
+        String key = key(field, value);
+        if (freeValues.getIfPresent(key) != null) return false;
+
+        boolean taken = existsQuery.get();
+        // Free of other rows does not mean free when the excluded row holds it
+        if (!taken && cacheFree) freeValues.put(key, Boolean.TRUE);
+        return taken;
+    }
+
+    private static String key(Field field, String value) {
+        return field.name() + ':' + value;
+    }
+
+}
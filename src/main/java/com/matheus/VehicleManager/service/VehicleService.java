@@ -1,26 +1,43 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.VehicleCacheInvalidator;
+import com.matheus.VehicleManager.cache.VehicleListingState;
+import com.matheus.VehicleManager.catalog.VehicleCatalog;
 import com.matheus.VehicleManager.dto.FileResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleImagesResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleRequestDTO;
-import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
 import com.matheus.VehicleManager.enums.VehicleStatus;
-import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.exception.VehicleUnavailableException;
 import com.matheus.VehicleManager.model.FileStore;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.ApproximateCounter;
+import com.matheus.VehicleManager.pagination.KeysetCursor;
 import com.matheus.VehicleManager.repository.FileRepository;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+import com.matheus.VehicleManager.search.VehicleFilter;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.cache.annotation.CacheEvict;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import jakarta.transaction.Transactional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.matheus.VehicleManager.repository.VehicleRepository;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class VehicleService {
@@ -28,18 +45,34 @@ public class VehicleService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private FileRepository fileRepository;
 
-    @Cacheable(value = "vehicles", key = "'chassi-' + #chassi")
-    public Vehicle findByChassi(String chassi) {
+    @Autowired
+    private VehicleCatalog vehicleCatalog;
+
+    @Autowired
+    private VehicleCacheInvalidator vehicleCacheInvalidator;
+
+    @Autowired
+    private ApproximateCounter approximateCounter;
+
+    @Autowired
+    private UniquenessService uniquenessService;
+
+    @Cacheable(value = "vehicles", keyGenerator = "chassiKeyGenerator", sync = true)
+    public VehicleResponseDTO findByChassi(String chassi) {
         return vehicleRepository.findByChassi(chassi)
+                .map(VehicleResponseDTO::of)
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle with chassi " + chassi + " not found"));
     }
 
-    @Cacheable(value = "vehicles", key = "'id-' + #id")
+    @Cacheable(value = "vehicles", keyGenerator = "idKeyGenerator", sync = true)
     public VehicleImagesResponseDTO getVehicleWithImagesById(Long id) {
-        Vehicle vehicle = vehicleRepository.findById(id)
+        Vehicle vehicle = vehicleRepository.findWithImagesById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle with id " + id + " not found"));
         List<FileStore> images = vehicle.getImages();
         return new VehicleImagesResponseDTO(
@@ -63,53 +96,121 @@ public class VehicleService {
                         image.getId(),
                         image.getPath(),
                         image.getType(),
-                        image.getVehicle().getId()
+                        vehicle.getId()
                 )).toList()
         );
     }
 
     @Cacheable(
         value = "vehicles",
-        key = "'image-0-search-' + #search + '-status-' + #status + '-type-' + #type + '-fuel-' + #fuel + '-priceMin-' + " +
-                "#priceMin + '-priceMax-' + #priceMax + '-page-' + #page + '-size-' + #size"
+        keyGenerator = "vehiclePageKeyGenerator",
+        sync = true
     )
-    public Page<Vehicle> getFilteredVehicles(String search, String status, String type,
+    public Page<VehicleResponseDTO> getFilteredVehicles(String search, String status, String type,
                                                              String fuel, int priceMin, int priceMax, int page, int size) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
         Pageable paging = PageRequest.of(page, size);
-        VehicleStatus statusEnum = (status != null && !status.isEmpty()) ? VehicleStatus.valueOf(status) : null;
-        VehicleType typeEnum = (type != null && !type.isEmpty()) ? VehicleType.valueOf(type) : null;
-        VehicleFuel fuelEnum = (fuel != null && !fuel.isEmpty()) ? VehicleFuel.valueOf(fuel) : null;
-        Integer min = priceMin > 0 ? priceMin : null;
-        Integer max = priceMax > 0 ? priceMax : null;
 
-        Page<Vehicle> vehicles = vehicleRepository.searchVehicles(search, statusEnum, typeEnum, fuelEnum, min, max, paging);
-        return vehicles;
+        Page<Vehicle> vehicles = search(filter, paging, catalogPage -> catalogPage,
+                () -> vehicleRepository.searchVehicles(filter.normalizedSearch(), filter.status(), filter.type(),
+                        filter.fuel(), filter.priceMin(), filter.priceMax(), paging));
+        return vehicles.map(VehicleResponseDTO::of);
     }
 
     @Cacheable(
         value = "vehicle_filtered_with_image",
-        key = "'image-1-search-' + #search + '-status-' + #status + '-type-' + #type + '-fuel-' + #fuel + '-priceMin-' + " +
-                "#priceMin + '-priceMax-' + #priceMax + '-page-' + #page + '-size-' + #size"
+        keyGenerator = "vehicleWithImagePageKeyGenerator",
+        sync = true
     )
     public Page<VehicleImageResponseDTO> getFilteredVehiclesWithOneImage(String search, String status, String type,
                                                                          String fuel, int priceMin, int priceMax, int page, int size) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
+
+        return vehicleRepository.searchVehiclesWithImages(filter.normalizedSearch(), filter.status(), filter.type(),
+                filter.fuel(), filter.priceMin(), filter.priceMax(), PageRequest.of(page, size));
+    }
+
+    @Cacheable(
+        value = "vehicles",
+        keyGenerator = "vehicleSliceKeyGenerator",
+        sync = true
+    )
+    public Slice<VehicleResponseDTO> getFilteredVehiclesSlice(String search, String status, String type,
+                                                   String fuel, int priceMin, int priceMax, int page, int size) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
         Pageable paging = PageRequest.of(page, size);
-        VehicleStatus statusEnum = (status != null && !status.isEmpty()) ? VehicleStatus.valueOf(status) : null;
-        VehicleType typeEnum = (type != null && !type.isEmpty()) ? VehicleType.valueOf(type) : null;
-        VehicleFuel fuelEnum = (fuel != null && !fuel.isEmpty()) ? VehicleFuel.valueOf(fuel) : null;
-        Integer min = priceMin > 0 ? priceMin : null;
-        Integer max = priceMax > 0 ? priceMax : null;
 
-        Page<VehicleImageResponseDTO> vehicles = vehicleRepository.searchVehiclesWithImages(search, statusEnum, typeEnum, fuelEnum, min, max, paging);
-        return vehicles;
+        Slice<Vehicle> vehicles = search(filter, paging, catalogPage -> catalogPage,
+                () -> vehicleRepository.searchVehiclesAfter(filter.normalizedSearch(), filter.status(), filter.type(),
+                        filter.fuel(), filter.priceMin(), filter.priceMax(), null, paging));
+        return vehicles.map(VehicleResponseDTO::of);
+    }
+
+    @Cacheable(
+        value = "vehicle_filtered_with_image",
+        keyGenerator = "vehicleWithImageSliceKeyGenerator",
+        sync = true
+    )
+    public Slice<VehicleImageResponseDTO> getFilteredVehiclesWithOneImageSlice(String search, String status, String type,
+                                                                               String fuel, int priceMin, int priceMax, int page, int size) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
+
+        return vehicleRepository.searchVehiclesWithImagesAfter(filter.normalizedSearch(), filter.status(), filter.type(),
+                filter.fuel(), filter.priceMin(), filter.priceMax(), null, PageRequest.of(page, size));
     }
 
-    @Cacheable(value = "vehicles", key = "'searchFor-' + #searchFor")
-    public List<Vehicle> searchAvailableVehicles(String searchFor) {
-        return vehicleRepository.searchAvailableVehicles(searchFor);
+    public long approximateFilteredCount(String search, String status, String type, String fuel, int priceMin, int priceMax) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
+
+        return search(filter, PageRequest.of(0, 1), Page::getTotalElements,
+                () -> approximateCounter.count("vehicles-" + filter, filter.isEmpty() ? "vehicle" : null,
+                        () -> vehicleRepository.countVehicles(filter.normalizedSearch(), filter.status(), filter.type(),
+                                filter.fuel(), filter.priceMin(), filter.priceMax())));
+    }
+
+    @Cacheable(
+        value = "vehicles",
+        keyGenerator = "vehicleCursorKeyGenerator",
+        sync = true
+    )
+    public Slice<VehicleResponseDTO> getFilteredVehiclesAfter(String search, String status, String type,
+                                                   String fuel, int priceMin, int priceMax, String after, int size) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
+        Long afterId = KeysetCursor.decode(after);
+
+        return vehicleRepository.searchVehiclesAfter(filter.normalizedSearch(), filter.status(), filter.type(),
+                        filter.fuel(), filter.priceMin(), filter.priceMax(), afterId, PageRequest.of(0, size))
+                .map(VehicleResponseDTO::of);
+    }
+
+    @Cacheable(
+        value = "vehicle_filtered_with_image",
+        keyGenerator = "vehicleWithImageCursorKeyGenerator",
+        sync = true
+    )
+    public Slice<VehicleImageResponseDTO> getFilteredVehiclesWithOneImageAfter(String search, String status, String type,
+                                                                               String fuel, int priceMin, int priceMax, String after, int size) {
+        VehicleFilter filter = VehicleFilter.of(search, status, type, fuel, priceMin, priceMax);
+        Long afterId = KeysetCursor.decode(after);
+
+        return vehicleRepository.searchVehiclesWithImagesAfter(filter.normalizedSearch(), filter.status(), filter.type(),
+                filter.fuel(), filter.priceMin(), filter.priceMax(), afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Answers from the in-memory catalog once it is loaded and from the database until then.
+     */
+    private <T> T search(VehicleFilter filter, Pageable paging, Function<Page<Vehicle>, T> fromCatalog,
+                         Supplier<T> fromDatabase) {
+        if (vehicleCatalog.isReady()) return fromCatalog.apply(vehicleCatalog.search(filter, paging));
+        return fromDatabase.get();
+    }
+
+    @Cacheable(value = "vehicles", keyGenerator = "searchForKeyGenerator", sync = true)
+    public List<VehicleResponseDTO> searchAvailableVehicles(String searchFor) {
+        return vehicleRepository.searchAvailableVehicles(SearchNormalizer.normalize(searchFor)).stream().map(VehicleResponseDTO::of).toList();
     }
 
-    @CacheEvict(value = "vehicles", allEntries = true)
     public Vehicle create(VehicleRequestDTO vehicleDto) {
         Vehicle vehicle = new Vehicle();
         vehicle.setVehicleType(vehicleDto.getVehicleType());
@@ -126,12 +227,15 @@ public class VehicleService {
         vehicle.setDoors(vehicleDto.getDoors());
         vehicle.setMotor(vehicleDto.getMotor());
         vehicle.setPower(vehicleDto.getPower());
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        uniquenessService.markTaken(UniquenessService.Field.CHASSI, savedVehicle.getChassi());
+        vehicleCacheInvalidator.onVehicleChanged(null, VehicleListingState.of(savedVehicle));
+        return savedVehicle;
     }
 
-    @CacheEvict(value = "vehicles", allEntries = true)
     public Vehicle update(Long vehicleId, VehicleRequestDTO vehicleDto) {
         Vehicle vehicle = vehicleRepository.getReferenceById(vehicleId);
+        VehicleListingState before = VehicleListingState.of(vehicle);
         vehicle.setVehicleType(vehicleDto.getVehicleType());
         vehicle.setModel(vehicleDto.getModel());
         vehicle.setBrand(vehicleDto.getBrand());
@@ -146,12 +250,45 @@ public class VehicleService {
         vehicle.setDoors(vehicleDto.getDoors());
         vehicle.setMotor(vehicleDto.getMotor());
         vehicle.setPower(vehicleDto.getPower());
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        uniquenessService.markTaken(UniquenessService.Field.CHASSI, savedVehicle.getChassi());
+        vehicleCacheInvalidator.onVehicleChanged(before, VehicleListingState.of(vehicle));
+        return savedVehicle;
+    }
+
+    @Transactional
+    public int updateStatus(Long vehicleId, VehicleStatus status) {
+        int updated = vehicleRepository.updateStatus(vehicleId, status);
+        if (updated > 0) {
+            vehicleCatalog.onStatusChanged(vehicleId, status);
+            vehicleCacheInvalidator.onStatusChanged(vehicleId, EnumSet.allOf(VehicleStatus.class), status);
+        }
+        return updated;
+    }
+
+    /**
+     * Moves the vehicle to {@code to} with a conditional UPDATE of its status column alone. A vehicle already loaded
+     * in the transaction gets the new status too, but read-only: left dirty, the commit would write all of its
+     * columns back with a second UPDATE, over edits made since it was read.
+     */
+    @Transactional
+    public void transitionStatus(Long vehicleId, Set<VehicleStatus> from, VehicleStatus to) {
+        int updated = vehicleRepository.transitionStatus(vehicleId, from, to);
+        if (updated == 0) throw new VehicleUnavailableException("Veículo não está mais disponível para esta operação");
+        Vehicle loaded = entityManager.getReference(Vehicle.class, vehicleId);
+        if (Hibernate.isInitialized(loaded)) {
+            entityManager.unwrap(Session.class).setReadOnly(loaded, true);
+            loaded.setVehicleStatus(to);
+        }
+        vehicleCatalog.onStatusChanged(vehicleId, to);
+        vehicleCacheInvalidator.onStatusChanged(vehicleId, from, to);
     }
 
-    @CacheEvict(value = "vehicles", allEntries = true)
+    @Transactional
     public void delete(Long id) {
+        Optional<Vehicle> vehicle = vehicleRepository.findById(id);
         vehicleRepository.deleteById(id);
+        vehicle.ifPresent(deleted -> vehicleCacheInvalidator.onVehicleChanged(VehicleListingState.of(deleted), null));
     }
 
 }
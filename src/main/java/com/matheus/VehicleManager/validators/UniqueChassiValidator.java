@@ -1,7 +1,7 @@
 package com.matheus.VehicleManager.validators;
 
 import com.matheus.VehicleManager.model.Vehicle;
-import com.matheus.VehicleManager.service.VehicleService;
+import com.matheus.VehicleManager.service.UniquenessService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,30 +9,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class UniqueChassiValidator implements ConstraintValidator<UniqueChassi, Vehicle> {
 
     @Autowired
-    private VehicleService vehicleService;
+    private UniquenessService uniquenessService;
 
     @Override
     public boolean isValid(Vehicle vehicle, ConstraintValidatorContext context) {
+        if (uniquenessService == null) return true;
         if (vehicle == null || vehicle.getChassi() == null || vehicle.getChassi().isBlank()) {
             return true;
         }
 
-        try {
-            Vehicle existingVehicle = vehicleService.findByChassi(vehicle.getChassi());
+        if (!uniquenessService.isChassiTaken(vehicle.getChassi(), vehicle.getId())) return true;
 
-            if (existingVehicle == null) return true;
-
-            if (vehicle.getId() != null && vehicle.getId().equals(existingVehicle.getId())) {
-                return true;
-            }
-
-            context.disableDefaultConstraintViolation();
-            context.buildConstraintViolationWithTemplate("O chassi já está em uso")
-                    .addPropertyNode("chassi")
-                    .addConstraintViolation();
-            return false;
-        } catch (Exception e) {
-            return true;
-        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate("O chassi já está em uso")
+                .addPropertyNode("chassi")
+                .addConstraintViolation();
+        return false;
     }
 }
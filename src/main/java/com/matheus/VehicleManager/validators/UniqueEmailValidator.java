@@ -1,7 +1,7 @@
 package com.matheus.VehicleManager.validators;
 
 import com.matheus.VehicleManager.model.Client;
-import com.matheus.VehicleManager.service.ClientService;
+import com.matheus.VehicleManager.service.UniquenessService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,31 +11,21 @@ import org.springframework.stereotype.Component;
 public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, Client> {
 
     @Autowired
-    private ClientService clientService;
+    private UniquenessService uniquenessService;
 
     @Override
     public boolean isValid(Client client, ConstraintValidatorContext context) {
+        if (uniquenessService == null) return true;
         if (client == null || client.getEmail() == null || client.getEmail().isBlank()) {
             return true;
         }
 
-        try {
-            Client existingClient = clientService.findByEmail(client.getEmail());
+        if (!uniquenessService.isEmailTaken(client.getEmail(), client.getId())) return true;
 
-            if (existingClient == null) return true;
-
-            if (client.getId() != null && client.getId().equals(existingClient.getId())) {
-                return true;
-            }
-
-            context.disableDefaultConstraintViolation();
-            context.buildConstraintViolationWithTemplate("O email já está em uso")
-                    .addPropertyNode("email")
-                    .addConstraintViolation();
-            return false;
-
-        } catch (Exception e) {
-            return true;
-        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate("O email já está em uso")
+                .addPropertyNode("email")
+                .addConstraintViolation();
+        return false;
     }
 }
@@ -1,6 +1,6 @@
 package com.matheus.VehicleManager.validators;
 
-import com.matheus.VehicleManager.repository.UserRepository;
+import com.matheus.VehicleManager.service.UniquenessService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,12 +10,12 @@ import org.springframework.stereotype.Component;
 public class UniqueUsernameValidator implements ConstraintValidator<UniqueUsername, String> {
 
     @Autowired
-    private UserRepository userRepository;
+    private UniquenessService uniquenessService;
 
     @Override
     public boolean isValid(String username, ConstraintValidatorContext context) {
-        if (userRepository == null) return true;
-        return userRepository.findByUsername(username) == null;
+        if (uniquenessService == null || username == null) return true;
+        return !uniquenessService.isUsernameTaken(username);
     }
 
 }
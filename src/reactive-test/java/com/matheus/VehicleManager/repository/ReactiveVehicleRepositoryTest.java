@@ -0,0 +1,55 @@
+package com.matheus.VehicleManager.repository;
+
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveVehicleRepositoryTest {
+
+    @Test
+    @DisplayName("Should only filter on the search term when no other filter is set")
+    void testSelectWithoutFilters() {
+        ReactiveVehicleRepository.Select select =
+                ReactiveVehicleRepository.select("id", null, null, null, null, null, null, null, 20, 10);
+
+        assertEquals("SELECT id FROM vehicle WHERE (normalized_brand LIKE :search OR normalized_model LIKE :search)"
+                + " ORDER BY id LIMIT :limit OFFSET :offset", select.sql());
+        assertEquals(Map.of("search", "%%", "limit", 10, "offset", 20L), select.bindings());
+    }
+
+    @Test
+    @DisplayName("Should add a condition and a binding for each filter that is set, in order")
+    void testSelectWithFilters() {
+        ReactiveVehicleRepository.Select select = ReactiveVehicleRepository.select("id, price", "Fórd", VehicleStatus.AVAILABLE,
+                VehicleType.CAR, VehicleFuel.FLEX, 1000, 5000, null, 0, 10);
+
+        assertEquals("SELECT id, price FROM vehicle WHERE (normalized_brand LIKE :search OR normalized_model LIKE :search)"
+                + " AND vehicle_status = :status AND vehicle_type = :type AND vehicle_fuel = :fuel"
+                + " AND price >= :priceMin AND price <= :priceMax ORDER BY id LIMIT :limit OFFSET :offset", select.sql());
+        assertEquals(List.of("search", "status", "type", "fuel", "priceMin", "priceMax", "limit", "offset"),
+                List.copyOf(select.bindings().keySet()));
+        assertEquals("%ford%", select.bindings().get("search"));
+        assertEquals("AVAILABLE", select.bindings().get("status"));
+        assertEquals("FLEX", select.bindings().get("fuel"));
+    }
+
+    @Test
+    @DisplayName("Should read a keyset page after the given id")
+    void testSelectAfterId() {
+        ReactiveVehicleRepository.Select select =
+                ReactiveVehicleRepository.select("id", "", null, VehicleType.MOTORCYCLE, null, null, null, 42L, 0, 5);
+
+        assertEquals("SELECT id FROM vehicle WHERE (normalized_brand LIKE :search OR normalized_model LIKE :search)"
+                + " AND vehicle_type = :type AND id > :afterId ORDER BY id LIMIT :limit OFFSET :offset", select.sql());
+        assertEquals(42L, select.bindings().get("afterId"));
+        assertEquals(0L, select.bindings().get("offset"));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.matheus.VehicleManager.service;
+
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.repository.ReactiveVehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ReactiveVehicleServiceTest {
+
+    @Mock
+    private ReactiveVehicleRepository reactiveVehicleRepository;
+
+    @InjectMocks
+    private ReactiveVehicleService reactiveVehicleService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(reactiveVehicleRepository.searchVehicles(any(), any(), any(), any(), any(), any(), any(), anyLong(), anyInt()))
+                .thenReturn(Flux.empty());
+    }
+
+    @Test
+    @DisplayName("Should turn the page into an offset and leave the unset filters out")
+    void testPage() {
+        reactiveVehicleService.getFilteredVehicles("ford", "AVAILABLE", "", "", 0, 500, 3, 10, null);
+
+        verify(reactiveVehicleRepository).searchVehicles("ford", VehicleStatus.AVAILABLE, null, null, null, 500, null, 30L, 10);
+    }
+
+    @Test
+    @DisplayName("Should ignore the page when reading after an id")
+    void testAfterId() {
+        reactiveVehicleService.getFilteredVehicles("", "", "", "", 0, 0, 3, 10, 42L);
+
+        verify(reactiveVehicleRepository).searchVehicles("", null, null, null, null, null, 42L, 0L, 10);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.matheus.VehicleManager.controller;
+
+import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
+import com.matheus.VehicleManager.service.ReactiveVehicleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive counterpart of the {@link VehicleController} listings, with the same filters. With
+ * {@code Accept: application/x-ndjson} vehicles are written one per line as they are read, the next rows fetched
+ * only as the writes drain, and the request holds neither a servlet thread nor a JDBC connection while it waits;
+ * otherwise they are collected into a JSON array. Pages are given by {@code page} and {@code size}, or by
+ * {@code afterId}, the id of the last vehicle received.
+ */
+@RestController
+@RequestMapping("/api/reactive/vehicles")
+public class ReactiveVehicleController {
+
+    @Autowired
+    private ReactiveVehicleService reactiveVehicleService;
+
+    @GetMapping(value = "/images", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<VehicleImageResponseDTO> getAllWithImages(@RequestParam(value="searchInput", defaultValue="") String search,
+                                                          @RequestParam(value="status", defaultValue="") String status,
+                                                          @RequestParam(value="type", defaultValue="") String type,
+                                                          @RequestParam(value="fuel", defaultValue="") String fuel,
+                                                          @RequestParam(value="priceMin", defaultValue="0") int priceMin,
+                                                          @RequestParam(value="priceMax", defaultValue="0") int priceMax,
+                                                          @RequestParam(value = "page", defaultValue="0") int page,
+                                                          @RequestParam(value = "size", defaultValue="10") int size,
+                                                          @RequestParam(value = "afterId", required = false) Long afterId) {
+        return reactiveVehicleService.getFilteredVehiclesWithOneImage(
+                search, status, type, fuel, priceMin, priceMax, page, size, afterId);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<VehicleResponseDTO> getAll(@RequestParam(value="searchInput", defaultValue="") String search,
+                                           @RequestParam(value="status", defaultValue="") String status,
+                                           @RequestParam(value="type", defaultValue="") String type,
+                                           @RequestParam(value="fuel", defaultValue="") String fuel,
+                                           @RequestParam(value="priceMin", defaultValue="0") int priceMin,
+                                           @RequestParam(value="priceMax", defaultValue="0") int priceMax,
+                                           @RequestParam(value = "page", defaultValue="0") int page,
+                                           @RequestParam(value = "size", defaultValue="10") int size,
+                                           @RequestParam(value = "afterId", required = false) Long afterId) {
+        return reactiveVehicleService.getFilteredVehicles(
+                search, status, type, fuel, priceMin, priceMax, page, size, afterId);
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.matheus.VehicleManager.repository;
+
+import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
+import com.matheus.VehicleManager.enums.VehicleChange;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The filters of {@link VehicleRepository#searchVehicles} over R2DBC. Only the filters that are set go into the
+ * statement, rows come ordered by id and are fetched from the server {@code reactive.vehicles.fetch-size} at a
+ * time, as the subscriber asks for them.
+ */
+@Repository
+public class ReactiveVehicleRepository {
+
+    private static final String COLUMNS = "id, vehicle_type, vehicle_status, model, brand, year, color, plate, chassi, "
+            + "mileage, price, vehicle_fuel, vehicle_change, doors, motor, power";
+
+    @Value("${reactive.vehicles.fetch-size:100}")
+    private int fetchSize;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<VehicleResponseDTO> searchVehicles(String search, VehicleStatus status, VehicleType type, VehicleFuel fuel,
+                                                   Integer priceMin, Integer priceMax, Long afterId, long offset, int limit) {
+        return query(COLUMNS, search, status, type, fuel, priceMin, priceMax, afterId, offset, limit)
+                .map((row, metadata) -> new VehicleResponseDTO(
+                        row.get("id", Long.class),
+                        enumValue(VehicleType.class, row, "vehicle_type"),
+                        enumValue(VehicleStatus.class, row, "vehicle_status"),
+                        row.get("model", String.class),
+                        row.get("brand", String.class),
+                        row.get("year", Integer.class),
+                        row.get("color", String.class),
+                        row.get("plate", String.class),
+                        row.get("chassi", String.class),
+                        row.get("mileage", BigDecimal.class),
+                        row.get("price", BigDecimal.class),
+                        enumValue(VehicleFuel.class, row, "vehicle_fuel"),
+                        enumValue(VehicleChange.class, row, "vehicle_change"),
+                        row.get("doors", Integer.class),
+                        row.get("motor", String.class),
+                        row.get("power", String.class)
+                ))
+                .all();
+    }
+
+    public Flux<VehicleImageResponseDTO> searchVehiclesWithImages(String search, VehicleStatus status, VehicleType type,
+                                                                  VehicleFuel fuel, Integer priceMin, Integer priceMax,
+                                                                  Long afterId, long offset, int limit) {
+        return query(COLUMNS + ", cover_image_path", search, status, type, fuel, priceMin, priceMax, afterId, offset, limit)
+                .map((row, metadata) -> new VehicleImageResponseDTO(
+                        row.get("id", Long.class),
+                        enumValue(VehicleType.class, row, "vehicle_type"),
+                        enumValue(VehicleStatus.class, row, "vehicle_status"),
+                        row.get("model", String.class),
+                        row.get("brand", String.class),
+                        row.get("year", Integer.class),
+                        row.get("color", String.class),
+                        row.get("plate", String.class),
+                        row.get("chassi", String.class),
+                        row.get("mileage", BigDecimal.class),
+                        row.get("price", BigDecimal.class),
+                        enumValue(VehicleFuel.class, row, "vehicle_fuel"),
+                        enumValue(VehicleChange.class, row, "vehicle_change"),
+                        row.get("doors", Integer.class),
+                        row.get("motor", String.class),
+                        row.get("power", String.class),
+                        row.get("cover_image_path", String.class)
+                ))
+                .all();
+    }
+
+    /**
+     * A statement with its named parameters, in the order they appear.
+     */
+    record Select(String sql, Map<String, Object> bindings) {
+    }
+
+    static Select select(String columns, String search, VehicleStatus status, VehicleType type, VehicleFuel fuel,
+                         Integer priceMin, Integer priceMax, Long afterId, long offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM vehicle")
+                .append(" WHERE (normalized_brand LIKE :search OR normalized_model LIKE :search)");
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        bindings.put("search", "%" + SearchNormalizer.normalize(Objects.requireNonNullElse(search, "")) + "%");
+        if (status != null) {
+            sql.append(" AND vehicle_status = :status");
+            bindings.put("status", status.name());
+        }
+        if (type != null) {
+            sql.append(" AND vehicle_type = :type");
+            bindings.put("type", type.name());
+        }
+        if (fuel != null) {
+            sql.append(" AND vehicle_fuel = :fuel");
+            bindings.put("fuel", fuel.name());
+        }
+        if (priceMin != null) {
+            sql.append(" AND price >= :priceMin");
+            bindings.put("priceMin", priceMin);
+        }
+        if (priceMax != null) {
+            sql.append(" AND price <= :priceMax");
+            bindings.put("priceMax", priceMax);
+        }
+        if (afterId != null) {
+            sql.append(" AND id > :afterId");
+            bindings.put("afterId", afterId);
+        }
+        sql.append(" ORDER BY id LIMIT :limit OFFSET :offset");
+        bindings.put("limit", limit);
+        bindings.put("offset", offset);
+        return new Select(sql.toString(), bindings);
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String columns, String search, VehicleStatus status, VehicleType type,
+                                                    VehicleFuel fuel, Integer priceMin, Integer priceMax, Long afterId,
+                                                    long offset, int limit) {
+        Select select = select(columns, search, status, type, fuel, priceMin, priceMax, afterId, offset, limit);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(select.sql())
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+        for (Map.Entry<String, Object> binding : select.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, Row row, String column) {
+        String value = row.get(column, String.class);
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+}
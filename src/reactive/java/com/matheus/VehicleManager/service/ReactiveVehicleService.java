@@ -0,0 +1,47 @@
+package com.matheus.VehicleManager.service;
+
+import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.repository.ReactiveVehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * The vehicle listings of {@link VehicleService}, read over R2DBC and streamed instead of paged in memory. They
+ * bypass the service caches: each subscription reads the database.
+ */
+@Service
+public class ReactiveVehicleService {
+
+    @Autowired
+    private ReactiveVehicleRepository reactiveVehicleRepository;
+
+    public Flux<VehicleResponseDTO> getFilteredVehicles(String search, String status, String type, String fuel,
+                                                        int priceMin, int priceMax, int page, int size, Long afterId) {
+        VehicleStatus statusEnum = (status != null && !status.isEmpty()) ? VehicleStatus.valueOf(status) : null;
+        VehicleType typeEnum = (type != null && !type.isEmpty()) ? VehicleType.valueOf(type) : null;
+        VehicleFuel fuelEnum = (fuel != null && !fuel.isEmpty()) ? VehicleFuel.valueOf(fuel) : null;
+        Integer min = priceMin > 0 ? priceMin : null;
+        Integer max = priceMax > 0 ? priceMax : null;
+        long offset = afterId != null ? 0 : (long) page * size;
+
+        return reactiveVehicleRepository.searchVehicles(search, statusEnum, typeEnum, fuelEnum, min, max, afterId, offset, size);
+    }
+
+    public Flux<VehicleImageResponseDTO> getFilteredVehiclesWithOneImage(String search, String status, String type, String fuel,
+                                                                         int priceMin, int priceMax, int page, int size, Long afterId) {
+        VehicleStatus statusEnum = (status != null && !status.isEmpty()) ? VehicleStatus.valueOf(status) : null;
+        VehicleType typeEnum = (type != null && !type.isEmpty()) ? VehicleType.valueOf(type) : null;
+        VehicleFuel fuelEnum = (fuel != null && !fuel.isEmpty()) ? VehicleFuel.valueOf(fuel) : null;
+        Integer min = priceMin > 0 ? priceMin : null;
+        Integer max = priceMax > 0 ? priceMax : null;
+        long offset = afterId != null ? 0 : (long) page * size;
+
+        return reactiveVehicleRepository.searchVehiclesWithImages(search, statusEnum, typeEnum, fuelEnum, min, max, afterId, offset, size);
+    }
+
+}
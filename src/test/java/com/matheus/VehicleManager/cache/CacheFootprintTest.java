@@ -0,0 +1,133 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.dto.SaleResponseDTO;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
+import com.matheus.VehicleManager.enums.SalesStatus;
+import com.matheus.VehicleManager.enums.VehicleChange;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.model.Sale;
+import com.matheus.VehicleManager.model.Vehicle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.ref.Reference;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap retained per cached 10-row page, measured by holding a few thousand pages and comparing the used heap
+ * after a full collection. Entities are plain objects here, without Hibernate proxies or collection wrappers, so
+ * real entity pages are larger than what is measured for them. On JDK 17 with G1 this gave, in bytes per page:
+ * vehicles 5754 as entities, 5740 as records, 4469 serialized; sales 9979, 6380 and 3782. A vehicle record holds
+ * the same strings and numbers as its entity, so for vehicles the saving comes from serializing them.
+ */
+class CacheFootprintTest {
+
+    private static final int PAGES = 4000;
+    private static final int ROWS = 10;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    @DisplayName("Should retain about as much for vehicle records as for entities, and less once serialized")
+    void testVehiclePages() {
+        long entities = retainedPerPage(() -> page(this::vehicle));
+        long records = retainedPerPage(() -> page(() -> VehicleResponseDTO.of(vehicle())));
+        long serialized = retainedPerPage(() -> SerializedValue.of(page(() -> VehicleResponseDTO.of(vehicle()))));
+
+        assertTrue(records < entities * 1.05, "records " + records + " vs entities " + entities);
+        assertTrue(serialized < records * 0.85, "serialized " + serialized + " vs records " + records);
+    }
+
+    @Test
+    @DisplayName("Should retain less for sale records than for entities, and less again once serialized")
+    void testSalePages() {
+        long entities = retainedPerPage(() -> page(this::sale));
+        long records = retainedPerPage(() -> page(() -> SaleResponseDTO.of(sale())));
+        long serialized = retainedPerPage(() -> SerializedValue.of(page(() -> SaleResponseDTO.of(sale()))));
+
+        assertTrue(records < entities * 0.75, "records " + records + " vs entities " + entities);
+        assertTrue(serialized < records * 0.75, "serialized " + serialized + " vs records " + records);
+    }
+
+    private static long retainedPerPage(Supplier<Object> build) {
+        long before = usedAfterCollection();
+        Object[] held = new Object[PAGES];
+        for (int i = 0; i < PAGES; i++) {
+            held[i] = build.get();
+        }
+        long after = usedAfterCollection();
+        Reference.reachabilityFence(held);
+        return (after - before) / PAGES;
+    }
+
+    private static long usedAfterCollection() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static <T> Page<T> page(Supplier<T> row) {
+        List<T> content = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            content.add(row.get());
+        }
+        return new PageImpl<>(content, PageRequest.of(0, ROWS), 1000);
+    }
+
+    private Vehicle vehicle() {
+        long id = ids.incrementAndGet();
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
+        vehicle.setModel("Model " + id);
+        vehicle.setBrand("Brand " + id % 50);
+        vehicle.setYear(2020);
+        vehicle.setColor("Color " + id % 12);
+        vehicle.setPlate("ABC" + (1000 + id % 9000));
+        vehicle.setChassi("9BWZZZ377VT" + (100000 + id));
+        vehicle.setMileage(BigDecimal.valueOf(10000 + id, 2));
+        vehicle.setPrice(BigDecimal.valueOf(5000000 + id, 2));
+        vehicle.setVehicleFuel(VehicleFuel.FLEX);
+        vehicle.setVehicleChange(VehicleChange.MANUAL);
+        vehicle.setDoors(4);
+        vehicle.setMotor("1." + id % 10);
+        vehicle.setPower(100 + id % 50 + "cv");
+        return vehicle;
+    }
+
+    private Sale sale() {
+        long id = ids.incrementAndGet();
+        Client client = new Client();
+        client.setId(id);
+        client.setFirstName("FirstName " + id);
+        client.setLastName("LastName " + id);
+        client.setEmail("client" + id + "@test.com");
+        client.setPhone("119" + (10000000 + id));
+
+        Sale sale = new Sale();
+        sale.setId(id);
+        sale.setClient(client);
+        sale.setVehicle(vehicle());
+        sale.setSalesDate(LocalDate.of(2025, 1, 1).plusDays(id % 300));
+        sale.setReserveDate(LocalDate.of(2024, 12, 1).plusDays(id % 30));
+        sale.setStatus(SalesStatus.SOLD);
+        return sale;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CacheInvalidationBusTest {
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @InjectMocks
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(cacheInvalidationBus, "objectMapper", objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should split large batches into payloads under the NOTIFY limit without losing evictions")
+    void testPayloadsSplitBatch() throws Exception {
+        List<CacheEviction> batch = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            batch.add(new EntityEviction("sales", id, true, List.of("vehicle-" + id)));
+        }
+
+        List<String> payloads = cacheInvalidationBus.payloads(batch);
+
+        int evictions = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < 8000);
+            evictions += objectMapper.readValue(payload, CacheInvalidationBus.InvalidationMessage.class).evictions().size();
+        }
+        assertTrue(payloads.size() > 1);
+        assertEquals(300, evictions);
+    }
+
+    @Test
+    @DisplayName("Should apply evictions published by another instance")
+    void testReceiveFromPeer() throws Exception {
+        String payload = objectMapper.writeValueAsString(new CacheInvalidationBus.InvalidationMessage("peer",
+                List.of(new VehicleStatusEviction(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD))));
+
+        cacheInvalidationBus.receive(payload);
+
+        verify(cacheInvalidator, times(1)).evictIf(eq("vehicles"), any());
+        verify(cacheInvalidator, times(1)).evictIf(eq("vehicle_filtered_with_image"), any());
+    }
+
+    @Test
+    @DisplayName("Should ignore its own evictions and clear everything on unreadable messages")
+    void testReceiveOwnAndUnreadable() throws Exception {
+        List<String> own = cacheInvalidationBus.payloads(List.of(new ClearAllEviction()));
+
+        cacheInvalidationBus.receive(own.get(0));
+        verify(cacheInvalidator, never()).clearAll();
+
+        cacheInvalidationBus.receive("not json");
+        verify(cacheInvalidator, times(1)).clearAll();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.config.CacheConfig;
+import com.matheus.VehicleManager.service.ClientService;
+import com.matheus.VehicleManager.service.FinancingService;
+import com.matheus.VehicleManager.service.MaintenanceService;
+import com.matheus.VehicleManager.service.SaleService;
+import com.matheus.VehicleManager.service.VehicleService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.interceptor.CacheOperationSource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheRegistryValidatorTest {
+
+    private final CacheOperationSource cacheOperationSource = new AnnotationCacheOperationSource();
+
+    @Test
+    @DisplayName("Should register every cache named by the services' cache annotations")
+    void testRegistryCoversDeclaredCaches() {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> service : List.of(VehicleService.class, ClientService.class, SaleService.class,
+                FinancingService.class, MaintenanceService.class)) {
+            declared.addAll(CacheRegistryValidator.declaredCacheNames(service, cacheOperationSource));
+        }
+
+        assertTrue(declared.contains("vehicle_filtered_with_image"));
+        assertTrue(declared.contains("financings"));
+        assertEquals(new TreeSet<>(CacheConfig.CACHE_NAMES), declared);
+    }
+
+    @Test
+    @DisplayName("Should fail when a cache is used but not registered")
+    void testUnregisteredCache() {
+        CacheRegistryValidator validator = new CacheRegistryValidator(null, cacheOperationSource, List.of("clients"), List.of());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> validator.validate(List.of("clients", "finances")));
+        assertTrue(exception.getMessage().contains("finances"));
+    }
+
+    @Test
+    @DisplayName("Should fail when a spec is configured for an unknown cache")
+    void testUnknownSpec() {
+        CacheRegistryValidator validator = new CacheRegistryValidator(null, cacheOperationSource, List.of("clients"), List.of("client"));
+
+        assertThrows(IllegalStateException.class, () -> validator.validate(List.of("clients")));
+        assertDoesNotThrow(() -> new CacheRegistryValidator(null, cacheOperationSource, List.of("clients"), List.of("clients"))
+                .validate(List.of("clients")));
+    }
+
+}
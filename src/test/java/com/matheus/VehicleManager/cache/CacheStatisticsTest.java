@@ -0,0 +1,73 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatisticsTest {
+
+    private CacheStatistics cacheStatistics;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SingleFlightCache(new CaffeineCache("vehicles", Caffeine.newBuilder().recordStats().build()),
+                Duration.ofSeconds(1));
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.afterPropertiesSet();
+
+        CacheInvalidator cacheInvalidator = new CacheInvalidator();
+        ReflectionTestUtils.setField(cacheInvalidator, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(cacheInvalidator, "eventPublisher", (ApplicationEventPublisher) event -> { });
+
+        cacheStatistics = new CacheStatistics();
+        ReflectionTestUtils.setField(cacheStatistics, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(cacheStatistics, "hotKeyTracker", new HotKeyTracker());
+        ReflectionTestUtils.setField(cacheStatistics, "cacheInvalidator", cacheInvalidator);
+    }
+
+    @Test
+    @DisplayName("Should report the hits and misses of the cache behind its decorators")
+    void testStats() {
+        cache.get("id-1", () -> "first");
+        cache.get("id-1", () -> "first");
+        cache.get("id-2", () -> "second");
+
+        CacheStatistics.CacheStats stats = cacheStatistics.stats("vehicles");
+
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(2, stats.loadSuccesses());
+        assertTrue(stats.estimatedEntryBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should list and evict only the keys starting with the prefix")
+    void testKeysByPrefix() {
+        cache.put("id-1", "first");
+        cache.put("id-2", "second");
+        cache.put("page-0-10", List.of("first", "second"));
+
+        assertEquals(List.of("id-1", "id-2"),
+                cacheStatistics.keys("vehicles", "id-", 10).stream().map(CacheStatistics.CacheKey::key).toList());
+
+        assertEquals(1, cacheStatistics.evict("vehicles", "page-"));
+        assertNotNull(cache.get("id-1"));
+        assertNull(cache.get("page-0-10"));
+    }
+
+}
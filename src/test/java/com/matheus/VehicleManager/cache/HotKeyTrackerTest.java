@@ -0,0 +1,80 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotKeyTrackerTest {
+
+    @TempDir
+    Path directory;
+
+    private HotKeyTracker buildTracker() {
+        HotKeyTracker hotKeyTracker = new HotKeyTracker();
+        ReflectionTestUtils.setField(hotKeyTracker, "enabled", true);
+        ReflectionTestUtils.setField(hotKeyTracker, "file", directory.resolve("cache-hot-keys.json"));
+        ReflectionTestUtils.setField(hotKeyTracker, "topK", 3);
+        ReflectionTestUtils.setField(hotKeyTracker, "persistInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(hotKeyTracker, "objectMapper", new ObjectMapper());
+        return hotKeyTracker;
+    }
+
+    private static LookupKey id(long id) {
+        return new LookupKey(LookupKey.Kind.ID, id);
+    }
+
+    private void read(HotKeyTracker hotKeyTracker, Object key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyTracker.record("vehicles", key);
+        }
+    }
+
+    @Test
+    @DisplayName("Should rank the most read keys first, even when they show up after the cold ones")
+    void testTopKeys() {
+        HotKeyTracker hotKeyTracker = buildTracker();
+        hotKeyTracker.start();
+        for (int id = 100; id < 120; id++) {
+            read(hotKeyTracker, id(id), 1);
+        }
+        read(hotKeyTracker, id(2), 30);
+        read(hotKeyTracker, id(1), 50);
+        read(hotKeyTracker, id(3), 10);
+
+        assertEquals(List.of(id(1), id(2), id(3)), hotKeyTracker.topKeys("vehicles"));
+        assertTrue(hotKeyTracker.topKeys("clients").isEmpty());
+        hotKeyTracker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should bring back the typed hot keys saved by the previous run")
+    void testSurvivesRestart() {
+        VehicleListingKey listing = new VehicleListingKey(VehicleListingKey.Kind.CURSOR, true, "ford",
+                VehicleStatus.AVAILABLE, null, VehicleFuel.FLEX, 0, 500, 0, "abc", 10);
+        HotKeyTracker previousRun = buildTracker();
+        previousRun.start();
+        read(previousRun, id(1), 50);
+        read(previousRun, listing, 30);
+        read(previousRun, new PageKey(false, 0, 10), 20);
+        previousRun.shutdown();
+
+        HotKeyTracker hotKeyTracker = buildTracker();
+        hotKeyTracker.start();
+
+        assertEquals(List.of(id(1), listing), hotKeyTracker.topKeys("vehicles"));
+        assertEquals(Long.class, ((LookupKey) hotKeyTracker.topKeys("vehicles").get(0)).value().getClass());
+        hotKeyTracker.shutdown();
+    }
+
+}
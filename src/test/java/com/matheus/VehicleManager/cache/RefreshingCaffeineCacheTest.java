@@ -0,0 +1,160 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RefreshingCaffeineCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+
+    private RefreshingCaffeineCache buildCache(Executor refreshExecutor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .refreshAfterWrite(Duration.ofMinutes(1));
+        return new RefreshingCaffeineCache("sales", builder, false, refreshExecutor);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private void runPendingRefreshes() {
+        pendingRefreshes.forEach(Runnable::run);
+        pendingRefreshes.clear();
+    }
+
+    /**
+     * Stands for a service with a cached method: each call runs the query again.
+     */
+    static class SalePages {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private boolean failing;
+
+        public String page() {
+            if (failing) throw new IllegalStateException("database down");
+            return "page-" + loads.incrementAndGet();
+        }
+
+    }
+
+    private static <T> T cachedCall(SalePages pages, Callable<T> lookup) throws Exception {
+        Method page = SalePages.class.getMethod("page");
+        return CacheInvocation.call(new CacheInvocation(pages, page, new Object[0]), lookup);
+    }
+
+    @Test
+    @DisplayName("Should serve the current value and reload it in the background once due")
+    void testRefreshAfterWrite() throws Exception {
+        RefreshingCaffeineCache cache = buildCache(pendingRefreshes::add);
+        SalePages pages = new SalePages();
+
+        assertEquals("page-1", cachedCall(pages, () -> cache.get("page-0-size-10", pages::page)));
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("page-1", cache.get("page-0-size-10").get());
+        assertEquals(1, pendingRefreshes.size());
+        runPendingRefreshes();
+        assertEquals("page-2", cache.get("page-0-size-10").get());
+        assertEquals(new RefreshingCaffeineCache.RefreshStats(1, 0, 0), cache.refreshStats());
+    }
+
+    @Test
+    @DisplayName("Should reload by calling the cached method when loaded through the single-flight front")
+    void testRefreshAfterSingleFlightLoad() throws Exception {
+        RefreshingCaffeineCache cache = buildCache(pendingRefreshes::add);
+        SingleFlightCache singleFlight = new SingleFlightCache(cache, Duration.ofSeconds(5));
+        SalePages pages = new SalePages();
+
+        assertEquals("page-1", cachedCall(pages, () -> singleFlight.get("page-0-size-10", pages::page)));
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("page-1", singleFlight.get("page-0-size-10").get());
+        runPendingRefreshes();
+        assertEquals("page-2", singleFlight.get("page-0-size-10").get());
+        assertEquals(2, pages.loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload through the cached method, never re-running the value loader")
+    void testRefreshDoesNotRerunValueLoader() throws Exception {
+        RefreshingCaffeineCache cache = buildCache(pendingRefreshes::add);
+        SalePages pages = new SalePages();
+        AtomicInteger valueLoaderCalls = new AtomicInteger();
+
+        cachedCall(pages, () -> cache.get("page-0-size-10", () -> {
+            valueLoaderCalls.incrementAndGet();
+            return pages.page();
+        }));
+        advance(Duration.ofMinutes(2));
+        cache.get("page-0-size-10");
+        runPendingRefreshes();
+
+        assertEquals("page-2", cache.get("page-0-size-10").get());
+        assertEquals(1, valueLoaderCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should drop an entry due for refresh when it was not loaded through a cached method")
+    void testRefreshWithoutInvocation() {
+        RefreshingCaffeineCache cache = buildCache(pendingRefreshes::add);
+
+        cache.get("page-0-size-10", () -> "page-1");
+        advance(Duration.ofMinutes(2));
+        cache.get("page-0-size-10");
+        runPendingRefreshes();
+
+        assertNull(cache.get("page-0-size-10"));
+    }
+
+    @Test
+    @DisplayName("Should keep the current value when a reload fails")
+    void testRefreshFailure() throws Exception {
+        RefreshingCaffeineCache cache = buildCache(pendingRefreshes::add);
+        SalePages pages = new SalePages();
+
+        cachedCall(pages, () -> cache.get("page-0-size-10", pages::page));
+        pages.failing = true;
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("page-1", cache.get("page-0-size-10").get());
+        runPendingRefreshes();
+        assertEquals("page-1", cache.get("page-0-size-10").get());
+        assertEquals(1, cache.refreshStats().failures());
+    }
+
+    @Test
+    @DisplayName("Should skip the reload when the refresh executor is saturated")
+    void testRefreshRejected() throws Exception {
+        RefreshingCaffeineCache cache = buildCache(task -> {
+            throw new RejectedExecutionException("saturated");
+        });
+        SalePages pages = new SalePages();
+
+        cachedCall(pages, () -> cache.get("page-0-size-10", pages::page));
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("page-1", cache.get("page-0-size-10").get());
+        assertEquals(new RefreshingCaffeineCache.RefreshStats(0, 0, 1), cache.refreshStats());
+    }
+
+}
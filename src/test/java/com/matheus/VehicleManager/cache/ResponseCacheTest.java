@@ -0,0 +1,100 @@
+package com.matheus.VehicleManager.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private ResponseCache responseCache;
+
+    private ResponseCacheFilter responseCacheFilter;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache();
+        ReflectionTestUtils.setField(responseCache, "enabled", true);
+        ReflectionTestUtils.setField(responseCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(responseCache, "maxBytes", 1_000_000L);
+        responseCache.init();
+        responseCacheFilter = new ResponseCacheFilter(responseCache);
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/vehicles");
+        request.setQueryString("page=0&size=10");
+        if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCacheFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"render\":" + renders.incrementAndGet() + "}");
+            }
+        }));
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should write the stored body on a hit without rendering it again")
+    void testHit() throws Exception {
+        MockHttpServletResponse miss = get(null);
+        MockHttpServletResponse hit = get(null);
+
+        assertEquals(1, renders.get());
+        assertEquals(miss.getContentAsString(), hit.getContentAsString());
+        assertNotNull(hit.getHeader("ETag"));
+        assertEquals(miss.getHeader("ETag"), hit.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client already holds the body")
+    void testNotModified() throws Exception {
+        String etag = get(null).getHeader("ETag");
+
+        MockHttpServletResponse response = get(etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should render again once a service cache the endpoint depends on is evicted")
+    void testInvalidation() throws Exception {
+        get(null);
+
+        responseCache.invalidate("sales");
+        get(null);
+        assertEquals(1, renders.get());
+
+        responseCache.invalidate("vehicles");
+        assertEquals("{\"render\":2}", get(null).getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should not store a body rendered before an invalidation")
+    void testStaleRender() {
+        long renderedAt = responseCache.generation();
+        responseCache.invalidate("vehicles");
+
+        responseCache.put("/api/vehicles/1", renderedAt, "{}".getBytes(), "application/json");
+
+        assertNull(responseCache.get("/api/vehicles/1"));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.matheus.VehicleManager.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.matheus.VehicleManager.dto.ClientResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class SerializingCaffeineCacheTest {
+
+    @Test
+    @DisplayName("Should keep entries as bytes with their row ids and hand back an equal copy")
+    void testRoundTrip() {
+        SerializingCaffeineCache cache = new SerializingCaffeineCache("clients", Caffeine.newBuilder().build());
+        ClientResponseDTO client = new ClientResponseDTO(1L, "TestFirstName", "TestLastName", "test@test.com", "11999999999");
+        Page<ClientResponseDTO> page = new PageImpl<>(List.of(client), PageRequest.of(0, 10), 1);
+
+        cache.put("page-0-size-10", page);
+
+        SerializedValue stored = assertInstanceOf(SerializedValue.class, cache.getNativeCache().getIfPresent("page-0-size-10"));
+        assertArrayEquals(new long[] {1L}, stored.rows().ids());
+        Page<?> cached = (Page<?>) cache.get("page-0-size-10").get();
+        assertNotSame(page, cached);
+        assertEquals(client, cached.getContent().get(0));
+        assertEquals(1, cached.getTotalElements());
+    }
+
+}
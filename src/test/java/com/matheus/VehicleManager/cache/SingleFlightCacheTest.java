@@ -0,0 +1,176 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.exception.CacheLoadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightCacheTest {
+
+    private static final int CALLERS = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private List<Future<Object>> callConcurrently(SingleFlightCache cache, String key, CountDownLatch release,
+                                                  AtomicInteger loads, RuntimeException failure) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> cache.get(key, () -> {
+                loads.incrementAndGet();
+                release.await();
+                if (failure != null) throw failure;
+                return "value";
+            })));
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("Should run a single load for concurrent misses on the same key")
+    void testCoalescesConcurrentMisses() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("vehicles"), Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = callConcurrently(cache, "searchFor-ford", release, loads, null);
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertEquals("value", result.get());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.inFlightLoads());
+    }
+
+    @Test
+    @DisplayName("Should hand the load failure to every waiter and load again on the next call")
+    void testPropagatesLoadFailure() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("vehicles"), Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = callConcurrently(cache, "searchFor-ford", release, loads,
+                new IllegalStateException("database down"));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+            assertInstanceOf(Cache.ValueRetrievalException.class, failure.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals("reloaded", cache.get("searchFor-ford", () -> "reloaded"));
+    }
+
+    @Test
+    @DisplayName("Should stop waiting on another caller's load after the timeout")
+    void testWaiterTimesOut() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("vehicles"), Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> cache.get("searchFor-ford", () -> {
+            loading.countDown();
+            release.await();
+            return "value";
+        }));
+        loading.await();
+
+        assertThrows(CacheLoadTimeoutException.class, () -> cache.get("searchFor-ford", () -> "other"));
+        release.countDown();
+        assertEquals("value", leader.get());
+    }
+
+    @Test
+    @DisplayName("Should not store a load that was running when the key was evicted")
+    void testEvictDuringLoadDropsTheValue() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("vehicles"), Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> cache.get("searchFor-ford", () -> {
+            loading.countDown();
+            release.await();
+            return "stale";
+        }));
+        loading.await();
+        cache.evict("searchFor-ford");
+        release.countDown();
+
+        assertEquals("stale", leader.get());
+        assertNull(cache.get("searchFor-ford"));
+        assertEquals("fresh", cache.get("searchFor-ford", () -> "fresh"));
+    }
+
+    @Test
+    @DisplayName("Should not store a load that was running when the cache was cleared")
+    void testClearDuringLoadDropsTheValue() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("vehicles"), Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> cache.get("searchFor-ford", () -> {
+            loading.countDown();
+            release.await();
+            return "stale";
+        }));
+        loading.await();
+        cache.clear();
+        release.countDown();
+
+        assertEquals("stale", leader.get());
+        assertNull(cache.get("searchFor-ford"));
+    }
+
+    @Test
+    @DisplayName("Should not store a load that was running when a targeted eviction ran")
+    void testEvictIfDuringLoadDropsTheValue() throws Exception {
+        SingleFlightCache cache = new SingleFlightCache(new ConcurrentMapCache("vehicles"), Duration.ofSeconds(5));
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.initializeCaches();
+        CacheInvalidator cacheInvalidator = new CacheInvalidator();
+        ReflectionTestUtils.setField(cacheInvalidator, "cacheManager", cacheManager);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> cache.get("searchFor-ford", () -> {
+            loading.countDown();
+            release.await();
+            return "stale";
+        }));
+        loading.await();
+        cacheInvalidator.evictIf("vehicles", (key, rows) -> "searchFor-ford".equals(key));
+        release.countDown();
+
+        assertEquals("stale", leader.get());
+        assertNull(cache.get("searchFor-ford"));
+        assertEquals("fresh", cache.get("searchFor-ford", () -> "fresh"));
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.matheus.VehicleManager.cache;
+
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VehicleCacheInvalidatorTest {
+
+    private static final VehicleListingKey ALL = page("", null, 0, 0);
+    private static final VehicleListingKey FIAT = page("fiat", null, 0, 0);
+    private static final VehicleListingKey FORD_SOLD = page("ford", VehicleStatus.SOLD, 0, 0);
+    private static final VehicleListingKey EXPENSIVE = page("", null, 150, 1);
+    private static final VehicleListingKey FIRST_CURSOR = cursor("");
+    private static final VehicleListingKey DASHED_SEARCH = page("x-status-SOLD-type-", null, 0, 0);
+    private static final LookupKey CHASSI = new LookupKey(LookupKey.Kind.CHASSI, "ABC");
+    private static final LookupKey SEARCH_FORD = new LookupKey(LookupKey.Kind.SEARCH_FOR, "for");
+    private static final LookupKey SEARCH_FIAT = new LookupKey(LookupKey.Kind.SEARCH_FOR, "fia");
+
+    private Cache vehicles;
+
+    private VehicleCacheInvalidator vehicleCacheInvalidator;
+
+    private Vehicle buildVehicle(Long id, String brand, VehicleStatus status, String price) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setBrand(brand);
+        vehicle.setModel("Model");
+        vehicle.setVehicleStatus(status);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setVehicleFuel(VehicleFuel.GASOLINE);
+        vehicle.setPrice(new BigDecimal(price));
+        return vehicle;
+    }
+
+    private static VehicleListingKey page(String search, VehicleStatus status, int priceMin, int page) {
+        return new VehicleListingKey(VehicleListingKey.Kind.PAGE, false, search, status, null, null, priceMin, 0, page, null, 10);
+    }
+
+    private static VehicleListingKey cursor(String after) {
+        return new VehicleListingKey(VehicleListingKey.Kind.CURSOR, false, "", null, null, null, 0, 0, 0, after, 1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("vehicles", "vehicle_filtered_with_image");
+        CacheInvalidator cacheInvalidator = new CacheInvalidator();
+        ReflectionTestUtils.setField(cacheInvalidator, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(cacheInvalidator, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        vehicleCacheInvalidator = new VehicleCacheInvalidator();
+        ReflectionTestUtils.setField(vehicleCacheInvalidator, "cacheInvalidator", cacheInvalidator);
+
+        Vehicle ford = buildVehicle(1L, "Ford", VehicleStatus.AVAILABLE, "100");
+        Vehicle fiat = buildVehicle(2L, "Fiat", VehicleStatus.AVAILABLE, "200");
+        vehicles = cacheManager.getCache("vehicles");
+        vehicles.put(CHASSI, ford);
+        vehicles.put(ALL, new PageImpl<>(List.of(ford, fiat)));
+        vehicles.put(FIAT, new PageImpl<>(List.of(fiat)));
+        vehicles.put(FORD_SOLD, new PageImpl<>(List.of()));
+        vehicles.put(EXPENSIVE, new PageImpl<>(List.of()));
+        vehicles.put(DASHED_SEARCH, new PageImpl<>(List.of()));
+        vehicles.put(FIRST_CURSOR, new SliceImpl<>(List.of(ford), PageRequest.of(0, 1), true));
+        vehicles.put(lastCursor(), new SliceImpl<>(List.of(fiat), PageRequest.of(0, 1), false));
+        vehicles.put(SEARCH_FORD, List.of(ford));
+        vehicles.put(SEARCH_FIAT, List.of(fiat));
+    }
+
+    private VehicleListingKey lastCursor() {
+        return cursor(KeysetCursor.encode(1L));
+    }
+
+    @Test
+    @DisplayName("Should evict only the listings a new vehicle falls into")
+    void testOnVehicleCreated() {
+        vehicleCacheInvalidator.onVehicleChanged(null,
+                VehicleListingState.of(buildVehicle(3L, "Ford", VehicleStatus.AVAILABLE, "300")));
+
+        assertNull(vehicles.get(ALL));
+        assertNull(vehicles.get(EXPENSIVE));
+        assertNull(vehicles.get(lastCursor()));
+        assertNull(vehicles.get(SEARCH_FORD));
+        assertNotNull(vehicles.get(FIAT));
+        assertNotNull(vehicles.get(FORD_SOLD));
+        assertNotNull(vehicles.get(FIRST_CURSOR));
+        assertNotNull(vehicles.get(SEARCH_FIAT));
+        assertNotNull(vehicles.get(CHASSI));
+    }
+
+    @Test
+    @DisplayName("Should evict entries holding the vehicle and listings filtering on the statuses involved")
+    void testOnStatusChanged() {
+        vehicleCacheInvalidator.onStatusChanged(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
+
+        assertNull(vehicles.get(CHASSI));
+        assertNull(vehicles.get(ALL));
+        assertNull(vehicles.get(FORD_SOLD));
+        assertNull(vehicles.get(FIRST_CURSOR));
+        assertNotNull(vehicles.get(FIAT));
+        assertNotNull(vehicles.get(EXPENSIVE));
+        assertNotNull(vehicles.get(DASHED_SEARCH));
+    }
+
+}
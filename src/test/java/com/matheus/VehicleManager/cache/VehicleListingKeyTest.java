@@ -0,0 +1,67 @@
+package com.matheus.VehicleManager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleListingKeyTest {
+
+    private final VehicleListingKeyGenerator pageKeyGenerator =
+            new VehicleListingKeyGenerator(VehicleListingKey.Kind.PAGE, false);
+
+    private final VehicleListingKeyGenerator cursorKeyGenerator =
+            new VehicleListingKeyGenerator(VehicleListingKey.Kind.CURSOR, true);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should build equal keys for equal arguments")
+    void testEquality() {
+        Object key = pageKeyGenerator.generate(null, null, "ford", "AVAILABLE", "", "", 0, 500, 2, 10);
+
+        assertEquals(key, pageKeyGenerator.generate(null, null, "ford", "AVAILABLE", "", "", 0, 500, 2, 10));
+        assertEquals(key.hashCode(), pageKeyGenerator.generate(null, null, "ford", "AVAILABLE", "", "", 0, 500, 2, 10).hashCode());
+        assertNotEquals(key, pageKeyGenerator.generate(null, null, "ford", "AVAILABLE", "", "", 0, 500, 3, 10));
+        assertNotEquals(key, pageKeyGenerator.generate(null, null, "ford", "SOLD", "", "", 0, 500, 2, 10));
+    }
+
+    @Test
+    @DisplayName("Should render the former SpEL key")
+    void testStringForm() {
+        Object page = pageKeyGenerator.generate(null, null, "ford", "AVAILABLE", "", "", 0, 500, 2, 10);
+        Object cursor = cursorKeyGenerator.generate(null, null, "", "", "CAR", "", 0, 0, "abc", 5);
+
+        assertEquals("image-0-search-ford-status-AVAILABLE-type--fuel--priceMin-0-priceMax-500-page-2-size-10", page.toString());
+        assertEquals("cursor-1-search--status--type-CAR-fuel--priceMin-0-priceMax-0-after-abc-size-5", cursor.toString());
+    }
+
+    @Test
+    @DisplayName("Should write the keys as JSON and read them back unchanged")
+    void testJson() throws Exception {
+        Object page = pageKeyGenerator.generate(null, null, "ford", "AVAILABLE", "", "", 0, 500, 2, 10);
+        Object cursor = cursorKeyGenerator.generate(null, null, "", "", "CAR", "", 0, 0, "abc", 5);
+        LookupKey lookup = new LookupKey(LookupKey.Kind.ID, 42L);
+
+        VehicleListingKey readPage = objectMapper.readValue(objectMapper.writeValueAsString(page), VehicleListingKey.class);
+        assertEquals(page, readPage);
+        assertEquals(VehicleStatus.AVAILABLE, readPage.status());
+        assertEquals(cursor, objectMapper.readValue(objectMapper.writeValueAsString(cursor), VehicleListingKey.class));
+        assertEquals(lookup, objectMapper.readValue(objectMapper.writeValueAsString(lookup), LookupKey.class));
+    }
+
+    @Test
+    @DisplayName("Should read the looked-up value from lookup keys of the same kind only")
+    void testLookupKey() {
+        LookupKey key = new LookupKey(LookupKey.Kind.QUERY, "ana");
+
+        assertEquals("query-ana", key.toString());
+        assertEquals("ana", LookupKey.valueOf(key, LookupKey.Kind.QUERY));
+        assertNull(LookupKey.valueOf("query-ana", LookupKey.Kind.QUERY));
+        assertNull(LookupKey.valueOf(key, LookupKey.Kind.EMAIL));
+        assertEquals("slice-page-0-size-10", new PageKey(true, 0, 10).toString());
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.matheus.VehicleManager.catalog;
+
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+class VehicleCatalogTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @InjectMocks
+    private VehicleCatalog vehicleCatalog;
+
+    private Vehicle buildVehicle(Long id, String brand, String model, VehicleStatus status, VehicleType type,
+                                 VehicleFuel fuel, String price) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setChassi("Chassi" + id);
+        vehicle.setBrand(brand);
+        vehicle.setModel(model);
+        vehicle.setVehicleStatus(status);
+        vehicle.setVehicleType(type);
+        vehicle.setVehicleFuel(fuel);
+        vehicle.setYear(2020);
+        vehicle.setColor("Black");
+        vehicle.setMileage(new BigDecimal("1000.0"));
+        vehicle.setPrice(new BigDecimal(price));
+        vehicle.setDoors(4);
+        return vehicle;
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(vehicleCatalog, "enabled", true);
+
+        List<Vehicle> vehicles = List.of(
+                buildVehicle(1L, "Ford", "Mustang", VehicleStatus.AVAILABLE, VehicleType.CAR, VehicleFuel.GASOLINE, "250000.00"),
+                buildVehicle(2L, "Honda", "Civic", VehicleStatus.SOLD, VehicleType.CAR, VehicleFuel.FLEX, "90000.00"),
+                buildVehicle(3L, "Honda", "CB 500", VehicleStatus.AVAILABLE, VehicleType.MOTORCYCLE, VehicleFuel.GASOLINE, "35000.00"),
+                buildVehicle(4L, "Citroën", "C3", VehicleStatus.AVAILABLE, VehicleType.CAR, VehicleFuel.FLEX, "60000.00")
+        );
+        when(vehicleRepository.searchVehiclesAfter(anyString(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(vehicles, PageRequest.of(0, 1000), false));
+        vehicleCatalog.load();
+    }
+
+    @Test
+    @DisplayName("Should load every vehicle and report ready")
+    void testLoad() {
+        assertTrue(vehicleCatalog.isReady());
+        assertEquals(4, vehicleCatalog.size());
+    }
+
+    @Test
+    @DisplayName("Should combine enum bitmaps, price range and text search")
+    void testSearch() {
+        Page<Vehicle> available = vehicleCatalog.search("", VehicleStatus.AVAILABLE, null, null, null, null, PageRequest.of(0, 10));
+        assertEquals(3, available.getTotalElements());
+
+        Page<Vehicle> cheapCars = vehicleCatalog.search("", null, VehicleType.CAR, null, 50000, 100000, PageRequest.of(0, 10));
+        assertEquals(2, cheapCars.getTotalElements());
+        assertEquals(2L, cheapCars.getContent().get(0).getId());
+        assertEquals(4L, cheapCars.getContent().get(1).getId());
+
+        Page<Vehicle> accentInsensitive = vehicleCatalog.search("CITROEN", null, null, null, null, null, PageRequest.of(0, 10));
+        assertEquals(1, accentInsensitive.getTotalElements());
+        assertEquals("Citroën", accentInsensitive.getContent().get(0).getBrand());
+        assertEquals(0, new BigDecimal("60000.00").compareTo(accentInsensitive.getContent().get(0).getPrice()));
+    }
+
+    @Test
+    @DisplayName("Should paginate results in id order")
+    void testPagination() {
+        Page<Vehicle> secondPage = vehicleCatalog.search("", null, null, null, null, null, PageRequest.of(1, 3));
+
+        assertEquals(4, secondPage.getTotalElements());
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals(4L, secondPage.getContent().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should keep bitmaps and price index in sync with writes")
+    void testIncrementalMaintenance() {
+        Vehicle updated = buildVehicle(1L, "Ford", "Mustang", VehicleStatus.AVAILABLE, VehicleType.CAR, VehicleFuel.GASOLINE, "80000.00");
+        vehicleCatalog.onSaved(updated);
+        vehicleCatalog.onStatusChanged(3L, VehicleStatus.MAINTENANCE);
+        vehicleCatalog.onDeleted(2L);
+        vehicleCatalog.onSaved(buildVehicle(5L, "Fiat", "Uno", VehicleStatus.AVAILABLE, VehicleType.CAR, VehicleFuel.FLEX, "20000.00"));
+
+        Page<Vehicle> available = vehicleCatalog.search("", VehicleStatus.AVAILABLE, null, null, null, 100000, PageRequest.of(0, 10));
+
+        assertEquals(3, available.getTotalElements());
+        assertEquals(1L, available.getContent().get(0).getId());
+        assertEquals(4L, available.getContent().get(1).getId());
+        assertEquals(5L, available.getContent().get(2).getId());
+        assertEquals(4, vehicleCatalog.size());
+    }
+
+    @Test
+    @DisplayName("Should insert a lower id in place, keeping bitmaps and price index on the right rows")
+    void testOutOfOrderInsert() {
+        vehicleCatalog.onDeleted(2L);
+        vehicleCatalog.onSaved(buildVehicle(2L, "Fiat", "Uno", VehicleStatus.AVAILABLE, VehicleType.CAR, VehicleFuel.FLEX, "20000.00"));
+        vehicleCatalog.onSaved(buildVehicle(0L, "Fiat", "Palio", VehicleStatus.SOLD, VehicleType.CAR, VehicleFuel.FLEX, "30000.00"));
+
+        Page<Vehicle> all = vehicleCatalog.search("", null, null, null, null, null, PageRequest.of(0, 10));
+        Page<Vehicle> available = vehicleCatalog.search("", VehicleStatus.AVAILABLE, null, null, null, null, PageRequest.of(0, 10));
+        Page<Vehicle> cheap = vehicleCatalog.search("", null, null, null, null, 40000, PageRequest.of(0, 10));
+        Page<Vehicle> fiat = vehicleCatalog.search("fiat", null, null, null, null, null, PageRequest.of(0, 10));
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), all.map(Vehicle::getId).getContent());
+        assertEquals(List.of(1L, 2L, 3L, 4L), available.map(Vehicle::getId).getContent());
+        assertEquals(List.of(0L, 2L, 3L), cheap.map(Vehicle::getId).getContent());
+        assertEquals(List.of(0L, 2L), fiat.map(Vehicle::getId).getContent());
+        assertEquals(5, vehicleCatalog.size());
+
+        vehicleCatalog.onStatusChanged(1L, VehicleStatus.SOLD);
+        Page<Vehicle> sold = vehicleCatalog.search("", VehicleStatus.SOLD, null, null, null, null, PageRequest.of(0, 10));
+        assertEquals(List.of(0L, 1L), sold.map(Vehicle::getId).getContent());
+    }
+
+    @Test
+    @DisplayName("Should hand back every mapped column of the vehicle")
+    void testMaterializeCopiesEveryColumn() {
+        Vehicle vehicle = buildVehicle(6L, "Fiat", "Uno", VehicleStatus.AVAILABLE, VehicleType.CAR, VehicleFuel.FLEX, "20000.00");
+        vehicle.setPlate("ABC1D23");
+        vehicle.setMotor("1.0");
+        vehicle.setPower("75cv");
+        vehicle.setCoverImagePath("images/6/cover.jpg");
+        vehicle.setCreatedAt(LocalDate.of(2024, 3, 1));
+        vehicle.setUpdatedAt(LocalDate.of(2025, 7, 15));
+        vehicleCatalog.onSaved(vehicle);
+
+        Vehicle cached = vehicleCatalog.search("uno", null, null, null, null, null, PageRequest.of(0, 10)).getContent().get(0);
+
+        assertEquals("ABC1D23", cached.getPlate());
+        assertEquals("1.0", cached.getMotor());
+        assertEquals("75cv", cached.getPower());
+        assertEquals("images/6/cover.jpg", cached.getCoverImagePath());
+        assertEquals(LocalDate.of(2024, 3, 1), cached.getCreatedAt());
+        assertEquals(LocalDate.of(2025, 7, 15), cached.getUpdatedAt());
+        assertEquals(0, new BigDecimal("1000.0").compareTo(cached.getMileage()));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.matheus.VehicleManager.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.matheus.VehicleManager.cache.CacheInvocation;
+import com.matheus.VehicleManager.cache.RefreshingCaffeineCache;
+import com.matheus.VehicleManager.cache.SerializingCaffeineCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheConfigTest {
+
+    public static class SaleQueries {
+
+        @Cacheable("sales")
+        public CacheInvocation findPage(int page) {
+            return CacheInvocation.current();
+        }
+
+    }
+
+    @Test
+    @DisplayName("Should read the option names from the parsed spec")
+    void testOptions() {
+        Set<String> options = CacheConfig.options(CaffeineSpec.parse(" maximumWeight=1000, recordStats ,expireAfterWrite=10m"));
+
+        assertEquals(Set.of("maximumWeight", "recordStats", "expireAfterWrite"), options);
+    }
+
+    @Test
+    @DisplayName("Should weigh entries and refresh them as the spec asks")
+    void testBuildCache() {
+        CaffeineCache refreshing = CacheConfig.buildCache("sales",
+                "maximumWeight=1000,expireAfterWrite=10m,refreshAfterWrite=1m", true, Runnable::run);
+        CaffeineCache serialized = CacheConfig.buildCache("clients", "maximumSize=100", true, Runnable::run);
+        CaffeineCache plain = CacheConfig.buildCache("vehicles", "maximumSize=100,expireAfterWrite=10m", false, Runnable::run);
+
+        assertInstanceOf(RefreshingCaffeineCache.class, refreshing);
+        assertTrue(refreshing.getNativeCache().policy().eviction().orElseThrow().isWeighted());
+        assertInstanceOf(SerializingCaffeineCache.class, serialized);
+        assertFalse(plain.getNativeCache().policy().eviction().orElseThrow().isWeighted());
+        assertTrue(plain.getNativeCache().policy().refreshAfterWrite().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should bind the cached call to the thread while it runs and call the target directly on proceed")
+    void testCacheInvocationAdvisor() throws Exception {
+        SaleQueries target = new SaleQueries();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvisor(CacheConfig.cacheInvocationAdvisor());
+        SaleQueries proxy = (SaleQueries) proxyFactory.getProxy();
+
+        CacheInvocation invocation = proxy.findPage(3);
+
+        assertSame(target, invocation.target());
+        assertEquals("findPage", invocation.method().getName());
+        assertArrayEquals(new Object[] {3}, invocation.arguments());
+        assertNull(CacheInvocation.current());
+        // Called again on the target itself, outside the proxy, so nothing is bound
+        assertNull(invocation.proceed());
+    }
+
+}
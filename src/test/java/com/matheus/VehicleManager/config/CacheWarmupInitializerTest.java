@@ -0,0 +1,55 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.cache.CacheWarmer;
+import com.matheus.VehicleManager.cache.HotKeyTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class CacheWarmupInitializerTest {
+
+    private final HotKeyTracker hotKeyTracker = mock(HotKeyTracker.class);
+    private final CacheWarmer cacheWarmer = mock(CacheWarmer.class);
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+    private void runWarmUp() throws Exception {
+        new CacheWarmupInitializer().warmUpCaches(hotKeyTracker, cacheWarmer, publisher, Duration.ofSeconds(1)).run();
+    }
+
+    private static ApplicationEvent readiness(ReadinessState state) {
+        return argThat(event -> event instanceof AvailabilityChangeEvent<?> change && change.getState() == state);
+    }
+
+    @Test
+    @DisplayName("Should refuse traffic while the caches warm up and accept it afterwards")
+    void testHoldsReadiness() throws Exception {
+        when(hotKeyTracker.isEnabled()).thenReturn(true);
+
+        runWarmUp();
+
+        InOrder inOrder = inOrder(publisher, cacheWarmer);
+        inOrder.verify(publisher).publishEvent(readiness(ReadinessState.REFUSING_TRAFFIC));
+        inOrder.verify(cacheWarmer).warmUp(Duration.ofSeconds(1));
+        inOrder.verify(publisher).publishEvent(readiness(ReadinessState.ACCEPTING_TRAFFIC));
+    }
+
+    @Test
+    @DisplayName("Should leave readiness alone when hot-key tracking is off")
+    void testDisabled() throws Exception {
+        runWarmUp();
+
+        verify(cacheWarmer, never()).warmUp(any());
+        verifyNoInteractions(publisher);
+    }
+
+}
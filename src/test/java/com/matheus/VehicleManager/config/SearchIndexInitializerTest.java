@@ -0,0 +1,88 @@
+package com.matheus.VehicleManager.config;
+
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexInitializerTest {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Vehicle> saved = new ArrayList<>();
+
+    private Vehicle saveVehicleWithoutSearchColumns(int index) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setChassi("SearchBackfill" + index);
+        vehicle.setBrand("Citroën");
+        vehicle.setModel("C" + index + " Aircross");
+        vehicle.setPlate("ÁBC" + index);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setYear(1999);
+        vehicle.setColor("Test Color");
+        vehicle.setMileage(new BigDecimal("9999.9"));
+        vehicle.setPrice(new BigDecimal("99999.99"));
+        vehicle.setVehicleFuel(VehicleFuel.FLEX);
+        vehicle.setDoors(4);
+        vehicle = vehicleRepository.save(vehicle);
+        jdbcTemplate.update("UPDATE vehicle SET normalized_brand = NULL, normalized_model = NULL, normalized_plate = NULL, "
+                + "updated_at = DATE '2000-01-01' WHERE id = ?", vehicle.getId());
+        saved.add(vehicle);
+        return vehicle;
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(saved);
+        saved.clear();
+    }
+
+    @Test
+    @DisplayName("Should fill the search columns of every row missing them, across batches")
+    void testBackfillSearchColumns() {
+        int rows = SearchIndexInitializer.BACKFILL_BATCH_SIZE + 2;
+        for (int i = 0; i < rows; i++) {
+            saveVehicleWithoutSearchColumns(i);
+        }
+
+        SearchIndexInitializer.backfillSearchColumns(vehicleRepository, new TransactionTemplate(transactionManager));
+
+        Integer missing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehicle WHERE normalized_brand IS NULL AND chassi LIKE 'SearchBackfill%'", Integer.class);
+        Map<String, Object> columns = jdbcTemplate.queryForMap(
+                "SELECT normalized_brand, normalized_model, normalized_plate, updated_at FROM vehicle WHERE chassi = ?",
+                "SearchBackfill7");
+        assertEquals(0, missing);
+        assertEquals("citroen", columns.get("normalized_brand"));
+        assertEquals("c7 aircross", columns.get("normalized_model"));
+        assertEquals("abc7", columns.get("normalized_plate"));
+        assertEquals(Date.valueOf("2000-01-01"), columns.get("updated_at"));
+    }
+
+}
@@ -1,16 +1,24 @@
 package com.matheus.VehicleManager.controller;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.matheus.VehicleManager.dto.AuthRequestDTO;
+import com.matheus.VehicleManager.dto.RefreshRequestDTO;
 import com.matheus.VehicleManager.dto.UsernameRequestDTO;
 import com.matheus.VehicleManager.enums.UserRole;
+import com.matheus.VehicleManager.exception.LoginRejectedException;
 
 import com.matheus.VehicleManager.model.User;
 import com.matheus.VehicleManager.repository.UserRepository;
 import com.matheus.VehicleManager.security.CustomUserDetailsService;
 import com.matheus.VehicleManager.security.JwtUtil;
+import com.matheus.VehicleManager.security.LoginExecutor;
+import com.matheus.VehicleManager.security.RefreshTokenStore;
+import com.matheus.VehicleManager.security.TokenBlocklist;
 import com.matheus.VehicleManager.service.AuthService;
+import com.matheus.VehicleManager.service.UniquenessService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -22,23 +30,41 @@ import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(AuthController.class)
+@WebMvcTest(value = AuthController.class, properties = "security.jwt.legacy-refresh.until=2999-12-31")
 @AutoConfigureMockMvc(addFilters = false)
 public class AuthControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private AuthController authController;
+
     @MockitoBean
     private AuthenticationManager authenticationManager;
 
@@ -54,10 +80,33 @@ public class AuthControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private UniquenessService uniquenessService;
+
+    @MockitoBean
+    private TokenBlocklist tokenBlocklist;
+
+    @MockitoBean
+    private LoginExecutor loginExecutor;
+
+    @MockitoBean
+    private RefreshTokenStore refreshTokenStore;
+
     private static String asJsonString(final Object obj) throws JsonProcessingException {
         return new ObjectMapper().writeValueAsString(obj);
     }
 
+    private static UserDetails userDetails(String authority) {
+        return new org.springframework.security.core.userdetails.User("UsernameTest", "PasswordTest",
+                List.of(new SimpleGrantedAuthority(authority)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(loginExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+    }
+
     @Test
     @DisplayName("Should return the token for successful login")
     void testSuccessfulLogin() throws Exception {
@@ -67,15 +116,22 @@ public class AuthControllerTest {
 
         Authentication authMock = mock(Authentication.class);
         when(authMock.isAuthenticated()).thenReturn(true);
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(authMock).getAuthorities();
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authMock);
-        when(jwtUtil.generateToken("UsernameTest")).thenReturn("TestToken");
+        when(jwtUtil.generateToken("UsernameTest", "ADMIN")).thenReturn("TestToken");
+        when(refreshTokenStore.issue("UsernameTest")).thenReturn("TestRefreshToken");
 
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(authRequestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value("TestToken"));
+                .andExpect(jsonPath("$.token").value("TestToken"))
+                .andExpect(jsonPath("$.refreshToken").value("TestRefreshToken"));
     }
 
     @Test
@@ -90,22 +146,44 @@ public class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authMock);
 
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(authRequestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$").value("Invalid credentials"));
     }
 
+    @Test
+    @DisplayName("Should answer 429 with Retry-After when the login queue is full")
+    void testLoginRejected() throws Exception {
+        AuthRequestDTO authRequestDTO = new AuthRequestDTO();
+        authRequestDTO.setUsername("UsernameTest");
+        authRequestDTO.setPassword("PasswordTest");
+
+        doThrow(new LoginRejectedException("queue full", 3)).when(loginExecutor).submit(any());
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(authRequestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+    }
+
     @Test
     @DisplayName("Should return the new token for successful refresh")
     void testSuccessfulRefresh() throws Exception {
         UsernameRequestDTO usernameRequestDTO = new UsernameRequestDTO();
         usernameRequestDTO.setUsername("UsernameTest");
 
-        when(jwtUtil.extractUsername("TestToken")).thenReturn("UsernameTest");
-        when(jwtUtil.validateToken("TestToken")).thenReturn(true);
-        when(jwtUtil.generateToken("UsernameTest")).thenReturn("TestNewToken");
+        DecodedJWT jwt = mock(DecodedJWT.class);
+        when(jwt.getSubject()).thenReturn("UsernameTest");
+        when(jwtUtil.verify("TestToken")).thenReturn(jwt);
+        when(jwtUtil.extractRole(jwt)).thenReturn("USER");
+        when(jwtUtil.generateToken("UsernameTest", "USER")).thenReturn("TestNewToken");
 
         mockMvc.perform(post("/api/auth/refresh")
                         .header("Authorization", "Bearer TestToken")
@@ -115,6 +193,118 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.token").value("TestNewToken"));
     }
 
+    @Test
+    @DisplayName("Should rotate the refresh token without an access token")
+    void testRefreshTokenRotation() throws Exception {
+        RefreshRequestDTO refreshRequestDTO = new RefreshRequestDTO();
+        refreshRequestDTO.setRefreshToken("TestRefreshToken");
+
+        when(refreshTokenStore.rotate("TestRefreshToken"))
+                .thenReturn(new RefreshTokenStore.Rotation("UsernameTest", "TestNewRefreshToken"));
+        doReturn(userDetails("ROLE_USER")).when(userDetailsService).loadUserByUsername("UsernameTest");
+        when(jwtUtil.generateToken("UsernameTest", "USER")).thenReturn("TestNewToken");
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(refreshRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("TestNewToken"))
+                .andExpect(jsonPath("$.refreshToken").value("TestNewRefreshToken"));
+    }
+
+    @Test
+    @DisplayName("Should sign the rotated token with the role the user has now")
+    void testRefreshTokenRotationUsesCurrentRole() throws Exception {
+        RefreshRequestDTO refreshRequestDTO = new RefreshRequestDTO();
+        refreshRequestDTO.setRefreshToken("TestRefreshToken");
+
+        when(refreshTokenStore.rotate("TestRefreshToken"))
+                .thenReturn(new RefreshTokenStore.Rotation("UsernameTest", "TestNewRefreshToken"));
+        doReturn(userDetails("ROLE_USER")).when(userDetailsService).loadUserByUsername("UsernameTest");
+        when(jwtUtil.generateToken("UsernameTest", "USER")).thenReturn("TestUserToken");
+        when(jwtUtil.generateToken("UsernameTest", "ADMIN")).thenReturn("TestAdminToken");
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(refreshRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("TestUserToken"));
+    }
+
+    @Test
+    @DisplayName("Should reject the rotation of a deleted user")
+    void testRefreshTokenRotationUnknownUser() throws Exception {
+        RefreshRequestDTO refreshRequestDTO = new RefreshRequestDTO();
+        refreshRequestDTO.setRefreshToken("TestRefreshToken");
+
+        when(refreshTokenStore.rotate("TestRefreshToken"))
+                .thenReturn(new RefreshTokenStore.Rotation("UsernameTest", "TestNewRefreshToken"));
+        when(userDetailsService.loadUserByUsername("UsernameTest")).thenThrow(new UsernameNotFoundException("UsernameTest"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(refreshRequestDTO)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$").value("Token validation failed"));
+    }
+
+    @Test
+    @DisplayName("Should return a error if refresh token invalid or reused")
+    void testRefreshTokenRejected() throws Exception {
+        RefreshRequestDTO refreshRequestDTO = new RefreshRequestDTO();
+        refreshRequestDTO.setRefreshToken("TestRefreshToken");
+
+        when(refreshTokenStore.rotate("TestRefreshToken")).thenReturn(null);
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(refreshRequestDTO)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$").value("Token validation failed"));
+    }
+
+    @Test
+    @DisplayName("Should return a error if neither refresh token nor username sent")
+    void testRefreshWithoutTokenOrUsername() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                        .header("Authorization", "Bearer TestToken")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("Refresh token or username required"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2000-01-01"})
+    @DisplayName("Should not refresh from an access token outside the deprecation window")
+    void testLegacyRefreshClosed(String until) throws Exception {
+        ReflectionTestUtils.setField(authController, "legacyRefreshUntil", until);
+        authController.init();
+        try {
+            UsernameRequestDTO usernameRequestDTO = new UsernameRequestDTO();
+            usernameRequestDTO.setUsername("UsernameTest");
+
+            mockMvc.perform(post("/api/auth/refresh")
+                            .header("Authorization", "Bearer TestToken")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(usernameRequestDTO)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$").value("Refresh token required"));
+        } finally {
+            ReflectionTestUtils.setField(authController, "legacyRefreshUntil", "2999-12-31");
+            authController.init();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail at startup on a malformed deprecation date")
+    void testLegacyRefreshMalformedDate() {
+        AuthController controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "legacyRefreshUntil", "31/12/2999");
+
+        assertThrows(IllegalStateException.class, controller::init);
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"TestToken", ""})
     @DisplayName("Should return a error if authorization not sent or not valid")
@@ -136,8 +326,7 @@ public class AuthControllerTest {
         UsernameRequestDTO usernameRequestDTO = new UsernameRequestDTO();
         usernameRequestDTO.setUsername("UsernameTest");
 
-        when(jwtUtil.extractUsername("TestToken")).thenReturn("UsernameTest");
-        when(jwtUtil.validateToken("TestToken")).thenReturn(false);
+        when(jwtUtil.verify("TestToken")).thenReturn(null);
 
         mockMvc.perform(post("/api/auth/refresh")
                         .header("Authorization", "Bearer TestToken")
@@ -153,8 +342,28 @@ public class AuthControllerTest {
         UsernameRequestDTO usernameRequestDTO = new UsernameRequestDTO();
         usernameRequestDTO.setUsername("UsernameTest");
 
-        when(jwtUtil.extractUsername("TestToken")).thenReturn("DifferentUsernameTest");
-        when(jwtUtil.validateToken("TestToken")).thenReturn(true);
+        DecodedJWT jwt = mock(DecodedJWT.class);
+        when(jwt.getSubject()).thenReturn("DifferentUsernameTest");
+        when(jwtUtil.verify("TestToken")).thenReturn(jwt);
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .header("Authorization", "Bearer TestToken")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(usernameRequestDTO)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$").value("Token validation failed"));
+    }
+
+    @Test
+    @DisplayName("Should return a error if token revoked")
+    void testRefreshRevoked() throws Exception {
+        UsernameRequestDTO usernameRequestDTO = new UsernameRequestDTO();
+        usernameRequestDTO.setUsername("UsernameTest");
+
+        DecodedJWT jwt = mock(DecodedJWT.class);
+        when(jwt.getSubject()).thenReturn("UsernameTest");
+        when(jwtUtil.verify("TestToken")).thenReturn(jwt);
+        when(tokenBlocklist.isRevoked(jwt)).thenReturn(true);
 
         mockMvc.perform(post("/api/auth/refresh")
                         .header("Authorization", "Bearer TestToken")
@@ -164,6 +373,19 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$").value("Token validation failed"));
     }
 
+    @Test
+    @DisplayName("Should revoke the token on logout")
+    void testLogout() throws Exception {
+        DecodedJWT jwt = mock(DecodedJWT.class);
+        when(jwtUtil.verify("TestToken")).thenReturn(jwt);
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer TestToken"))
+                .andExpect(status().isNoContent());
+
+        verify(tokenBlocklist).revokeToken(jwt);
+    }
+
     @Test
     @DisplayName("Should create a new user")
     void testCreateSuccess() throws Exception {
@@ -2,18 +2,22 @@ package com.matheus.VehicleManager.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matheus.VehicleManager.dto.ClientResponseDTO;
 import com.matheus.VehicleManager.model.Client;
 import com.matheus.VehicleManager.security.JwtAuthenticationFilter;
 import com.matheus.VehicleManager.security.JwtUtil;
 import com.matheus.VehicleManager.service.ClientService;
+import com.matheus.VehicleManager.service.UniquenessService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -36,6 +40,9 @@ class ClientControllerTest {
     @MockitoBean
     private ClientService clientService;
 
+    @MockitoBean
+    private UniquenessService uniquenessService;
+
     @MockitoBean
     private JwtUtil jwtUtil;
 
@@ -61,7 +68,7 @@ class ClientControllerTest {
     void testGetAll() throws Exception {
         Client client = buildClient(1L);
         when(clientService.findAll(0, 10))
-                .thenReturn(new PageImpl<>(List.of(client), PageRequest.of(0, 10), 1));
+                .thenReturn(new PageImpl<>(List.of(ClientResponseDTO.of(client)), PageRequest.of(0, 10), 1));
 
         mockMvc.perform(get("/api/clients")
                         .param("page", "0")
@@ -76,7 +83,7 @@ class ClientControllerTest {
     @DisplayName("Should return all clients based on a search")
     void testSearch() throws Exception {
         Client client = buildClient(1L);
-        when(clientService.search("TestFirstName")).thenReturn(List.of(client));
+        when(clientService.search("TestFirstName")).thenReturn(List.of(ClientResponseDTO.of(client)));
 
         mockMvc.perform(get("/api/clients/search")
                         .param("searchFor", "TestFirstName")
@@ -89,7 +96,7 @@ class ClientControllerTest {
     @DisplayName("Should return a specific client based on email")
     void testGetByEmail() throws Exception {
         Client client = buildClient(1L);
-        when(clientService.findByEmail("test@test.com")).thenReturn(client);
+        when(clientService.findByEmail("test@test.com")).thenReturn(ClientResponseDTO.of(client));
 
         mockMvc.perform(get("/api/clients/email/test@test.com")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -101,7 +108,7 @@ class ClientControllerTest {
     @DisplayName("Should return a specific client based on id")
     void testGetById() throws Exception {
         Client client = buildClient(1L);
-        when(clientService.getById(1L)).thenReturn(client);
+        when(clientService.getById(1L)).thenReturn(ClientResponseDTO.of(client));
 
         mockMvc.perform(get("/api/clients/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -136,6 +143,21 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.errors").exists());
     }
 
+    @Test
+    @DisplayName("Should answer a duplicate email caught by the database as a validation error")
+    void testInsertDuplicateEmail() throws Exception {
+        Client client = buildClient(null);
+
+        when(clientService.create(any(Client.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_CLIENT_EMAIL ON PUBLIC.CLIENT(EMAIL NULLS FIRST) VALUES ( /* 1 */ 'test@test.com' )\"")));
+
+        mockMvc.perform(post("/api/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(client)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.email").value("O email já está em uso"));
+    }
+
     @Test
     @DisplayName("Should update a specific client")
     void testUpdateSuccess() throws Exception {
@@ -184,4 +206,51 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.errors.error").value("Client not found"));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should return clients with a next page flag instead of a total")
+    void testGetAllWithoutTotal() throws Exception {
+        Client client = buildClient(1L);
+        when(clientService.findAllSlice(0, 10))
+                .thenReturn(new SliceImpl<>(List.of(ClientResponseDTO.of(client)), PageRequest.of(0, 10), true));
+
+        mockMvc.perform(get("/api/clients")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param("total", "none")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(clientService, never()).findAll(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return clients with an approximate total")
+    void testGetAllApproximateTotal() throws Exception {
+        Client client = buildClient(1L);
+        when(clientService.findAllSlice(0, 10))
+                .thenReturn(new SliceImpl<>(List.of(ClientResponseDTO.of(client)), PageRequest.of(0, 10), true));
+        when(clientService.approximateCount()).thenReturn(250L);
+
+        mockMvc.perform(get("/api/clients")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param("total", "approx")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").value(250));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown total mode")
+    void testGetAllInvalidTotal() throws Exception {
+        mockMvc.perform(get("/api/clients")
+                        .param("total", "maybe")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.total").exists());
+    }
+}
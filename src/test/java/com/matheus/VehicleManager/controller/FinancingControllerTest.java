@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.matheus.VehicleManager.dto.FinancingRequestDTO;
+import com.matheus.VehicleManager.dto.FinancingResponseDTO;
 import com.matheus.VehicleManager.dto.FinancingStatusRequestDTO;
 import com.matheus.VehicleManager.dto.VehicleMinimalDTO;
 import com.matheus.VehicleManager.enums.*;
@@ -107,7 +108,7 @@ public class FinancingControllerTest {
         Financing financing1 = buildFinancing(1L, new Vehicle(), new Client(), FinancingStatus.DRAFT);
         Financing financing2 = buildFinancing(2L, new Vehicle(), new Client(), FinancingStatus.ACTIVE);
         when(financingService.getAll(0, 10))
-                .thenReturn(new PageImpl<>(List.of(financing1, financing2), PageRequest.of(0, 10), 1));
+                .thenReturn(new PageImpl<>(List.of(FinancingResponseDTO.of(financing1), FinancingResponseDTO.of(financing2)), PageRequest.of(0, 10), 1));
 
 
         mockMvc.perform(get("/api/financings")
@@ -125,7 +126,7 @@ public class FinancingControllerTest {
     @DisplayName("Should return a specific financing based on id")
     void testGet() throws Exception {
         Financing financing = buildFinancing(1L, new Vehicle(), new Client(), FinancingStatus.DRAFT);
-        when(financingService.getById(1L)).thenReturn(financing);
+        when(financingService.getById(1L)).thenReturn(FinancingResponseDTO.of(financing));
 
         mockMvc.perform(get("/api/financings/1").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -138,7 +139,7 @@ public class FinancingControllerTest {
     void testGetByVehicleIdNotCanceled() throws Exception {
         Vehicle vehicle = buildVehicle(1L, VehicleStatus.SOLD);
         Financing financing = buildFinancing(1L, vehicle, new Client(), FinancingStatus.DRAFT);
-        when(financingService.getByVehicleIdNotCanceled(1L)).thenReturn(financing);
+        when(financingService.getByVehicleIdNotCanceled(1L)).thenReturn(FinancingResponseDTO.of(financing));
 
         mockMvc.perform(get("/api/financings/vehicle/1").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
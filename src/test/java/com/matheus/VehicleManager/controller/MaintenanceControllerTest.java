@@ -3,6 +3,7 @@ package com.matheus.VehicleManager.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.matheus.VehicleManager.dto.MaintenanceRequestDTO;
+import com.matheus.VehicleManager.dto.MaintenanceResponseDTO;
 import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
@@ -85,7 +86,7 @@ public class MaintenanceControllerTest {
         Maintenance maintenance1 = buildMaintenance(1L, new Vehicle());
         Maintenance maintenance2 = buildMaintenance(2L, new Vehicle());
         when(maintenanceService.findAll(0, 10))
-                .thenReturn(new PageImpl<>(List.of(maintenance1, maintenance2), PageRequest.of(0, 10), 1));
+                .thenReturn(new PageImpl<>(List.of(MaintenanceResponseDTO.of(maintenance1), MaintenanceResponseDTO.of(maintenance2)), PageRequest.of(0, 10), 1));
 
 
         mockMvc.perform(get("/api/maintenances")
@@ -106,7 +107,7 @@ public class MaintenanceControllerTest {
 
         Maintenance maintenance1 = buildMaintenance(1L, vehicle);
         Maintenance maintenance2 = buildMaintenance(2L, vehicle);
-        when(maintenanceService.findAllByVehicleId(1L)).thenReturn(List.of(maintenance1, maintenance2));
+        when(maintenanceService.findAllByVehicleId(1L)).thenReturn(List.of(MaintenanceResponseDTO.of(maintenance1), MaintenanceResponseDTO.of(maintenance2)));
 
         mockMvc.perform(get("/api/maintenances/vehicle/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -123,7 +124,7 @@ public class MaintenanceControllerTest {
     @DisplayName("Should return a specific maintenance based on id")
     void testGet() throws Exception {
         Maintenance maintenance = buildMaintenance(1L, new Vehicle());
-        when(maintenanceService.findById(1L)).thenReturn(maintenance);
+        when(maintenanceService.findById(1L)).thenReturn(MaintenanceResponseDTO.of(maintenance));
 
         mockMvc.perform(get("/api/maintenances/1").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
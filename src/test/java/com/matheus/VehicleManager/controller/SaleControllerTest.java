@@ -3,6 +3,7 @@ package com.matheus.VehicleManager.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.matheus.VehicleManager.dto.SaleRequestDTO;
+import com.matheus.VehicleManager.dto.SaleResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleMinimalDTO;
 import com.matheus.VehicleManager.enums.SalesStatus;
 import com.matheus.VehicleManager.enums.VehicleFuel;
@@ -103,7 +104,7 @@ public class SaleControllerTest {
         Sale sale1 = buildSale(1L, new Vehicle(), new Client(), SalesStatus.SOLD);
         Sale sale2 = buildSale(2L, new Vehicle(), new Client(), SalesStatus.RESERVED);
         when(saleService.findAll(0, 10))
-                .thenReturn(new PageImpl<>(List.of(sale1, sale2), PageRequest.of(0, 10), 1));
+                .thenReturn(new PageImpl<>(List.of(SaleResponseDTO.of(sale1), SaleResponseDTO.of(sale2)), PageRequest.of(0, 10), 1));
 
         mockMvc.perform(get("/api/sales")
                         .param("page", "0")
@@ -123,7 +124,7 @@ public class SaleControllerTest {
 
         Sale sale1 = buildSale(1L, vehicle, new Client(), SalesStatus.CANCELED);
         Sale sale2 = buildSale(2L, vehicle, new Client(), SalesStatus.SOLD);
-        when(saleService.findAllByVehicleId(1L)).thenReturn(List.of(sale1, sale2));
+        when(saleService.findAllByVehicleId(1L)).thenReturn(List.of(SaleResponseDTO.of(sale1), SaleResponseDTO.of(sale2)));
 
         mockMvc.perform(get("/api/sales/vehicle/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -140,7 +141,7 @@ public class SaleControllerTest {
     @DisplayName("Should return a specific sale based on id")
     void testGet() throws Exception {
         Sale sale = buildSale(1L, new Vehicle(), new Client(), SalesStatus.SOLD);
-        when(saleService.findById(1L)).thenReturn(sale);
+        when(saleService.findById(1L)).thenReturn(SaleResponseDTO.of(sale));
 
         mockMvc.perform(get("/api/sales/1").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
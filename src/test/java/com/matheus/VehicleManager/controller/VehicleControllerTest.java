@@ -5,11 +5,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleImagesResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleRequestDTO;
+import com.matheus.VehicleManager.dto.VehicleResponseDTO;
 import com.matheus.VehicleManager.enums.VehicleChange;
 import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.KeysetCursor;
 import com.matheus.VehicleManager.security.JwtAuthenticationFilter;
 import com.matheus.VehicleManager.security.JwtUtil;
 import com.matheus.VehicleManager.service.VehicleService;
@@ -22,6 +24,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -79,7 +83,7 @@ public class VehicleControllerTest {
     @DisplayName("Should return a specific vehicle based on the chassi value")
     void testFindByChassi() throws Exception {
         Vehicle vehicle = buildVehicle(1L, VehicleStatus.AVAILABLE);
-        when(vehicleService.findByChassi("TestChassi123")).thenReturn(vehicle);
+        when(vehicleService.findByChassi("TestChassi123")).thenReturn(VehicleResponseDTO.of(vehicle));
 
         mockMvc.perform(get("/api/vehicles/chassi/TestChassi123")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -114,12 +118,12 @@ public class VehicleControllerTest {
     void testGetFilteredVehicles() throws Exception {
         Vehicle vehicle1 = buildVehicle(1L, VehicleStatus.AVAILABLE);
         Vehicle vehicle2 = buildVehicle(2L, VehicleStatus.AVAILABLE);
-        List<Vehicle> searchedVehicles = new ArrayList<>();
-        searchedVehicles.add(vehicle1);
-        searchedVehicles.add(vehicle2);
+        List<VehicleResponseDTO> searchedVehicles = new ArrayList<>();
+        searchedVehicles.add(VehicleResponseDTO.of(vehicle1));
+        searchedVehicles.add(VehicleResponseDTO.of(vehicle2));
 
         Pageable paging = PageRequest.of(0, 20);
-        Page<Vehicle> vehiclePage = new PageImpl<>(searchedVehicles, paging, searchedVehicles.size());
+        Page<VehicleResponseDTO> vehiclePage = new PageImpl<>(searchedVehicles, paging, searchedVehicles.size());
         when(vehicleService.getFilteredVehicles(
                 anyString(),
                 any(),
@@ -207,14 +211,47 @@ public class VehicleControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Should return a keyset slice of vehicles when the after cursor is informed")
+    void testGetFilteredVehiclesAfter() throws Exception {
+        Vehicle vehicle1 = buildVehicle(1L, VehicleStatus.AVAILABLE);
+        Vehicle vehicle2 = buildVehicle(2L, VehicleStatus.AVAILABLE);
+        Slice<VehicleResponseDTO> vehicleSlice = new SliceImpl<>(List.of(VehicleResponseDTO.of(vehicle1), VehicleResponseDTO.of(vehicle2)), PageRequest.of(0, 2), true);
+        when(vehicleService.getFilteredVehiclesAfter(
+                anyString(),
+                any(),
+                any(),
+                any(),
+                anyInt(),
+                anyInt(),
+                eq(""),
+                eq(2)
+        )).thenReturn(vehicleSlice);
+
+        mockMvc.perform(get("/api/vehicles")
+                        .param("after", "")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[1].id").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.next").value(KeysetCursor.encode(2L)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(vehicleService, never()).getFilteredVehicles(
+                anyString(), any(), any(), any(), anyInt(), anyInt(), anyInt(), anyInt()
+        );
+    }
+
     @Test
     @DisplayName("Should return all available vehicles")
     void testSearchAvailableVehicles() throws Exception {
         Vehicle vehicle1 = buildVehicle(1L, VehicleStatus.AVAILABLE);
         Vehicle vehicle2 = buildVehicle(2L, VehicleStatus.AVAILABLE);
-        List<Vehicle> searchedVehicles = new ArrayList<>();
-        searchedVehicles.add(vehicle1);
-        searchedVehicles.add(vehicle2);
+        List<VehicleResponseDTO> searchedVehicles = new ArrayList<>();
+        searchedVehicles.add(VehicleResponseDTO.of(vehicle1));
+        searchedVehicles.add(VehicleResponseDTO.of(vehicle2));
         when(vehicleService.searchAvailableVehicles("Ford")).thenReturn(searchedVehicles);
 
         mockMvc.perform(get("/api/vehicles/search?searchFor=Ford")
@@ -0,0 +1,116 @@
+package com.matheus.VehicleManager.pagination;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class ApproximateCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ApproximateCounter approximateCounter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+        approximateCounter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        approximateCounter.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should count once in the background and serve the cached total while it is fresh")
+    void testCountIsCached() throws InterruptedException {
+        AtomicLong calls = new AtomicLong();
+
+        long first = approximateCounter.count("clients", "client", () -> 10 + calls.getAndIncrement());
+        long second = first;
+        for (int attempt = 0; attempt < 100 && second != 10; attempt++) {
+            Thread.sleep(10);
+            second = approximateCounter.count("clients", "client", () -> 10 + calls.getAndIncrement());
+        }
+        long third = approximateCounter.count("clients", "client", () -> 10 + calls.getAndIncrement());
+
+        assertEquals(0, first);
+        assertEquals(10, second);
+        assertEquals(10, third);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the counts of at most the configured number of filters")
+    void testCountsAreBounded() throws InterruptedException {
+        ReflectionTestUtils.setField(approximateCounter, "maxKeys", 10L);
+        approximateCounter.init();
+
+        for (int i = 0; i < 100; i++) {
+            approximateCounter.count("vehicles-search-" + i, null, () -> 1);
+            Thread.sleep(1);
+        }
+        Thread.sleep(100);
+
+        assertTrue(approximateCounter.trackedCounts() <= 10);
+    }
+
+    @Test
+    @DisplayName("Should serve the stale total and refresh it in the background once expired")
+    void testStaleCountIsRefreshedInBackground() throws InterruptedException {
+        // Fresh while the first count lands, so no refresh is still queued when the value changes
+        ReflectionTestUtils.setField(approximateCounter, "ttl", Duration.ofHours(1));
+        AtomicLong value = new AtomicLong(10);
+
+        long first = approximateCounter.count("sales", null, value::get);
+        for (int attempt = 0; attempt < 100 && first != 10; attempt++) {
+            Thread.sleep(10);
+            first = approximateCounter.count("sales", null, value::get);
+        }
+        value.set(20);
+        ReflectionTestUtils.setField(approximateCounter, "ttl", Duration.ZERO);
+        Thread.sleep(5);
+        long stale = approximateCounter.count("sales", null, value::get);
+
+        long refreshed = stale;
+        for (int attempt = 0; attempt < 100 && refreshed != 20; attempt++) {
+            Thread.sleep(10);
+            refreshed = approximateCounter.count("sales", null, value::get);
+        }
+
+        assertEquals(10, stale);
+        assertEquals(20, refreshed);
+    }
+
+    @Test
+    @DisplayName("Should never report a total below what the slice has already seen")
+    void testApproximatePageTotalIsBounded() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 2), true);
+
+        Page<String> page = ApproximatePage.of(slice, 4);
+
+        assertEquals(9, page.getTotalElements());
+    }
+}
@@ -0,0 +1,138 @@
+package com.matheus.VehicleManager.repository;
+
+import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.search.SearchNormalizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VehicleRepositoryTest {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Vehicle> saved = new ArrayList<>();
+
+    private Vehicle saveVehicle(String chassi, String brand, String model, String plate, VehicleStatus status, String price) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setChassi(chassi);
+        vehicle.setBrand(brand);
+        vehicle.setModel(model);
+        vehicle.setPlate(plate);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setYear(1999);
+        vehicle.setColor("Test Color");
+        vehicle.setMileage(new BigDecimal("9999.9"));
+        vehicle.setPrice(new BigDecimal(price));
+        vehicle.setVehicleFuel(VehicleFuel.FLEX);
+        vehicle.setDoors(4);
+        vehicle = vehicleRepository.save(vehicle);
+        if (status != VehicleStatus.AVAILABLE) {
+            vehicleRepository.updateStatus(vehicle.getId(), status);
+        }
+        saved.add(vehicle);
+        return vehicle;
+    }
+
+    @BeforeEach
+    void setUp() {
+        saveVehicle("NormalizedSearch01", "Citroën", "Ñandú Sedan", "ÁBC1D23", VehicleStatus.AVAILABLE, "50000.00");
+        saveVehicle("NormalizedSearch02", "CITROEN", "Nandu Hatch", "XYZ9K87", VehicleStatus.SOLD, "80000.00");
+        saveVehicle("NormalizedSearch03", "Fiat", "Nandu Wagon", "DEF4G56", VehicleStatus.AVAILABLE, "120000.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(saved);
+        saved.clear();
+    }
+
+    @Test
+    @DisplayName("Should store the search columns normalized on save")
+    void testSearchColumnsNormalizedOnSave() {
+        Map<String, Object> columns = jdbcTemplate.queryForMap(
+                "SELECT normalized_brand, normalized_model, normalized_plate FROM vehicle WHERE chassi = ?", "NormalizedSearch01");
+
+        assertEquals("citroen", columns.get("normalized_brand"));
+        assertEquals("nandu sedan", columns.get("normalized_model"));
+        assertEquals("abc1d23", columns.get("normalized_plate"));
+    }
+
+    @Test
+    @DisplayName("Should match brand and model ignoring case and accents")
+    void testSearchVehiclesIgnoresCaseAndAccents() {
+        Page<Vehicle> byBrand = vehicleRepository.searchVehicles(SearchNormalizer.normalize("CITROËN"),
+                null, null, null, null, null, PageRequest.of(0, 10));
+        Page<Vehicle> byModel = vehicleRepository.searchVehicles(SearchNormalizer.normalize("ñandu"),
+                null, null, null, null, null, PageRequest.of(0, 10));
+
+        assertEquals(List.of("NormalizedSearch01", "NormalizedSearch02"), byBrand.map(Vehicle::getChassi).getContent());
+        assertEquals(3, byModel.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should apply the status and price filters along with the search")
+    void testSearchVehiclesWithFilters() {
+        String search = SearchNormalizer.normalize("Nandú");
+
+        Page<VehicleImageResponseDTO> sold = vehicleRepository.searchVehiclesWithImages(search,
+                VehicleStatus.SOLD, null, null, null, null, PageRequest.of(0, 10));
+        long cheap = vehicleRepository.countVehicles(search, null, null, null, null, 90000);
+
+        assertEquals(List.of("NormalizedSearch02"), sold.map(VehicleImageResponseDTO::chassi).getContent());
+        assertEquals(2, cheap);
+    }
+
+    @Test
+    @DisplayName("Should page by id after the given vehicle")
+    void testSearchVehiclesAfter() {
+        String search = SearchNormalizer.normalize("nandu");
+        Long firstId = saved.get(0).getId();
+
+        Slice<Vehicle> first = vehicleRepository.searchVehiclesAfter(search, null, null, null, null, null, null, PageRequest.of(0, 2));
+        Slice<Vehicle> next = vehicleRepository.searchVehiclesAfter(search, null, null, null, null, null,
+                first.getContent().get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(firstId, first.getContent().get(0).getId());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("NormalizedSearch03"), next.map(Vehicle::getChassi).getContent());
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should search only available vehicles, plate included")
+    void testSearchAvailableVehicles() {
+        List<Vehicle> byPlate = vehicleRepository.searchAvailableVehicles(SearchNormalizer.normalize("ábc1"));
+        List<Vehicle> byBrand = vehicleRepository.searchAvailableVehicles(SearchNormalizer.normalize("Citroen"));
+
+        assertEquals(List.of("NormalizedSearch01"), byPlate.stream().map(Vehicle::getChassi).toList());
+        assertEquals(List.of("NormalizedSearch01"), byBrand.stream().map(Vehicle::getChassi).toList());
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.matheus.VehicleManager.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchNormalizerTest {
+
+    @Test
+    @DisplayName("Should lower-case and strip accents")
+    void testNormalize() {
+        assertEquals("citroen", SearchNormalizer.normalize("Citroën"));
+        assertEquals("sao joao", SearchNormalizer.normalize("SÃO JOÃO"));
+        assertEquals("nandu", SearchNormalizer.normalize("Ñandú"));
+    }
+
+    @Test
+    @DisplayName("Should lower-case independently of the default locale")
+    void testNormalizeIgnoresDefaultLocale() {
+        assertEquals("fiat uno title", SearchNormalizer.normalize("FIAT UNO TITLE"));
+    }
+
+    @Test
+    @DisplayName("Should keep null and empty values as they are")
+    void testNormalizeNullAndEmpty() {
+        assertNull(SearchNormalizer.normalize(null));
+        assertEquals("", SearchNormalizer.normalize(""));
+    }
+
+}
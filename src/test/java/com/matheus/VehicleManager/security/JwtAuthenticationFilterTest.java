@@ -0,0 +1,84 @@
+package com.matheus.VehicleManager.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenBlocklist tokenBlocklist;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private final DecodedJWT jwt = mock(DecodedJWT.class);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(jwtUtil.verify("TestToken")).thenReturn(jwt);
+        when(jwt.getSubject()).thenReturn("UsernameTest");
+        when(jwtUtil.extractRole(jwt)).thenReturn("ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest request() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/vehicles");
+        request.addHeader("Authorization", "Bearer TestToken");
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should keep the authentication on the request for the async dispatch")
+    void testContextSavedForAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = request();
+        SecurityContextHolder.clearContext();
+
+        Authentication saved = new RequestAttributeSecurityContextRepository()
+                .loadDeferredContext(request).get().getAuthentication();
+
+        assertNotNull(saved);
+        assertEquals("UsernameTest", saved.getName());
+        assertTrue(saved.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Should not keep anything on the request for a revoked token")
+    void testRevokedTokenNotSaved() throws Exception {
+        when(tokenBlocklist.isRevoked(jwt)).thenReturn(true);
+
+        MockHttpServletRequest request = request();
+
+        assertNull(new RequestAttributeSecurityContextRepository()
+                .loadDeferredContext(request).get().getAuthentication());
+    }
+
+}
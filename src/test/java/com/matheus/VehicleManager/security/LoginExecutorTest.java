@@ -0,0 +1,92 @@
+package com.matheus.VehicleManager.security;
+
+import com.matheus.VehicleManager.exception.LoginRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginExecutorTest {
+
+    private LoginExecutor loginExecutor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        loginExecutor = new LoginExecutor();
+        ReflectionTestUtils.setField(loginExecutor, "threads", 1);
+        ReflectionTestUtils.setField(loginExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(loginExecutor, "maxQueueWait", Duration.ofSeconds(5));
+        loginExecutor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        loginExecutor.stop();
+    }
+
+    private String blockedLogin() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "token";
+    }
+
+    @Test
+    @DisplayName("Should run the login off the calling thread and hand back its result")
+    void testLogin() throws Exception {
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Boolean> login = loginExecutor.submit(() -> Thread.currentThread() != caller);
+
+        assertTrue(login.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loginExecutor.stats().completed());
+    }
+
+    @Test
+    @DisplayName("Should reject at once when the worker and the queue are taken")
+    void testQueueFull() throws Exception {
+        CompletableFuture<String> running = loginExecutor.submit(this::blockedLogin);
+        while (loginExecutor.stats().active() == 0) Thread.sleep(5);
+        CompletableFuture<String> queued = loginExecutor.submit(() -> "queued");
+
+        LoginRejectedException rejected =
+                assertThrows(LoginRejectedException.class, () -> loginExecutor.submit(() -> "rejected"));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1, loginExecutor.stats().rejectedQueueFull());
+
+        release.countDown();
+        assertEquals("token", running.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should drop a login that waited in the queue longer than allowed")
+    void testQueueWait() throws Exception {
+        ReflectionTestUtils.setField(loginExecutor, "maxQueueWait", Duration.ofMillis(20));
+        CompletableFuture<String> running = loginExecutor.submit(this::blockedLogin);
+        CompletableFuture<String> queued = loginExecutor.submit(() -> "queued");
+
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals("token", running.get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LoginRejectedException.class, failure.getCause());
+        assertEquals(1, loginExecutor.stats().rejectedQueueWait());
+    }
+
+}
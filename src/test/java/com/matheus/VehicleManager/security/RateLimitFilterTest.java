@@ -0,0 +1,86 @@
+package com.matheus.VehicleManager.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = new RateLimitFilter();
+        ReflectionTestUtils.setField(rateLimitFilter, "enabled", true);
+        for (String group : List.of("reads", "writes", "uploads", "auth")) {
+            ReflectionTestUtils.setField(rateLimitFilter, group + "Capacity", 2);
+            ReflectionTestUtils.setField(rateLimitFilter, group + "Period", Duration.ofMinutes(1));
+        }
+        ReflectionTestUtils.setField(rateLimitFilter, "maxKeys", 100);
+        ReflectionTestUtils.setField(rateLimitFilter, "evictionInterval", Duration.ofMinutes(1));
+        rateLimitFilter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimitFilter.stop();
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse request(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should send the rate limit headers and answer 429 once the budget is spent")
+    void testBudget() throws Exception {
+        MockHttpServletResponse first = request("GET", "/api/vehicles/search");
+        request("GET", "/api/vehicles/search");
+        MockHttpServletResponse rejected = request("GET", "/api/vehicles/search");
+
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader("RateLimit-Limit"));
+        assertEquals("1", first.getHeader("RateLimit-Remaining"));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader("RateLimit-Remaining"));
+        assertEquals("30", rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per endpoint group and per user")
+    void testGroupsAndUsers() throws Exception {
+        request("GET", "/api/vehicles");
+        request("GET", "/api/vehicles");
+
+        assertEquals(200, request("POST", "/api/vehicles").getStatus());
+        assertEquals(200, request("POST", "/api/files").getStatus());
+        assertEquals(200, request("POST", "/api/auth/login").getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("UsernameTest", null, List.of()));
+        assertEquals(200, request("GET", "/api/vehicles").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should leave requests outside the API alone")
+    void testOutsideApi() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertNull(request("GET", "/actuator/health").getHeader("RateLimit-Limit"));
+        }
+    }
+
+}
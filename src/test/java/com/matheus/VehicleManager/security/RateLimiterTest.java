@@ -0,0 +1,117 @@
+package com.matheus.VehicleManager.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private final RateLimiter rateLimiter = new RateLimiter(10, Duration.ofSeconds(10), 100, clock::get);
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then ask to retry after one refill interval")
+    void testBurst() {
+        for (int i = 0; i < 10; i++) {
+            RateLimiter.Decision decision = rateLimiter.tryAcquire("user:a");
+            assertTrue(decision.allowed());
+            assertEquals(9 - i, decision.remaining());
+        }
+
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire("user:a");
+
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(Duration.ofSeconds(1).toNanos(), rejected.retryAfterNanos());
+        assertEquals(Duration.ofSeconds(10).toNanos(), rejected.resetNanos());
+        assertTrue(rateLimiter.tryAcquire("user:b").allowed());
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval")
+    void testRefill() {
+        for (int i = 0; i < 10; i++) rateLimiter.tryAcquire("user:a");
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertTrue(rateLimiter.tryAcquire("user:a").allowed());
+        assertFalse(rateLimiter.tryAcquire("user:a").allowed());
+    }
+
+    @Test
+    @DisplayName("Should evict refilled buckets and stay within the key limit")
+    void testEviction() {
+        RateLimiter small = new RateLimiter(10, Duration.ofSeconds(10), 2, clock::get);
+        small.tryAcquire("user:a");
+        small.tryAcquire("user:b");
+        small.tryAcquire("user:c");
+        small.tryAcquire("user:d");
+
+        assertTrue(small.size() <= 2);
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        small.evictExpired();
+
+        assertEquals(0, small.size());
+    }
+
+    @Test
+    @DisplayName("Should give clients past the key limit their own bucket instead of a shared one")
+    void testNoSharedBucketPastKeyLimit() {
+        RateLimiter small = new RateLimiter(10, Duration.ofSeconds(10), 2, clock::get);
+        for (int i = 0; i < 10; i++) small.tryAcquire("user:a");
+        assertFalse(small.tryAcquire("user:a").allowed());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(small.tryAcquire("user:new-" + i).allowed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop buckets idle for a whole period without an eviction pass")
+    void testIdleExpiry() {
+        rateLimiter.tryAcquire("user:a");
+        assertEquals(1, rateLimiter.size());
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertEquals(0, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than the capacity under contention")
+    void testConcurrency() throws Exception {
+        RateLimiter limiter = new RateLimiter(1000, Duration.ofHours(1), 100);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("user:a").allowed()) allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, allowed.get());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.matheus.VehicleManager.security;
+
+import com.matheus.VehicleManager.model.RefreshToken;
+import com.matheus.VehicleManager.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            ReflectionTestUtils.setField(token, "id", 1L);
+            return token;
+        });
+        when(refreshTokenRepository.markUsed(anyLong(), any(Instant.class))).thenReturn(1);
+        refreshTokenStore.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenStore.stop();
+    }
+
+    @Test
+    @DisplayName("Should exchange a refresh token for a new one of the same user")
+    void testRotate() {
+        String issued = refreshTokenStore.issue("UsernameTest");
+
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(issued);
+
+        assertNotNull(rotation);
+        assertEquals("UsernameTest", rotation.username());
+        assertNotEquals(issued, rotation.refreshToken());
+        verify(refreshTokenRepository, never()).findByTokenHash(anyString());
+    }
+
+    @Test
+    @DisplayName("Should revoke the family when a used refresh token is presented again")
+    void testReuse() {
+        String issued = refreshTokenStore.issue("UsernameTest");
+        assertNotNull(refreshTokenStore.rotate(issued));
+
+        assertNull(refreshTokenStore.rotate(issued));
+        verify(refreshTokenRepository, times(1)).deleteByFamilyId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should treat a token another instance already rotated as reused")
+    void testReuseOnOtherInstance() {
+        String issued = refreshTokenStore.issue("UsernameTest");
+        when(refreshTokenRepository.markUsed(anyLong(), any(Instant.class))).thenReturn(0);
+
+        assertNull(refreshTokenStore.rotate(issued));
+        verify(refreshTokenRepository, times(1)).deleteByFamilyId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown and expired refresh tokens")
+    void testInvalid() {
+        RefreshToken expired = new RefreshToken(RefreshTokenStore.hash("expired"), "family", "UsernameTest",
+                Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenStore.hash("expired"))).thenReturn(expired);
+
+        assertNull(refreshTokenStore.rotate("unknown"));
+        assertNull(refreshTokenStore.rotate("expired"));
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should purge expired tokens in batches until a batch comes back short")
+    void testPurge() {
+        ReflectionTestUtils.setField(refreshTokenStore, "purgeBatchSize", 2);
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
+
+        refreshTokenStore.purgeExpired();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(Instant.class), eq(2));
+    }
+
+    @Test
+    @DisplayName("Should drop every refresh token of a revoked user")
+    void testRevokeUser() {
+        String issued = refreshTokenStore.issue("UsernameTest");
+        when(refreshTokenRepository.findHashesByUsername("UsernameTest"))
+                .thenReturn(List.of(RefreshTokenStore.hash(issued)));
+
+        refreshTokenStore.revokeUser("UsernameTest");
+
+        assertNull(refreshTokenStore.rotate(issued));
+        verify(refreshTokenRepository, times(1)).deleteByUsername("UsernameTest");
+    }
+
+}
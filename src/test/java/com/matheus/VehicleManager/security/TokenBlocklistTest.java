@@ -0,0 +1,153 @@
+package com.matheus.VehicleManager.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.matheus.VehicleManager.model.RevokedToken;
+import com.matheus.VehicleManager.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TokenBlocklistTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenBlocklist tokenBlocklist;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "SECRET_KEY");
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 100L);
+        jwtUtil.init();
+    }
+
+    private DecodedJWT token(String username) {
+        return jwtUtil.verify(jwtUtil.generateToken(username, "USER"));
+    }
+
+    private static DecodedJWT issuedAt(String username, Instant issuedAt) {
+        return JWT.decode(JWT.create()
+                .withSubject(username)
+                .withIssuedAt(Date.from(issuedAt))
+                .sign(Algorithm.HMAC256("SECRET_KEY")));
+    }
+
+    @Test
+    @DisplayName("Should authorize from the role claim of the token")
+    void testRoleClaim() {
+        DecodedJWT jwt = token("UsernameTest");
+
+        assertEquals("UsernameTest", jwt.getSubject());
+        assertEquals("USER", jwtUtil.extractRole(jwt));
+        assertNotNull(jwt.getId());
+        assertNull(jwtUtil.verify(jwtUtil.generateToken("UsernameTest", "USER") + "x"));
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve it from the verified-token cache afterwards")
+    void testVerifiedTokenCache() {
+        String token = jwtUtil.generateToken("UsernameTest", "USER");
+        int signature = token.lastIndexOf('.') + 1;
+        String tampered = token.substring(0, signature) + (token.charAt(signature) == 'A' ? 'B' : 'A')
+                + token.substring(signature + 1);
+
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+        assertNull(jwtUtil.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject a logged out token at once and keep the other tokens of the user")
+    void testRevokeToken() {
+        DecodedJWT loggedOut = token("UsernameTest");
+        DecodedJWT other = token("UsernameTest");
+
+        tokenBlocklist.revokeToken(loggedOut);
+
+        assertTrue(tokenBlocklist.isRevoked(loggedOut));
+        assertFalse(tokenBlocklist.isRevoked(other));
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Should reject the tokens issued before the user was revoked")
+    void testRevokeUser() {
+        DecodedJWT jwt = token("UsernameTest");
+
+        tokenBlocklist.revokeUser("UsernameTest");
+
+        assertTrue(tokenBlocklist.isRevoked(jwt));
+        assertFalse(tokenBlocklist.isRevoked(token("OtherUsernameTest")));
+    }
+
+    @Test
+    @DisplayName("Should compare the issue time with the revocation time on whole seconds")
+    void testRevokeUserSecondPrecision() {
+        Instant second = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        DecodedJWT sameSecond = issuedAt("UsernameTest", second);
+        DecodedJWT nextSecond = issuedAt("UsernameTest", second.plusSeconds(1));
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                new RevokedToken(null, "UsernameTest", second.plusMillis(500), Instant.now().plusSeconds(60))));
+        tokenBlocklist.refresh();
+
+        assertTrue(tokenBlocklist.isRevoked(sameSecond));
+        assertFalse(tokenBlocklist.isRevoked(nextSecond));
+
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                new RevokedToken(null, "UsernameTest", second.minusMillis(1), Instant.now().plusSeconds(60))));
+        tokenBlocklist.refresh();
+
+        assertFalse(tokenBlocklist.isRevoked(sameSecond));
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations made by other instances on reload without querying per check")
+    void testRefresh() {
+        DecodedJWT jwt = token("UsernameTest");
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                new RevokedToken(jwt.getId(), "UsernameTest", Instant.now(), Instant.now().plusSeconds(60))));
+
+        assertFalse(tokenBlocklist.isRevoked(jwt));
+        tokenBlocklist.refresh();
+
+        assertTrue(tokenBlocklist.isRevoked(jwt));
+        assertTrue(tokenBlocklist.isRevoked(jwt));
+        verify(revokedTokenRepository, times(1)).findByExpiresAtAfter(any(Instant.class));
+        verify(revokedTokenRepository, times(1)).deleteExpired(any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous blocklist when the reload fails")
+    void testRefreshFailure() {
+        DecodedJWT jwt = token("UsernameTest");
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(
+                new RevokedToken(null, "UsernameTest", Instant.now(), Instant.now().plusSeconds(60))));
+        tokenBlocklist.refresh();
+
+        when(revokedTokenRepository.findByExpiresAtAfter(any(Instant.class))).thenThrow(new RuntimeException("down"));
+        tokenBlocklist.refresh();
+
+        assertTrue(tokenBlocklist.isRevoked(jwt));
+        assertFalse(tokenBlocklist.isRevoked(JWT.decode(jwtUtil.generateToken("OtherUsernameTest", "USER"))));
+    }
+
+}
@@ -22,6 +22,9 @@ public class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UniquenessService uniquenessService;
+
     @InjectMocks
     private AuthService authService;
 
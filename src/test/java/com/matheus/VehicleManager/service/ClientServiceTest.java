@@ -1,6 +1,9 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
+import com.matheus.VehicleManager.dto.ClientResponseDTO;
 import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.pagination.ApproximateCounter;
 import com.matheus.VehicleManager.repository.ClientRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,11 +15,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class ClientServiceTest {
@@ -24,6 +30,15 @@ public class ClientServiceTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Mock
+    private ApproximateCounter approximateCounter;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private UniquenessService uniquenessService;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -53,11 +68,11 @@ public class ClientServiceTest {
         Page<Client> clientPage = new PageImpl<>(searchedClients, paging, searchedClients.size());
         when(clientRepository.findAll(any(Pageable.class))).thenReturn(clientPage);
 
-        Page<Client> foundClients = clientService.findAll(0, 20);
+        Page<ClientResponseDTO> foundClients = clientService.findAll(0, 20);
 
         assertEquals(2, foundClients.getContent().size());
-        assertEquals(client1, foundClients.getContent().get(0));
-        assertEquals(client2, foundClients.getContent().get(1));
+        assertEquals(ClientResponseDTO.of(client1), foundClients.getContent().get(0));
+        assertEquals(ClientResponseDTO.of(client2), foundClients.getContent().get(1));
         verify(clientRepository, times(1)).findAll(any(Pageable.class));
     }
 
@@ -70,11 +85,11 @@ public class ClientServiceTest {
 
         when(clientRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrPhoneContaining("Test", "Test", "Test"))
                 .thenReturn(searchedClients);
-        List<Client> foundClients = clientService.search("Test");
+        List<ClientResponseDTO> foundClients = clientService.search("Test");
 
         assertEquals(2, foundClients.size());
-        assertEquals(client1, foundClients.get(0));
-        assertEquals(client2, foundClients.get(1));
+        assertEquals(ClientResponseDTO.of(client1), foundClients.get(0));
+        assertEquals(ClientResponseDTO.of(client2), foundClients.get(1));
         verify(clientRepository, times(1))
                 .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrPhoneContaining(anyString(), anyString(), anyString());
     }
@@ -85,10 +100,10 @@ public class ClientServiceTest {
         Client client = buildClient(1L);
 
         when(clientRepository.findByEmail(anyString())).thenReturn(Optional.of(client));
-        Client foundClient = clientService.findByEmail("Test@test.com");
+        ClientResponseDTO foundClient = clientService.findByEmail("Test@test.com");
 
-        assertEquals("Test@test.com", foundClient.getEmail());
-        assertEquals(client, foundClient);
+        assertEquals("Test@test.com", foundClient.email());
+        assertEquals(ClientResponseDTO.of(client), foundClient);
         verify(clientRepository, times(1)).findByEmail(anyString());
     }
 
@@ -98,9 +113,9 @@ public class ClientServiceTest {
         Client client = buildClient(1L);
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
-        Client foundClient = clientService.getById(1L);
+        ClientResponseDTO foundClient = clientService.getById(1L);
 
-        assertEquals(client, foundClient);
+        assertEquals(ClientResponseDTO.of(client), foundClient);
         verify(clientRepository, times(1)).findById(1L);
     }
 
@@ -141,4 +156,18 @@ public class ClientServiceTest {
         verify(clientRepository, times(1)).delete(client);
     }
 
+    @Test
+    @DisplayName("Should return a slice of clients without counting")
+    void testFindAllSlice() {
+        Client client1 = buildClient(1L);
+        Pageable paging = PageRequest.of(0, 1);
+        when(clientRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(client1), paging, true));
+
+        Slice<ClientResponseDTO> foundClients = clientService.findAllSlice(0, 1);
+
+        assertEquals(1, foundClients.getContent().size());
+        assertTrue(foundClients.hasNext());
+        verify(clientRepository, never()).findAll(any(Pageable.class));
+        verify(clientRepository, never()).count();
+    }
 }
@@ -1,5 +1,7 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.VehicleCacheInvalidator;
+import com.matheus.VehicleManager.enums.FileType;
 import com.matheus.VehicleManager.model.FileStore;
 import com.matheus.VehicleManager.model.Vehicle;
 import com.matheus.VehicleManager.repository.FileRepository;
@@ -31,6 +33,9 @@ class FileServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private VehicleCacheInvalidator vehicleCacheInvalidator;
+
     @InjectMocks
     private LocalFileService fileService;
 
@@ -118,4 +123,43 @@ class FileServiceTest {
         verify(fileRepository, times(1)).save(any(FileStore.class));
         verify(fileRepository, times(1)).deleteById(2L);
     }
+
+    @Test
+    @DisplayName("Should refresh the vehicle cover image after saving files")
+    void testSaveRefreshesCoverImage() throws IOException {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(1L);
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.isEmpty()).thenReturn(false);
+        when(fileStorageService.storeFile(file)).thenReturn("path/to/file");
+
+        FileStore cover = new FileStore();
+        cover.setPath("path/to/cover");
+        when(fileRepository.findFirstByVehicleIdAndTypeOrderByIdAsc(1L, FileType.IMAGE)).thenReturn(Optional.of(cover));
+
+        fileService.save(1L, new MultipartFile[]{file});
+
+        verify(vehicleRepository, times(1)).updateCoverImagePath(1L, "path/to/cover");
+    }
+
+    @Test
+    @DisplayName("Should clear the vehicle cover image when no image remains")
+    void testUpdateClearsCoverImage() throws IOException {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(1L);
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+
+        FileStore existingFile = new FileStore();
+        existingFile.setId(2L);
+        existingFile.setVehicle(vehicle);
+        when(fileRepository.getReferenceById(2L)).thenReturn(existingFile);
+        when(fileRepository.findFirstByVehicleIdAndTypeOrderByIdAsc(1L, FileType.IMAGE)).thenReturn(Optional.empty());
+
+        fileService.update(1L, new MultipartFile[]{}, List.of(2L));
+
+        verify(fileRepository, times(1)).deleteById(2L);
+        verify(vehicleRepository, times(1)).updateCoverImagePath(1L, null);
+    }
 }
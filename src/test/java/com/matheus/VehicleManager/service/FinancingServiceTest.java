@@ -1,6 +1,8 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
 import com.matheus.VehicleManager.dto.FinancingRequestDTO;
+import com.matheus.VehicleManager.dto.FinancingResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleMinimalDTO;
 import com.matheus.VehicleManager.enums.FinancingStatus;
 import com.matheus.VehicleManager.enums.VehicleStatus;
@@ -18,7 +20,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -30,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.EnumSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,6 +49,12 @@ public class FinancingServiceTest {
     @Mock
     private FinancingRepository financingRepository;
 
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private FinancingService financingService;
 
@@ -98,11 +106,11 @@ public class FinancingServiceTest {
         Page<Financing> financingsPage = new PageImpl<>(financings, paging, financings.size());
         when(financingRepository.findAll(any(Pageable.class))).thenReturn(financingsPage);
 
-        Page<Financing> foundFinancings = financingService.getAll(0, 20);
+        Page<FinancingResponseDTO> foundFinancings = financingService.getAll(0, 20);
 
         assertEquals(2, foundFinancings.getContent().size());
-        assertEquals(financing1, foundFinancings.getContent().get(0));
-        assertEquals(financing2, foundFinancings.getContent().get(1));
+        assertEquals(FinancingResponseDTO.of(financing1), foundFinancings.getContent().get(0));
+        assertEquals(FinancingResponseDTO.of(financing2), foundFinancings.getContent().get(1));
         verify(financingRepository, times(1)).findAll(any(Pageable.class));
     }
 
@@ -113,9 +121,9 @@ public class FinancingServiceTest {
         Financing financing = buildFinancing(financingId, new Vehicle(), new Client(), FinancingStatus.DRAFT);
         when(financingRepository.findById(financingId)).thenReturn(Optional.of(financing));
 
-        Financing foundFinancing = financingService.getById(financingId);
+        FinancingResponseDTO foundFinancing = financingService.getById(financingId);
 
-        assertEquals(financing, foundFinancing);
+        assertEquals(FinancingResponseDTO.of(financing), foundFinancing);
         verify(financingRepository, times(1)).findById(financingId);
     }
 
@@ -134,10 +142,10 @@ public class FinancingServiceTest {
         Financing financing = buildFinancing(1L, vehicle, new Client(), FinancingStatus.DRAFT);
 
         when(financingRepository.findActiveByVehicleId(vehicleId)).thenReturn(Optional.of(financing));
-        Financing foundFinancing = financingService.getByVehicleIdNotCanceled(vehicleId);
+        FinancingResponseDTO foundFinancing = financingService.getByVehicleIdNotCanceled(vehicleId);
 
-        assertEquals(financing, foundFinancing);
-        assertEquals(vehicle, foundFinancing.getVehicle());
+        assertEquals(FinancingResponseDTO.of(financing), foundFinancing);
+        assertEquals(vehicleId, foundFinancing.vehicle().id());
         verify(financingRepository, times(1)).findActiveByVehicleId(vehicleId);
     }
 
@@ -161,19 +169,16 @@ public class FinancingServiceTest {
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
         when(financingRepository.save(any(Financing.class))).thenReturn(financing);
 
         Financing createdFinancing = financingService.create(financingRequestDTO);
 
-        ArgumentCaptor<Vehicle> vehicleCaptor = ArgumentCaptor.forClass(Vehicle.class);
-        verify(vehicleRepository).save(vehicleCaptor.capture());
-        assertEquals(VehicleStatus.SOLD, vehicleCaptor.getValue().getVehicleStatus());
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
         assertEquals(financing, createdFinancing);
         assertEquals(vehicle, createdFinancing.getVehicle());
         verify(clientRepository, times(1)).findById(1L);
         verify(vehicleRepository, times(1)).findById(1L);
-        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
         verify(financingRepository, times(1)).save(any(Financing.class));
 
     }
@@ -286,18 +291,16 @@ public class FinancingServiceTest {
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(vehicleRepository.findById(2L)).thenReturn(Optional.of(newVehicle));
         when(financingRepository.getReferenceById(financingId)).thenReturn(financing);
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(newVehicle);
         when(financingRepository.save(any(Financing.class))).thenReturn(financing);
 
         Financing updatedFinancing = financingService.update(financingId, financingRequestDTO);
 
         assertEquals(financing, updatedFinancing);
         assertEquals(newVehicle, updatedFinancing.getVehicle());
-        assertEquals(VehicleStatus.AVAILABLE, oldVehicle.getVehicleStatus());
-        assertEquals(VehicleStatus.SOLD, newVehicle.getVehicleStatus());
         verify(clientRepository, times(1)).findById(1L);
         verify(vehicleRepository, times(1)).findById(2L);
-        verify(vehicleRepository, times(2)).save(any(Vehicle.class));
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.SOLD), VehicleStatus.AVAILABLE);
+        verify(vehicleService, times(1)).transitionStatus(2L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
         verify(financingRepository, times(1)).getReferenceById(financingId);
         verify(financingRepository, times(1)).save(any(Financing.class));
     }
@@ -467,7 +470,6 @@ public class FinancingServiceTest {
         Vehicle vehicle = buildVehicle(1L, VehicleStatus.SOLD);
         Financing financing = buildFinancing(1L, vehicle, buildClient(1L), oldStatus);
         when(financingRepository.findById(1L)).thenReturn(Optional.of(financing));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
         when(financingRepository.save(any(Financing.class))).thenReturn(financing);
 
         financingService.updateStatus(1L, newStatus);
@@ -477,10 +479,9 @@ public class FinancingServiceTest {
         verify(financingRepository, times(1)).save(any(Financing.class));
 
         if (newStatus == FinancingStatus.CANCELED) {
-            ArgumentCaptor<Vehicle> vehicleCaptor = ArgumentCaptor.forClass(Vehicle.class);
-            verify(vehicleRepository).save(vehicleCaptor.capture());
-            assertEquals(VehicleStatus.AVAILABLE, vehicleCaptor.getValue().getVehicleStatus());
-            verify(vehicleRepository, times(1)).save(any(Vehicle.class));
+            verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.SOLD), VehicleStatus.AVAILABLE);
+        } else {
+            verify(vehicleService, never()).transitionStatus(any(), any(), any());
         }
     }
 }
@@ -1,7 +1,10 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
+import com.matheus.VehicleManager.dto.MaintenanceResponseDTO;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.exception.InvalidRequestException;
+import com.matheus.VehicleManager.exception.VehicleUnavailableException;
 import com.matheus.VehicleManager.model.Maintenance;
 import com.matheus.VehicleManager.model.Vehicle;
 import com.matheus.VehicleManager.repository.MaintenanceRepository;
@@ -9,7 +12,6 @@ import com.matheus.VehicleManager.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +37,12 @@ public class MaintenanceServiceTest {
     @Mock
     private MaintenanceRepository maintenanceRepository;
 
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private MaintenanceService maintenanceService;
 
@@ -72,11 +81,11 @@ public class MaintenanceServiceTest {
         Page<Maintenance> maintenancesPage = new PageImpl<>(maintenances, paging, maintenances.size());
         when(maintenanceRepository.findAll(any(Pageable.class))).thenReturn(maintenancesPage);
 
-        Page<Maintenance> foundMaintenances = maintenanceService.findAll(0, 20);
+        Page<MaintenanceResponseDTO> foundMaintenances = maintenanceService.findAll(0, 20);
 
         assertEquals(2, foundMaintenances.getContent().size());
-        assertEquals(maintenance1, foundMaintenances.getContent().get(0));
-        assertEquals(maintenance2, foundMaintenances.getContent().get(1));
+        assertEquals(MaintenanceResponseDTO.of(maintenance1), foundMaintenances.getContent().get(0));
+        assertEquals(MaintenanceResponseDTO.of(maintenance2), foundMaintenances.getContent().get(1));
         verify(maintenanceRepository, times(1)).findAll(any(Pageable.class));
     }
 
@@ -93,13 +102,13 @@ public class MaintenanceServiceTest {
 
         when(maintenanceRepository.findByVehicleIdOrderByIdDesc(vehicleId)).thenReturn(maintenances);
 
-        List<Maintenance> foundMaintenances = maintenanceService.findAllByVehicleId(vehicleId);
+        List<MaintenanceResponseDTO> foundMaintenances = maintenanceService.findAllByVehicleId(vehicleId);
 
         assertEquals(2, foundMaintenances.size());
-        assertEquals(maintenance1, foundMaintenances.get(0));
-        assertEquals(vehicleId, foundMaintenances.get(0).getVehicle().getId());
-        assertEquals(maintenance2, foundMaintenances.get(1));
-        assertEquals(vehicleId, foundMaintenances.get(1).getVehicle().getId());
+        assertEquals(MaintenanceResponseDTO.of(maintenance1), foundMaintenances.get(0));
+        assertEquals(vehicleId, foundMaintenances.get(0).vehicle().id());
+        assertEquals(MaintenanceResponseDTO.of(maintenance2), foundMaintenances.get(1));
+        assertEquals(vehicleId, foundMaintenances.get(1).vehicle().id());
         verify(maintenanceRepository, times(1)).findByVehicleIdOrderByIdDesc(vehicleId);
     }
 
@@ -109,9 +118,9 @@ public class MaintenanceServiceTest {
         Maintenance maintenance = buildMaintenance(1L, new Vehicle());
 
         when(maintenanceRepository.findById(1L)).thenReturn(Optional.of(maintenance));
-        Maintenance foundMaintenance = maintenanceService.findById(1L);
+        MaintenanceResponseDTO foundMaintenance = maintenanceService.findById(1L);
 
-        assertEquals(maintenance, foundMaintenance);
+        assertEquals(MaintenanceResponseDTO.of(maintenance), foundMaintenance);
         verify(maintenanceRepository, times(1)).findById(1L);
     }
 
@@ -122,17 +131,14 @@ public class MaintenanceServiceTest {
         Maintenance maintenance = buildMaintenance(1L, vehicle);
 
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
         when(maintenanceRepository.save(any(Maintenance.class))).thenReturn(maintenance);
         Maintenance createdMaintenance = maintenanceService.create(1L, "TestAdditionalInfo");
 
-        ArgumentCaptor<Vehicle> vehicleCaptor = ArgumentCaptor.forClass(Vehicle.class);
-        verify(vehicleRepository).save(vehicleCaptor.capture());
-        assertEquals(VehicleStatus.MAINTENANCE, vehicleCaptor.getValue().getVehicleStatus());
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.MAINTENANCE);
         assertEquals(maintenance, createdMaintenance);
         assertEquals(vehicle, createdMaintenance.getVehicle());
         verify(vehicleRepository, times(1)).findById(1L);
-        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
         verify(maintenanceRepository, times(1)).save(any(Maintenance.class));
     }
 
@@ -163,18 +169,28 @@ public class MaintenanceServiceTest {
         Maintenance maintenance = buildMaintenance(1L, vehicle);
 
         when(maintenanceRepository.findById(1L)).thenReturn(Optional.of(maintenance));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
         when(maintenanceRepository.save(any(Maintenance.class))).thenReturn(maintenance);
 
         maintenanceService.delete(1L);
 
-        ArgumentCaptor<Vehicle> vehicleCaptor = ArgumentCaptor.forClass(Vehicle.class);
-        verify(vehicleRepository).save(vehicleCaptor.capture());
-        assertEquals(VehicleStatus.AVAILABLE, vehicleCaptor.getValue().getVehicleStatus());
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.MAINTENANCE), VehicleStatus.AVAILABLE);
         assertEquals(LocalDate.now(), maintenance.getEndDate());
         verify(maintenanceRepository, times(1)).findById(1L);
-        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
         verify(maintenanceRepository, times(1)).save(any(Maintenance.class));
     }
 
+    @Test
+    @DisplayName("Should propagate the conflict when the vehicle is taken by a concurrent request")
+    void testCreateVehicleTakenConcurrently() {
+        Vehicle vehicle = buildVehicle(1L, VehicleStatus.AVAILABLE);
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        doThrow(new VehicleUnavailableException("Veículo não está mais disponível para esta operação"))
+                .when(vehicleService).transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.MAINTENANCE);
+
+        assertThrows(VehicleUnavailableException.class, () -> maintenanceService.create(1L, "TestAdditionalInfo"));
+
+        verify(maintenanceRepository, never()).save(any(Maintenance.class));
+    }
+
 }
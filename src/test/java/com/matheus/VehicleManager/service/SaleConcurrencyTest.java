@@ -0,0 +1,117 @@
+package com.matheus.VehicleManager.service;
+
+import com.matheus.VehicleManager.dto.SaleRequestDTO;
+import com.matheus.VehicleManager.enums.SalesStatus;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.ClientRepository;
+import com.matheus.VehicleManager.repository.SaleRepository;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SaleConcurrencyTest {
+
+    private static final int CONCURRENT_BUYERS = 16;
+
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    private Client saveClient() {
+        Client client = new Client();
+        client.setFirstName("Concurrent");
+        client.setLastName("Buyer");
+        client.setEmail("concurrent.buyer@test.com");
+        client.setPhone("19 88888-8888");
+        return clientRepository.save(client);
+    }
+
+    private Vehicle saveAvailableVehicle(int round) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setChassi("ConcurrentSale" + round);
+        vehicle.setBrand("TestBrand");
+        vehicle.setModel("TestModel");
+        vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setYear(1999);
+        vehicle.setColor("Test Color");
+        vehicle.setMileage(new BigDecimal("9999.9"));
+        vehicle.setPrice(new BigDecimal("99999.99"));
+        vehicle.setVehicleFuel(VehicleFuel.HYBRID);
+        vehicle.setDoors(2);
+        return vehicleRepository.save(vehicle);
+    }
+
+    @Test
+    @DisplayName("Should never sell the same vehicle twice under concurrent requests")
+    void testVehicleIsNeverSoldTwice() throws Exception {
+        Client client = saveClient();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_BUYERS);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Vehicle vehicle = saveAvailableVehicle(round);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> attempts = new ArrayList<>();
+
+                for (int i = 0; i < CONCURRENT_BUYERS; i++) {
+                    attempts.add(executor.submit(() -> {
+                        SaleRequestDTO saleRequestDTO = new SaleRequestDTO();
+                        saleRequestDTO.setClient(client.getId());
+                        saleRequestDTO.setVehicle(vehicle.getId());
+                        saleRequestDTO.setStatus(SalesStatus.SOLD);
+                        start.await();
+                        try {
+                            saleService.create(saleRequestDTO);
+                            return true;
+                        } catch (RuntimeException e) {
+                            return false;
+                        }
+                    }));
+                }
+                start.countDown();
+
+                int succeeded = 0;
+                for (Future<Boolean> attempt : attempts) {
+                    if (attempt.get(30, TimeUnit.SECONDS)) succeeded++;
+                }
+
+                assertEquals(1, succeeded);
+                assertEquals(1, saleRepository.findByVehicleIdOrderByIdDesc(vehicle.getId()).size());
+                assertEquals(VehicleStatus.SOLD, vehicleRepository.findById(vehicle.getId()).orElseThrow().getVehicleStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.CacheInvalidator;
 import com.matheus.VehicleManager.dto.SaleRequestDTO;
+import com.matheus.VehicleManager.dto.SaleResponseDTO;
 import com.matheus.VehicleManager.enums.SalesStatus;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.exception.InvalidRequestException;
@@ -15,7 +17,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -26,6 +27,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.EnumSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,6 +46,12 @@ public class SaleServiceTest {
     @Mock
     private SaleRepository saleRepository;
 
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
     @InjectMocks
     private SaleService saleService;
 
@@ -92,11 +100,11 @@ public class SaleServiceTest {
         Page<Sale> salesPage = new PageImpl<>(sales, paging, sales.size());
         when(saleRepository.findAll(any(Pageable.class))).thenReturn(salesPage);
 
-        Page<Sale> foundSales = saleService.findAll(0, 20);
+        Page<SaleResponseDTO> foundSales = saleService.findAll(0, 20);
 
         assertEquals(2, foundSales.getContent().size());
-        assertEquals(sale1, foundSales.getContent().get(0));
-        assertEquals(sale2, foundSales.getContent().get(1));
+        assertEquals(SaleResponseDTO.of(sale1), foundSales.getContent().get(0));
+        assertEquals(SaleResponseDTO.of(sale2), foundSales.getContent().get(1));
         verify(saleRepository, times(1)).findAll(any(Pageable.class));
     }
 
@@ -109,13 +117,13 @@ public class SaleServiceTest {
         List<Sale> sales = List.of(sale1, sale2);
 
         when(saleRepository.findByVehicleIdOrderByIdDesc(1L)).thenReturn(sales);
-        List<Sale> foundSales = saleService.findAllByVehicleId(1L);
+        List<SaleResponseDTO> foundSales = saleService.findAllByVehicleId(1L);
 
         assertEquals(2, foundSales.size());
-        assertEquals(sale1, foundSales.get(0));
-        assertEquals(1L, foundSales.get(0).getVehicle().getId());
-        assertEquals(sale2, foundSales.get(1));
-        assertEquals(1L, foundSales.get(1).getVehicle().getId());
+        assertEquals(SaleResponseDTO.of(sale1), foundSales.get(0));
+        assertEquals(1L, foundSales.get(0).vehicle().id());
+        assertEquals(SaleResponseDTO.of(sale2), foundSales.get(1));
+        assertEquals(1L, foundSales.get(1).vehicle().id());
         verify(saleRepository, times(1)).findByVehicleIdOrderByIdDesc(1L);
     }
 
@@ -125,9 +133,9 @@ public class SaleServiceTest {
         Sale sale = buildSale(1L, new Vehicle(), new Client(), SalesStatus.SOLD);
 
         when(saleRepository.findById(1L)).thenReturn(Optional.of(sale));
-        Sale foundSale = saleService.findById(1L);
+        SaleResponseDTO foundSale = saleService.findById(1L);
 
-        assertEquals(sale, foundSale);
+        assertEquals(SaleResponseDTO.of(sale), foundSale);
         verify(saleRepository, times(1)).findById(1L);
     }
 
@@ -145,21 +153,18 @@ public class SaleServiceTest {
 
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
         when(saleRepository.save(any(Sale.class))).thenReturn(sale);
 
         Sale createdSale = saleService.create(saleRequestDTO);
 
-        ArgumentCaptor<Vehicle> vehicleCaptor = ArgumentCaptor.forClass(Vehicle.class);
-        verify(vehicleRepository).save(vehicleCaptor.capture());
-        assertEquals(VehicleStatus.SOLD, vehicleCaptor.getValue().getVehicleStatus());
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
         assertEquals(vehicle, createdSale.getVehicle());
         assertEquals(client, createdSale.getClient());
         assertEquals(SalesStatus.SOLD, createdSale.getStatus());
         assertEquals(LocalDate.now(), createdSale.getSalesDate());
         verify(clientRepository, times(1)).findById(1L);
         verify(vehicleRepository, times(1)).findById(1L);
-        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
+        verify(vehicleRepository, never()).save(any(Vehicle.class));
         verify(saleRepository, times(1)).save(any(Sale.class));
     }
 
@@ -227,7 +232,6 @@ public class SaleServiceTest {
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(vehicleRepository.findById(2L)).thenReturn(Optional.of(newVehicle));
         when(saleRepository.findById(1L)).thenReturn(Optional.of(sale));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(newVehicle);
         when(saleRepository.save(any(Sale.class))).thenReturn(sale);
 
         Sale updatedSale = saleService.update(1L, saleRequestDTO);
@@ -236,12 +240,11 @@ public class SaleServiceTest {
         assertEquals(client, updatedSale.getClient());
         assertEquals(SalesStatus.SOLD, updatedSale.getStatus());
         assertEquals(sale, updatedSale);
-        assertEquals(VehicleStatus.AVAILABLE, oldVehicle.getVehicleStatus());
-        assertEquals(VehicleStatus.SOLD, newVehicle.getVehicleStatus());
         verify(clientRepository, times(1)).findById(1L);
         verify(vehicleRepository, times(1)).findById(2L);
         verify(saleRepository, times(1)).findById(1L);
-        verify(vehicleRepository, times(2)).save(any(Vehicle.class));
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.SOLD), VehicleStatus.AVAILABLE);
+        verify(vehicleService, times(1)).transitionStatus(2L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
         verify(saleRepository, times(1)).save(any(Sale.class));
     }
 
@@ -265,14 +268,13 @@ public class SaleServiceTest {
         when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         when(saleRepository.findById(1L)).thenReturn(Optional.of(sale));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
         when(saleRepository.save(any(Sale.class))).thenReturn(sale);
 
+        VehicleStatus previousVehicleStatus = vehicle.getVehicleStatus();
         Sale updatedSale = saleService.update(1L, saleRequestDTO);
 
-        ArgumentCaptor<Vehicle> vehicleCaptor = ArgumentCaptor.forClass(Vehicle.class);
-        verify(vehicleRepository).save(vehicleCaptor.capture());
-        assertEquals(newStatus.equals(SalesStatus.SOLD) ? VehicleStatus.SOLD : VehicleStatus.AVAILABLE, vehicleCaptor.getValue().getVehicleStatus());
+        VehicleStatus expectedVehicleStatus = newStatus.equals(SalesStatus.SOLD) ? VehicleStatus.SOLD : VehicleStatus.AVAILABLE;
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(previousVehicleStatus), expectedVehicleStatus);
         assertEquals(vehicle, updatedSale.getVehicle());
         assertEquals(client, updatedSale.getClient());
         assertEquals(newStatus, updatedSale.getStatus());
@@ -280,10 +282,55 @@ public class SaleServiceTest {
         verify(clientRepository, times(1)).findById(1L);
         verify(vehicleRepository, times(1)).findById(1L);
         verify(saleRepository, times(1)).findById(1L);
-        verify(vehicleRepository, times(1)).save(any(Vehicle.class));
         verify(saleRepository, times(1)).save(any(Sale.class));
     }
 
+    @Test
+    @DisplayName("Should expect the vehicle in the status the sale holds it in, not in the status just read")
+    void testUpdateExpectsTheHeldVehicleStatus() {
+        Client client = buildClient(1L);
+        Vehicle vehicle = buildVehicle(1L, VehicleStatus.MAINTENANCE);
+        Sale sale = buildSale(1L, vehicle, client, SalesStatus.RESERVED);
+
+        SaleRequestDTO saleRequestDTO = new SaleRequestDTO();
+        saleRequestDTO.setClient(1L);
+        saleRequestDTO.setVehicle(1L);
+        saleRequestDTO.setStatus(SalesStatus.SOLD);
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(saleRepository.findById(1L)).thenReturn(Optional.of(sale));
+        when(saleRepository.save(any(Sale.class))).thenReturn(sale);
+
+        saleService.update(1L, saleRequestDTO);
+
+        verify(vehicleService, times(1)).transitionStatus(1L, EnumSet.of(VehicleStatus.RESERVED), VehicleStatus.SOLD);
+    }
+
+    @Test
+    @DisplayName("Should leave the vehicle alone when updating a canceled sale")
+    void testUpdateCanceledSaleKeepsVehicle() {
+        Client client = buildClient(1L);
+        Vehicle vehicle = buildVehicle(1L, VehicleStatus.SOLD);
+        Sale sale = buildSale(1L, vehicle, client, SalesStatus.CANCELED);
+
+        SaleRequestDTO saleRequestDTO = new SaleRequestDTO();
+        saleRequestDTO.setClient(1L);
+        saleRequestDTO.setVehicle(1L);
+        saleRequestDTO.setStatus(SalesStatus.CANCELED);
+
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(saleRepository.findById(1L)).thenReturn(Optional.of(sale));
+        when(saleRepository.save(any(Sale.class))).thenReturn(sale);
+
+        saleService.update(1L, saleRequestDTO);
+
+        verify(vehicleService, never()).transitionStatus(any(), any(), any());
+        assertEquals(VehicleStatus.SOLD, vehicle.getVehicleStatus());
+        verify(saleRepository, times(1)).save(sale);
+    }
+
     @ParameterizedTest
     @DisplayName("Should throw an error if the transition of status is invalid")
     @CsvSource({
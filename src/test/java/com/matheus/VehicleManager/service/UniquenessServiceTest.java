@@ -0,0 +1,110 @@
+package com.matheus.VehicleManager.service;
+
+import com.matheus.VehicleManager.repository.ClientRepository;
+import com.matheus.VehicleManager.repository.UserRepository;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class UniquenessServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UniquenessService uniquenessService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(uniquenessService, "negativeTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(uniquenessService, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(uniquenessService, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated check for a free email without querying again")
+    void testFreeValueIsCached() {
+        uniquenessService.init();
+        when(clientRepository.existsByEmail("test@test.com")).thenReturn(false);
+
+        assertFalse(uniquenessService.isEmailTaken("test@test.com", null));
+        assertFalse(uniquenessService.isEmailTaken("test@test.com", null));
+
+        verify(clientRepository, times(1)).existsByEmail("test@test.com");
+    }
+
+    @Test
+    @DisplayName("Should query again once the value was written")
+    void testMarkTakenDropsFreeValue() {
+        uniquenessService.init();
+        when(vehicleRepository.existsByChassi("TestChassi123")).thenReturn(false, true);
+
+        assertFalse(uniquenessService.isChassiTaken("TestChassi123", null));
+        uniquenessService.markTaken(UniquenessService.Field.CHASSI, "TestChassi123");
+
+        assertTrue(uniquenessService.isChassiTaken("TestChassi123", null));
+        verify(vehicleRepository, times(2)).existsByChassi("TestChassi123");
+    }
+
+    @Test
+    @DisplayName("Should not cache a value found free of other rows, as the excluded row may hold it")
+    void testExcludedRowIsNotCached() {
+        uniquenessService.init();
+        when(vehicleRepository.existsByChassiAndIdNot("TestChassi123", 1L)).thenReturn(false);
+        when(vehicleRepository.existsByChassi("TestChassi123")).thenReturn(true);
+
+        assertFalse(uniquenessService.isChassiTaken("TestChassi123", 1L));
+        assertTrue(uniquenessService.isChassiTaken("TestChassi123", null));
+    }
+
+    @Test
+    @DisplayName("Should query every check when no free-value TTL is set")
+    void testFreeValueCacheOffByDefault() {
+        ReflectionTestUtils.setField(uniquenessService, "negativeTtl", Duration.ZERO);
+        uniquenessService.init();
+        when(clientRepository.existsByEmail("test@test.com")).thenReturn(false);
+
+        assertFalse(uniquenessService.isEmailTaken("test@test.com", null));
+        assertFalse(uniquenessService.isEmailTaken("test@test.com", null));
+        uniquenessService.markTaken(UniquenessService.Field.EMAIL, "test@test.com");
+
+        verify(clientRepository, times(2)).existsByEmail("test@test.com");
+    }
+
+    @Test
+    @DisplayName("Should rule out values missing from the Bloom filter without querying")
+    void testBloomFilter() {
+        ReflectionTestUtils.setField(uniquenessService, "bloomFilterEnabled", true);
+        uniquenessService.init();
+        when(vehicleRepository.findAllChassis()).thenReturn(List.of("TestChassi123"));
+        when(clientRepository.findAllEmails()).thenReturn(List.of());
+        when(userRepository.findAllUsernames()).thenReturn(List.of("admin"));
+        when(userRepository.existsByUsername("admin")).thenReturn(true);
+        uniquenessService.loadBloomFilters();
+
+        assertFalse(uniquenessService.isUsernameTaken("new-user"));
+        assertTrue(uniquenessService.isUsernameTaken("admin"));
+
+        verify(userRepository, never()).existsByUsername("new-user");
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.matheus.VehicleManager.service;
+
+import com.matheus.VehicleManager.dto.VehicleImagesResponseDTO;
+import com.matheus.VehicleManager.enums.FileType;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.FileStore;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.FileRepository;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class VehicleDetailQueryCountTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Vehicle saveVehicleWithImages(int imageCount) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setChassi("DetailQueryCount01");
+        vehicle.setBrand("TestBrand");
+        vehicle.setModel("TestModel");
+        vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setYear(1999);
+        vehicle.setColor("Test Color");
+        vehicle.setMileage(new BigDecimal("9999.9"));
+        vehicle.setPrice(new BigDecimal("99999.99"));
+        vehicle.setVehicleFuel(VehicleFuel.HYBRID);
+        vehicle.setDoors(2);
+        vehicle = vehicleRepository.save(vehicle);
+
+        for (int i = 0; i < imageCount; i++) {
+            FileStore image = new FileStore();
+            image.setPath("path/to/image-" + i);
+            image.setType(FileType.IMAGE);
+            image.setVehicle(vehicle);
+            fileRepository.save(image);
+        }
+        return vehicle;
+    }
+
+    @Test
+    @DisplayName("Should load a vehicle and all of its images with a single SQL statement")
+    void testGetVehicleWithImagesByIdUsesSingleStatement() {
+        Vehicle vehicle = saveVehicleWithImages(3);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        VehicleImagesResponseDTO detail = vehicleService.getVehicleWithImagesById(vehicle.getId());
+
+        assertEquals(3, detail.images().size());
+        assertEquals(vehicle.getId(), detail.images().get(0).vehicle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,5 +1,7 @@
 package com.matheus.VehicleManager.service;
 
+import com.matheus.VehicleManager.cache.VehicleCacheInvalidator;
+import com.matheus.VehicleManager.catalog.VehicleCatalog;
 import com.matheus.VehicleManager.dto.VehicleImageResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleImagesResponseDTO;
 import com.matheus.VehicleManager.dto.VehicleRequestDTO;
@@ -8,9 +10,15 @@ import com.matheus.VehicleManager.enums.VehicleChange;
 import com.matheus.VehicleManager.enums.VehicleFuel;
 import com.matheus.VehicleManager.enums.VehicleStatus;
 import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.exception.InvalidRequestException;
+import com.matheus.VehicleManager.exception.VehicleUnavailableException;
 import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.pagination.KeysetCursor;
 import com.matheus.VehicleManager.repository.VehicleRepository;
+import com.matheus.VehicleManager.search.VehicleFilter;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +30,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +48,21 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private VehicleCatalog vehicleCatalog;
+
+    @Mock
+    private VehicleCacheInvalidator vehicleCacheInvalidator;
+
+    @Mock
+    private UniquenessService uniquenessService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -68,9 +94,9 @@ class VehicleServiceTest {
         Vehicle vehicle = buildVehicle(1L, VehicleStatus.AVAILABLE);
 
         when(vehicleRepository.findByChassi("TestChassi123")).thenReturn(Optional.of(vehicle));
-        Vehicle foundVehicle = vehicleService.findByChassi("TestChassi123");
+        VehicleResponseDTO foundVehicle = vehicleService.findByChassi("TestChassi123");
 
-        assertEquals("TestChassi123", foundVehicle.getChassi());
+        assertEquals("TestChassi123", foundVehicle.chassi());
         verify(vehicleRepository, times(1)).findByChassi(anyString());
     }
 
@@ -80,12 +106,12 @@ class VehicleServiceTest {
         Vehicle vehicle = buildVehicle(1L, VehicleStatus.AVAILABLE);
         vehicle.setImages(new ArrayList<>());
 
-        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(vehicleRepository.findWithImagesById(1L)).thenReturn(Optional.of(vehicle));
         VehicleImagesResponseDTO foundVehicle = vehicleService.getVehicleWithImagesById(1L);
 
         assertEquals(1L, foundVehicle.id());
         assertEquals(new ArrayList<>(), foundVehicle.images());
-        verify(vehicleRepository, times(1)).findById(1L);
+        verify(vehicleRepository, times(1)).findWithImagesById(1L);
     }
 
     @Test
@@ -114,11 +140,11 @@ class VehicleServiceTest {
             any(Pageable.class)
         )).thenReturn(vehiclePage);
 
-        Page<Vehicle> foundVehicles = vehicleService.getFilteredVehicles("", null, null, null, 0, 0, 0, 10);
+        Page<VehicleResponseDTO> foundVehicles = vehicleService.getFilteredVehicles("", null, null, null, 0, 0, 0, 10);
 
         assertEquals(2, foundVehicles.getContent().size());
-        assertEquals(vehicle1, foundVehicles.getContent().get(0));
-        assertEquals(vehicle2, foundVehicles.getContent().get(1));
+        assertEquals(VehicleResponseDTO.of(vehicle1), foundVehicles.getContent().get(0));
+        assertEquals(VehicleResponseDTO.of(vehicle2), foundVehicles.getContent().get(1));
         verify(vehicleRepository, times(1)).searchVehicles(
             anyString(),
             any(),
@@ -150,10 +176,25 @@ class VehicleServiceTest {
                 any(Pageable.class)
         )).thenReturn(vehiclePage);
 
-        Page<Vehicle> foundVehicles = vehicleService.getFilteredVehicles("", "AVAILABLE", null, null, 0, 0, 0, 10);
+        Page<VehicleResponseDTO> foundVehicles = vehicleService.getFilteredVehicles("", "AVAILABLE", null, null, 0, 0, 0, 10);
 
         assertEquals(2, foundVehicles.getContent().size());
-        assertEquals(VehicleStatus.AVAILABLE, foundVehicles.getContent().get(0).getVehicleStatus());
+        assertEquals(VehicleStatus.AVAILABLE, foundVehicles.getContent().get(0).vehicleStatus());
+    }
+
+    @Test
+    @DisplayName("Should serve filtered vehicles from the catalog once it is loaded")
+    void testGetFilteredVehiclesFromCatalog() {
+        Vehicle vehicle = buildVehicle(1L, VehicleStatus.AVAILABLE);
+        Page<Vehicle> vehiclePage = new PageImpl<>(List.of(vehicle), PageRequest.of(0, 10), 1);
+        when(vehicleCatalog.isReady()).thenReturn(true);
+        when(vehicleCatalog.search(eq(new VehicleFilter("", VehicleStatus.AVAILABLE, null, null, null, null)), any(Pageable.class)))
+                .thenReturn(vehiclePage);
+
+        Page<VehicleResponseDTO> foundVehicles = vehicleService.getFilteredVehicles("", "AVAILABLE", null, null, 0, 0, 0, 10);
+
+        assertEquals(1, foundVehicles.getContent().size());
+        verify(vehicleRepository, never()).searchVehicles(anyString(), any(), any(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
@@ -235,20 +276,49 @@ class VehicleServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Should decode the after cursor and search vehicles by keyset")
+    void testGetFilteredVehiclesAfter() {
+        Vehicle vehicle = buildVehicle(8L, VehicleStatus.AVAILABLE);
+        Slice<Vehicle> vehicleSlice = new SliceImpl<>(List.of(vehicle), PageRequest.of(0, 10), false);
+        when(vehicleRepository.searchVehiclesAfter(
+            anyString(),
+            any(),
+            any(),
+            any(),
+            isNull(),
+            isNull(),
+            eq(7L),
+            any(Pageable.class)
+        )).thenReturn(vehicleSlice);
+
+        Slice<VehicleResponseDTO> foundVehicles = vehicleService.getFilteredVehiclesAfter("", null, null, null, 0, 0, KeysetCursor.encode(7L), 10);
+
+        assertEquals(1, foundVehicles.getContent().size());
+        assertEquals(VehicleResponseDTO.of(vehicle), foundVehicles.getContent().get(0));
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidRequestException when the after cursor is malformed")
+    void testGetFilteredVehiclesAfterInvalidCursor() {
+        assertThrows(InvalidRequestException.class,
+                () -> vehicleService.getFilteredVehiclesAfter("", null, null, null, 0, 0, "not-a-cursor", 10));
+    }
+
     @Test
     @DisplayName("Should return all available vehicles")
     void testSearchAvailableVehicles() {
         Vehicle vehicle1 = buildVehicle(1L, VehicleStatus.AVAILABLE);
         Vehicle vehicle2 = buildVehicle(2L, VehicleStatus.AVAILABLE);
         List<Vehicle> searchedVehicles = List.of(vehicle1, vehicle2);
-        when(vehicleRepository.searchAvailableVehicles("Ford")).thenReturn(searchedVehicles);
+        when(vehicleRepository.searchAvailableVehicles("ford")).thenReturn(searchedVehicles);
 
-        List<Vehicle> foundVehicles = vehicleService.searchAvailableVehicles("Ford");
+        List<VehicleResponseDTO> foundVehicles = vehicleService.searchAvailableVehicles("Ford");
 
         assertEquals(2, foundVehicles.size());
-        assertEquals(vehicle1, foundVehicles.get(0));
-        assertEquals(vehicle2, foundVehicles.get(1));
-        verify(vehicleRepository, times(1)).searchAvailableVehicles("Ford");
+        assertEquals(VehicleResponseDTO.of(vehicle1), foundVehicles.get(0));
+        assertEquals(VehicleResponseDTO.of(vehicle2), foundVehicles.get(1));
+        verify(vehicleRepository, times(1)).searchAvailableVehicles("ford");
     }
 
     @Test
@@ -342,5 +412,29 @@ class VehicleServiceTest {
         assertThrows(EmptyResultDataAccessException.class, () -> vehicleService.delete(99L));
     }
 
-}
+    @Test
+    @DisplayName("Should transition the vehicle status when it is still in an expected status")
+    void testTransitionStatus() {
+        Vehicle vehicle = buildVehicle(1L, VehicleStatus.AVAILABLE);
+        when(vehicleRepository.transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD)).thenReturn(1);
+        when(entityManager.getReference(Vehicle.class, 1L)).thenReturn(vehicle);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        vehicleService.transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD);
+
+        verify(vehicleCatalog, times(1)).onStatusChanged(1L, VehicleStatus.SOLD);
+        verify(session, times(1)).setReadOnly(vehicle, true);
+        assertEquals(VehicleStatus.SOLD, vehicle.getVehicleStatus());
+    }
 
+    @Test
+    @DisplayName("Should throw a conflict when the vehicle left the expected status")
+    void testTransitionStatusConflict() {
+        when(vehicleRepository.transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD)).thenReturn(0);
+
+        assertThrows(VehicleUnavailableException.class,
+                () -> vehicleService.transitionStatus(1L, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.SOLD));
+
+        verify(vehicleCatalog, never()).onStatusChanged(anyLong(), any());
+    }
+}
@@ -0,0 +1,116 @@
+package com.matheus.VehicleManager.service;
+
+import com.matheus.VehicleManager.dto.SaleRequestDTO;
+import com.matheus.VehicleManager.enums.SalesStatus;
+import com.matheus.VehicleManager.enums.VehicleFuel;
+import com.matheus.VehicleManager.enums.VehicleStatus;
+import com.matheus.VehicleManager.enums.VehicleType;
+import com.matheus.VehicleManager.model.Client;
+import com.matheus.VehicleManager.model.Sale;
+import com.matheus.VehicleManager.model.Vehicle;
+import com.matheus.VehicleManager.repository.ClientRepository;
+import com.matheus.VehicleManager.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class VehicleStatusTransitionTest {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Vehicle saveAvailableVehicle(String chassi) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setChassi(chassi);
+        vehicle.setBrand("TestBrand");
+        vehicle.setModel("TestModel");
+        vehicle.setVehicleStatus(VehicleStatus.AVAILABLE);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setYear(1999);
+        vehicle.setColor("Test Color");
+        vehicle.setMileage(new BigDecimal("9999.9"));
+        vehicle.setPrice(new BigDecimal("99999.99"));
+        vehicle.setVehicleFuel(VehicleFuel.HYBRID);
+        vehicle.setDoors(2);
+        return vehicleRepository.save(vehicle);
+    }
+
+    @Test
+    @DisplayName("Should change the vehicle status of a sale with the conditional UPDATE alone")
+    void testSaleUpdatesVehicleOnce() {
+        Client client = new Client();
+        client.setFirstName("Status");
+        client.setLastName("Transition");
+        client.setEmail("status.transition@test.com");
+        client.setPhone("19 88888-8888");
+        client = clientRepository.save(client);
+        Vehicle vehicle = saveAvailableVehicle("StatusTransition01");
+        SaleRequestDTO saleRequestDTO = new SaleRequestDTO();
+        saleRequestDTO.setClient(client.getId());
+        saleRequestDTO.setVehicle(vehicle.getId());
+        saleRequestDTO.setStatus(SalesStatus.SOLD);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Sale sale = saleService.create(saleRequestDTO);
+
+        assertEquals(VehicleStatus.SOLD, sale.getVehicle().getVehicleStatus());
+        assertEquals(0, statistics.getEntityStatistics(Vehicle.class.getName()).getUpdateCount());
+        assertEquals(VehicleStatus.SOLD, vehicleRepository.findById(vehicle.getId()).orElseThrow().getVehicleStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep an edit made to the vehicle between reading it and changing its status")
+    void testConcurrentEditSurvivesTransition() {
+        Long vehicleId = saveAvailableVehicle("StatusTransition02").getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Vehicle vehicle = vehicleRepository.findById(vehicleId).orElseThrow();
+            // Another connection, committed while this transaction holds the vehicle it read
+            CompletableFuture.runAsync(() -> jdbcTemplate.update("UPDATE vehicle SET price = ? WHERE id = ?",
+                    new BigDecimal("12345.67"), vehicleId)).join();
+
+            vehicleService.transitionStatus(vehicleId, EnumSet.of(VehicleStatus.AVAILABLE), VehicleStatus.RESERVED);
+            assertEquals(VehicleStatus.RESERVED, vehicle.getVehicleStatus());
+        });
+
+        Vehicle vehicle = vehicleRepository.findById(vehicleId).orElseThrow();
+        assertEquals(VehicleStatus.RESERVED, vehicle.getVehicleStatus());
+        assertEquals(0, new BigDecimal("12345.67").compareTo(vehicle.getPrice()));
+    }
+
+}
@@ -0,0 +1,80 @@
+package simulations.auth
+
+import com.typesafe.config.ConfigFactory
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+// Readers keep listing vehicles and clients while a storm of logins hits /api/auth/login. The assertions hold the
+// readers to their usual latency and expect the storm to be answered quickly, with a token or a 429.
+class LoginStormTest extends Simulation {
+
+  val config = ConfigFactory.load()
+  val baseUrl = config.getString("vehicle-manager.baseUrl")
+  val username = config.getString("vehicle-manager.username")
+  val password = config.getString("vehicle-manager.password")
+
+  val httpProtocol = http
+    .baseUrl(baseUrl)
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+
+  def login(name: String) =
+    http(name)
+      .post("/api/auth/login")
+      .body(StringBody(s"""{"username":"$username", "password":"$password"}"""))
+      .check(status.in(200, 429))
+      .check(jsonPath("$.token").optional.saveAs("jwtToken"))
+      .check(header("Retry-After").withDefault("1").saveAs("retryAfter"))
+
+  val authenticate =
+    asLongAs(session => !session.contains("jwtToken") && session("attempt").asOption[Int].getOrElse(0) < 10, "attempt") {
+      exec(login("Login"))
+        .doIf(session => !session.contains("jwtToken")) {
+          pause("#{retryAfter}")
+        }
+    }.exitHereIf(session => !session.contains("jwtToken"))
+
+  val readers = scenario("Login Storm - Readers")
+    .exec(authenticate)
+    .during(4.minutes) {
+      exec(
+        http("Get All Vehicles")
+          .get("/api/vehicles")
+          .header("Authorization", "Bearer #{jwtToken}")
+          .check(status.is(200))
+      )
+        .pause(200.milliseconds, 500.milliseconds)
+        .exec(
+          http("Get All Clients")
+            .get("/api/clients")
+            .header("Authorization", "Bearer #{jwtToken}")
+            .check(status.is(200))
+        )
+        .pause(200.milliseconds, 500.milliseconds)
+    }
+
+  val storm = scenario("Login Storm - Logins")
+    .exec(login("Login Storm"))
+
+  setUp(
+    readers.inject(
+      rampUsers(20) during (20.seconds)
+    ),
+    storm.inject(
+      nothingFor(30.seconds),
+      rampUsersPerSec(5) to 60 during (1.minute),
+      constantUsersPerSec(60) during (2.minutes)
+    )
+  ).protocols(httpProtocol)
+    .assertions(
+      details("Get All Vehicles").responseTime.percentile3.lt(500),
+      details("Get All Vehicles").successfulRequests.percent.gt(99),
+      details("Get All Clients").responseTime.percentile3.lt(500),
+      details("Get All Clients").successfulRequests.percent.gt(99),
+      details("Login Storm").responseTime.percentile3.lt(3000),
+      details("Login Storm").failedRequests.percent.lt(1)
+    )
+
+}
@@ -0,0 +1,92 @@
+package simulations.reactive
+
+import com.typesafe.config.ConfigFactory
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+// Sends the same vehicle listing filters to the MVC endpoint and to its reactive counterpart, one after the other
+// with the same load, so the report compares their throughput and latency request by request. Needs the reactive
+// build and profile; see "Comparing the reactive listing" in the README.
+class ListingComparisonTest extends Simulation {
+
+  val config = ConfigFactory.load()
+  val baseUrl = config.getString("vehicle-manager.baseUrl")
+  val username = config.getString("vehicle-manager.username")
+  val password = config.getString("vehicle-manager.password")
+
+  val httpProtocol = http
+    .baseUrl(baseUrl)
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+
+  val filterFeeder = Iterator.continually(
+    Map(
+      "searchInput" -> Seq("", "Toyota", "Ford", "Honda", "Chevrolet", "BMW", "Mercedes")(scala.util.Random.nextInt(7)),
+      "status"      -> Seq("", "AVAILABLE", "RESERVED", "SOLD", "MAINTENANCE")(scala.util.Random.nextInt(5)),
+      "type"        -> Seq("", "CAR", "MOTORCYCLE")(scala.util.Random.nextInt(3)),
+      "page"        -> scala.util.Random.nextInt(50).toString
+    )
+  )
+
+  val filters = "searchInput=#{searchInput}&status=#{status}&type=#{type}&page=#{page}&size=50"
+
+  // Logins are admitted by a small executor, so back off on 429 instead of failing the user
+  val authenticate =
+    asLongAs(session => !session.contains("jwtToken") && session("attempt").asOption[Int].getOrElse(0) < 20, "attempt") {
+      exec(
+        http("Login")
+          .post("/api/auth/login")
+          .body(StringBody(s"""{"username":"$username", "password":"$password"}"""))
+          .check(status.in(200, 429))
+          .check(jsonPath("$.token").optional.saveAs("jwtToken"))
+          .check(header("Retry-After").withDefault("1").saveAs("retryAfter"))
+      ).doIf(session => !session.contains("jwtToken")) {
+        pause("#{retryAfter}")
+      }
+    }.exitHereIf(session => !session.contains("jwtToken"))
+
+  def listing(name: String, path: String, query: String, accept: String) =
+    scenario(name)
+      .exec(authenticate)
+      .during(3.minutes) {
+        feed(filterFeeder)
+          .exec(
+            http(name)
+              .get(s"$path?$query")
+              .header("Authorization", "Bearer #{jwtToken}")
+              .header("Accept", accept)
+              .check(status.is(200))
+          )
+          .exec(
+            http(s"$name With Images")
+              .get(s"$path/images?$query")
+              .header("Authorization", "Bearer #{jwtToken}")
+              .header("Accept", accept)
+              .check(status.is(200))
+          )
+          .pause(20.milliseconds, 80.milliseconds)
+      }
+
+  // total=none skips the count query, which the reactive stream does not run either
+  val mvc = listing("MVC Listing", "/api/vehicles", s"$filters&total=none", "application/json")
+
+  val reactive = listing("Reactive Listing", "/api/reactive/vehicles", filters, "application/x-ndjson")
+
+  setUp(
+    mvc.inject(
+      rampConcurrentUsers(0) to 400 during (1.minute),
+      constantConcurrentUsers(400) during (2.minutes)
+    ).andThen(
+      reactive.inject(
+        rampConcurrentUsers(0) to 400 during (1.minute),
+        constantConcurrentUsers(400) during (2.minutes)
+      )
+    )
+  ).protocols(httpProtocol)
+    .assertions(
+      global.successfulRequests.percent.gt(99)
+    )
+
+}
@@ -0,0 +1,94 @@
+package simulations.threads
+
+import com.typesafe.config.ConfigFactory
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+// Holds more concurrent clients than Tomcat has platform threads (200) on blocking endpoints: uncached searches,
+// listings and lookups that wait on the database. Run it once against the default build and once against the
+// virtual-threads profile, with rate limiting off, and compare the two reports; see "Comparing thread models" in
+// the README.
+class ThreadModelTest extends Simulation {
+
+  val config = ConfigFactory.load()
+  val baseUrl = config.getString("vehicle-manager.baseUrl")
+  val username = config.getString("vehicle-manager.username")
+  val password = config.getString("vehicle-manager.password")
+
+  val httpProtocol = http
+    .baseUrl(baseUrl)
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+
+  // Random terms and pages so most reads miss the caches and reach the database
+  val searchFeeder = Iterator.continually(
+    Map(
+      "searchInput" -> Seq("Toyota", "Ford", "Honda", "Chevrolet", "BMW", "Mercedes", "Model")(scala.util.Random.nextInt(7)),
+      "page"        -> scala.util.Random.nextInt(20).toString,
+      "chassi"      -> s"Chassi${scala.util.Random.nextInt(50000)}"
+    )
+  )
+
+  // Logins are admitted by a small executor, so back off on 429 instead of failing the user
+  val authenticate =
+    asLongAs(session => !session.contains("jwtToken") && session("attempt").asOption[Int].getOrElse(0) < 20, "attempt") {
+      exec(
+        http("Login")
+          .post("/api/auth/login")
+          .body(StringBody(s"""{"username":"$username", "password":"$password"}"""))
+          .check(status.in(200, 429))
+          .check(jsonPath("$.token").optional.saveAs("jwtToken"))
+          .check(header("Retry-After").withDefault("1").saveAs("retryAfter"))
+      ).doIf(session => !session.contains("jwtToken")) {
+        pause("#{retryAfter}")
+      }
+    }.exitHereIf(session => !session.contains("jwtToken"))
+
+  val blockingReads = scenario("Thread Model - Blocking Reads")
+    .exec(authenticate)
+    .forever {
+      feed(searchFeeder)
+        .exec(
+          http("Search Vehicles")
+            .get("/api/vehicles?searchInput=#{searchInput}&page=#{page}&size=20")
+            .header("Authorization", "Bearer #{jwtToken}")
+            .check(status.is(200))
+        )
+        .exec(
+          http("Get Vehicle by Chassi")
+            .get("/api/vehicles/chassi/#{chassi}")
+            .header("Authorization", "Bearer #{jwtToken}")
+            .check(status.in(200, 404))
+        )
+        .exec(
+          http("Get All Clients")
+            .get("/api/clients?page=#{page}")
+            .header("Authorization", "Bearer #{jwtToken}")
+            .check(status.is(200))
+        )
+        .exec(
+          http("Get All Sales")
+            .get("/api/sales?page=#{page}")
+            .header("Authorization", "Bearer #{jwtToken}")
+            .check(status.is(200))
+        )
+        .pause(50.milliseconds, 150.milliseconds)
+    }
+
+  setUp(
+    blockingReads.inject(
+      rampConcurrentUsers(0) to 200 during (1.minute),
+      constantConcurrentUsers(200) during (2.minutes),
+      rampConcurrentUsers(200) to 1000 during (3.minutes),
+      constantConcurrentUsers(1000) during (3.minutes)
+    )
+  ).protocols(httpProtocol)
+    .maxDuration(10.minutes)
+    .assertions(
+      global.successfulRequests.percent.gt(99),
+      global.responseTime.percentile3.lt(2000)
+    )
+
+}